@@ -55,6 +55,14 @@ case "$1" in
         echo "Compiling project..."
         mvn compile
         ;;
+    "testdata-cache")
+        echo "Compiling test data caches..."
+        mvn test-compile exec:java@compile-testdata-cache
+        ;;
+    "profile-benchmark")
+        echo "Measuring browser profiles..."
+        mvn compile exec:java -Dexec.mainClass=com.framework.utils.BrowserProfileBenchmark -Dexec.args="${3:-3}" -Dbrowser="${2:-chrome}"
+        ;;
     "help"|*)
         echo "═══════════════════════════════════════════════════"
         echo "  Selenium Framework Maven Wrapper"
@@ -71,6 +79,8 @@ case "$1" in
         echo "  report        - Open the latest test report"
         echo "  clean         - Clean project and old reports"
         echo "  compile       - Compile project only"
+        echo "  testdata-cache - Precompile test data into binary caches"
+        echo "  profile-benchmark [browser] [sessions] - Compare memory and startup of browser profiles"
         echo "  help          - Show this help"
         echo ""
         echo "Examples:"
@@ -0,0 +1,222 @@
+package com.framework.config;
+
+import com.framework.reports.ExtentReportManager;
+import org.openqa.selenium.remote.service.DriverService;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Memory accounting and admission control for the local browsers the framework starts.
+ * A session's driver service (chromedriver, geckodriver, msedgedriver) is found among the
+ * JVM's child processes by its --port argument, and its footprint is the memory of that
+ * process and every descendant, read from /proc once a second. Proportional set size is used
+ * where the kernel provides it, so pages Chrome shares between its processes are not counted
+ * once per process; VmRSS otherwise. With MEMORY_BUDGET_MB set, a new session waits until the
+ * running ones plus the expected size of one more fit the budget, and fails after
+ * MEMORY_ADMISSION_TIMEOUT_SECONDS. Each session's peak is logged to its report entry.
+ * Linux only; elsewhere sessions are neither measured nor held back.
+ */
+public class BrowserMemoryMonitor {
+    private static final long SAMPLE_MILLIS = 1000;
+    private static final long MB = 1024L * 1024L;
+    // Assumed footprint of a browser until one has been measured
+    private static final long DEFAULT_SESSION_BYTES = 512 * MB;
+    private static final boolean SUPPORTED = Files.isDirectory(Paths.get("/proc/self"));
+
+    private static final Object lock = new Object();
+    private static final Set<Session> sessions = new HashSet<>();
+    private static final ThreadLocal<Session> currentSession = new ThreadLocal<>();
+    private static long finishedPeakBytes;
+    private static int finishedSessions;
+    private static Thread samplerThread;
+
+    private static class Session {
+        private volatile long rootPid = -1;
+        // -1 until the first reading
+        private volatile long currentBytes = -1;
+        private volatile long peakBytes;
+        private volatile int peakProcesses;
+    }
+
+    /**
+     * Register a session about to start on the current thread, waiting for room in MEMORY_BUDGET_MB
+     */
+    public static void admit() {
+        if (!SUPPORTED || currentSession.get() != null) {
+            return;
+        }
+        long budget = EnvironmentConfig.getMemoryBudgetMb() * MB;
+        long deadline = System.currentTimeMillis() + EnvironmentConfig.getMemoryAdmissionTimeoutSeconds() * 1000L;
+        Session session = new Session();
+        synchronized (lock) {
+            startSampler();
+            boolean waited = false;
+            // One browser is always let through, however large it turned out to be
+            while (budget > 0 && !sessions.isEmpty() && getUsedBytes() + getExpectedSessionBytes() > budget) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    throw new RuntimeException(String.format(
+                            "Browser memory budget of %d MB still exhausted after %d s: %d session(s) use %d MB",
+                            budget / MB, EnvironmentConfig.getMemoryAdmissionTimeoutSeconds(), sessions.size(), getUsedBytes() / MB));
+                }
+                if (!waited) {
+                    System.out.printf("Waiting for browser memory: %d session(s) use %d MB of %d MB, next needs about %d MB%n",
+                            sessions.size(), getUsedBytes() / MB, budget / MB, getExpectedSessionBytes() / MB);
+                    waited = true;
+                }
+                try {
+                    lock.wait(Math.min(remaining, SAMPLE_MILLIS));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException("Interrupted while waiting for browser memory", e);
+                }
+            }
+            sessions.add(session);
+        }
+        currentSession.set(session);
+    }
+
+    /**
+     * Link the current thread's session to the process tree of the driver service that started it
+     */
+    public static void attach(DriverService service) {
+        Session session = currentSession.get();
+        if (session == null) {
+            return;
+        }
+        String portArgument = "--port=" + service.getUrl().getPort();
+        Optional<ProcessHandle> driverProcess = ProcessHandle.current().children()
+                .filter(process -> process.info().arguments()
+                        .map(arguments -> Arrays.asList(arguments).contains(portArgument))
+                        .orElse(false))
+                .findFirst();
+        if (driverProcess.isPresent()) {
+            session.rootPid = driverProcess.get().pid();
+            sample(session);
+        } else {
+            System.err.println("Warning: Driver process on " + portArgument + " not found, browser memory not tracked");
+        }
+    }
+
+    /**
+     * Forget the current thread's session once its browser has quit, logging its peak to the report.
+     * Returns that peak in bytes, or 0 if the session was not measured.
+     */
+    public static long release() {
+        Session session = currentSession.get();
+        if (session == null) {
+            return 0;
+        }
+        currentSession.remove();
+        synchronized (lock) {
+            sessions.remove(session);
+            if (session.peakBytes > 0) {
+                finishedPeakBytes += session.peakBytes;
+                finishedSessions++;
+            }
+            lock.notifyAll();
+        }
+        if (session.peakBytes > 0) {
+            ExtentReportManager.logInfo(String.format("Browser memory: peak %d MB across %d processes",
+                    session.peakBytes / MB, session.peakProcesses));
+        }
+        return session.peakBytes;
+    }
+
+    private static void startSampler() {
+        if (samplerThread != null) {
+            return;
+        }
+        samplerThread = new Thread(() -> {
+            try {
+                while (true) {
+                    Thread.sleep(SAMPLE_MILLIS);
+                    List<Session> tracked;
+                    synchronized (lock) {
+                        tracked = new ArrayList<>(sessions);
+                    }
+                    tracked.forEach(BrowserMemoryMonitor::sample);
+                    synchronized (lock) {
+                        // Let waiting sessions re-check the budget against the new readings
+                        lock.notifyAll();
+                    }
+                }
+            } catch (InterruptedException e) {
+                // Sampler stopped
+            }
+        }, "browser-memory");
+        samplerThread.setDaemon(true);
+        samplerThread.start();
+    }
+
+    private static void sample(Session session) {
+        Optional<ProcessHandle> root = session.rootPid < 0 ? Optional.empty() : ProcessHandle.of(session.rootPid);
+        if (root.isEmpty()) {
+            return;
+        }
+        List<ProcessHandle> tree = new ArrayList<>();
+        tree.add(root.get());
+        root.get().descendants().forEach(tree::add);
+        long bytes = 0;
+        for (ProcessHandle process : tree) {
+            bytes += getProcessBytes(process.pid());
+        }
+        session.currentBytes = bytes;
+        if (bytes > session.peakBytes) {
+            session.peakBytes = bytes;
+            session.peakProcesses = tree.size();
+        }
+    }
+
+    private static long getProcessBytes(long pid) {
+        Path rollup = Paths.get("/proc", Long.toString(pid), "smaps_rollup");
+        long kilobytes = readKilobytes(rollup, "Pss:");
+        if (kilobytes < 0) {
+            kilobytes = readKilobytes(Paths.get("/proc", Long.toString(pid), "status"), "VmRSS:");
+        }
+        return Math.max(0, kilobytes) * 1024;
+    }
+
+    private static long readKilobytes(Path file, String field) {
+        try {
+            for (String line : Files.readAllLines(file)) {
+                if (line.startsWith(field)) {
+                    return Long.parseLong(line.substring(field.length()).replace("kB", "").trim());
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // Not readable, or the process has exited
+        }
+        return -1;
+    }
+
+    // Callers hold lock
+    private static long getUsedBytes() {
+        long used = 0;
+        for (Session session : sessions) {
+            used += session.currentBytes >= 0 ? session.currentBytes : getExpectedSessionBytes();
+        }
+        return used;
+    }
+
+    // Callers hold lock
+    private static long getExpectedSessionBytes() {
+        if (finishedSessions > 0) {
+            return finishedPeakBytes / finishedSessions;
+        }
+        long largest = 0;
+        for (Session session : sessions) {
+            largest = Math.max(largest, session.peakBytes);
+        }
+        return largest > 0 ? largest : DEFAULT_SESSION_BYTES;
+    }
+}
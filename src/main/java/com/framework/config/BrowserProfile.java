@@ -0,0 +1,99 @@
+package com.framework.config;
+
+import org.openqa.selenium.chromium.ChromiumOptions;
+import org.openqa.selenium.firefox.FirefoxOptions;
+
+/**
+ * Browser settings selected with BROWSER_PROFILE.
+ * DEFAULT keeps the options the framework has always used. LOW_MEMORY gives up features the
+ * tests never touch so more sessions fit on one runner: fewer renderer/content processes,
+ * small caches, no back-forward cache, no background networking or component updates, and a
+ * capped JavaScript heap. Background throttling is left on so idle tabs stay cheap.
+ * Chrome and Edge share the Chromium flags. Compare profiles with
+ * {@link com.framework.utils.BrowserProfileBenchmark}.
+ */
+public enum BrowserProfile {
+    DEFAULT,
+    LOW_MEMORY;
+
+    public static BrowserProfile fromConfig() {
+        return parse(EnvironmentConfig.getBrowserProfile());
+    }
+
+    /**
+     * Profile by its configuration name, e.g. "low-memory"
+     */
+    public static BrowserProfile parse(String name) {
+        for (BrowserProfile profile : values()) {
+            if (profile.getName().equalsIgnoreCase(name.trim())) {
+                return profile;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported browser profile: " + name);
+    }
+
+    public String getName() {
+        return name().toLowerCase().replace('_', '-');
+    }
+
+    void apply(ChromiumOptions<?> options) {
+        if (this != LOW_MEMORY) {
+            return;
+        }
+        // One renderer per site and at most two in total, instead of one per frame origin
+        options.addArguments("--renderer-process-limit=2");
+        options.addArguments("--process-per-site");
+        options.addArguments("--disable-site-isolation-trials");
+        // Chrome only honours the last --disable-features, so every feature goes in this one
+        options.addArguments("--disable-features=site-per-process,IsolateOrigins,BackForwardCache,Translate,"
+                + "MediaRouter,OptimizationHints,AutofillServerCommunication,InterestFeedContentSuggestions");
+        options.addArguments("--enable-low-end-device-mode");
+        options.addArguments("--js-flags=--max-old-space-size=512");
+
+        // Caches
+        options.addArguments("--disk-cache-size=33554432");
+        options.addArguments("--aggressive-cache-discard");
+
+        // Background work the tests never need
+        options.addArguments("--disable-background-networking");
+        options.addArguments("--disable-component-update");
+        options.addArguments("--disable-default-apps");
+        options.addArguments("--disable-sync");
+        options.addArguments("--disable-breakpad");
+        options.addArguments("--disable-client-side-phishing-detection");
+        options.addArguments("--disable-domain-reliability");
+        options.addArguments("--no-first-run");
+        options.addArguments("--mute-audio");
+    }
+
+    void apply(FirefoxOptions options) {
+        if (this != LOW_MEMORY) {
+            return;
+        }
+        // A single content process instead of one per site
+        options.addPreference("fission.autostart", false);
+        options.addPreference("dom.ipc.processCount", 1);
+        options.addPreference("dom.ipc.processCount.webIsolated", 1);
+        options.addPreference("dom.ipc.processPrelaunch.enabled", false);
+
+        // Caches
+        options.addPreference("browser.cache.disk.enable", false);
+        options.addPreference("browser.cache.memory.capacity", 32768);
+        options.addPreference("browser.sessionhistory.max_total_viewers", 0);
+        options.addPreference("browser.sessionstore.max_tabs_undo", 0);
+        options.addPreference("browser.sessionstore.resume_from_crash", false);
+
+        // Background work the tests never need
+        options.addPreference("network.prefetch-next", false);
+        options.addPreference("network.dns.disablePrefetch", true);
+        options.addPreference("network.http.speculative-parallel-limit", 0);
+        options.addPreference("browser.safebrowsing.malware.enabled", false);
+        options.addPreference("browser.safebrowsing.phishing.enabled", false);
+        options.addPreference("browser.safebrowsing.downloads.enabled", false);
+        options.addPreference("extensions.pocket.enabled", false);
+        options.addPreference("app.update.auto", false);
+        options.addPreference("datareporting.healthreport.uploadEnabled", false);
+        options.addPreference("toolkit.telemetry.enabled", false);
+        options.addPreference("media.autoplay.default", 5);
+    }
+}
@@ -0,0 +1,311 @@
+package com.framework.config;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+/**
+ * Adaptive limit on the number of browser sessions open at once.
+ * With parallel execution TestNG runs MAX_THREAD_COUNT worker threads; each one takes a
+ * permit here before {@link WebDriverConfig#getDriver()} starts a browser and returns it in
+ * {@link WebDriverConfig#quitDriver()}. The limit starts at THREAD_COUNT and a daemon thread
+ * adjusts it every few seconds from host CPU load, available memory, swap use and the latency
+ * of WebDriver commands: it grows by one while every permit is taken, threads are waiting and
+ * the host has headroom, drops by one when the CPU is saturated or commands slow down, and
+ * halves when memory runs short or the host starts swapping.
+ * Enabled with PARALLEL_EXECUTION=true and ADAPTIVE_CONCURRENCY=true. With CONFIG_HOT_RELOAD=true
+ * the permits are taken even without ADAPTIVE_CONCURRENCY, as TestNG's pool is sized once at the
+ * start of the suite: a reloaded THREAD_COUNT resets the limit and a lowered MAX_THREAD_COUNT caps
+ * it at once, while a raised MAX_THREAD_COUNT only goes as far as the threads already started.
+ */
+public class ConcurrencyController {
+    private static final long SAMPLE_MILLIS = 5000;
+    private static final double CPU_HIGH = 0.90;
+    private static final double CPU_LOW = 0.70;
+    // Commands this many times slower than in the best interval so far mean the browsers are contending
+    private static final double LATENCY_SLOWDOWN = 2.0;
+    private static final double LATENCY_FLOOR_MILLIS = 50;
+    private static final int MAX_LATENCY_SAMPLES = 4096;
+    // Swap growth per interval that counts as the host swapping
+    private static final long SWAP_GROWTH_BYTES = 64L * 1024 * 1024;
+    // Assumed footprint of one browser until it can be measured
+    private static final long DEFAULT_SESSION_BYTES = 512L * 1024 * 1024;
+
+    private static final com.sun.management.OperatingSystemMXBean os =
+            (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+
+    private static final Object lock = new Object();
+    private static final ThreadLocal<Boolean> holdsPermit = new ThreadLocal<>();
+    private static int limit;
+    private static int active;
+    private static int waiting;
+    private static int peak;
+    private static boolean started;
+    private static int poolSize;
+    private static Thread samplerThread;
+
+    // Latency of the commands since the last sample, guarded by latencyLock
+    private static final Object latencyLock = new Object();
+    private static final long[] latencySamples = new long[MAX_LATENCY_SAMPLES];
+    private static int latencyCount;
+
+    // Only touched by the sampler thread
+    private static double bestLatencyMillis = -1;
+    private static long idleAvailableBytes = -1;
+    private static long sessionBytes = DEFAULT_SESSION_BYTES;
+    private static long lastSwapUsedBytes = -1;
+
+    private static final ThreadLocal<Long> commandStart = new ThreadLocal<>();
+    private static final WebDriverListener latencyListener = new WebDriverListener() {
+        @Override
+        public void beforeAnyCall(Object target, Method method, Object[] args) {
+            commandStart.set(System.nanoTime());
+        }
+
+        @Override
+        public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+            Long start = commandStart.get();
+            if (start != null) {
+                recordLatency(System.nanoTime() - start);
+            }
+        }
+    };
+
+    static {
+        ConfigWatcher.addListener(ConcurrencyController::onReload);
+    }
+
+    public static boolean isEnabled() {
+        return EnvironmentConfig.isParallelExecution() && EnvironmentConfig.isAdaptiveConcurrency();
+    }
+
+    /**
+     * Whether sessions take permits: for the adaptive limit, or for a THREAD_COUNT that may be reloaded
+     */
+    private static boolean isLimiting() {
+        return EnvironmentConfig.isParallelExecution() && (EnvironmentConfig.isAdaptiveConcurrency() || ConfigWatcher.isEnabled());
+    }
+
+    /**
+     * Worker threads TestNG should start: the ceiling of the limit when it is enforced here, else THREAD_COUNT
+     */
+    public static int getThreadPoolSize() {
+        int size = isLimiting() ? getMaxSessions() : EnvironmentConfig.getThreadCount();
+        synchronized (lock) {
+            poolSize = size;
+        }
+        return size;
+    }
+
+    /**
+     * Wait until the current thread may open a browser; does nothing if it already holds a permit
+     */
+    public static void acquire() {
+        if (!isLimiting() || Boolean.TRUE.equals(holdsPermit.get())) {
+            return;
+        }
+        synchronized (lock) {
+            start();
+            waiting++;
+            try {
+                while (active >= limit) {
+                    lock.wait();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while waiting for a browser session slot", e);
+            } finally {
+                waiting--;
+            }
+            active++;
+            peak = Math.max(peak, active);
+        }
+        holdsPermit.set(true);
+    }
+
+    /**
+     * Give back the current thread's permit, if it holds one
+     */
+    public static void release() {
+        if (!Boolean.TRUE.equals(holdsPermit.get())) {
+            return;
+        }
+        holdsPermit.remove();
+        synchronized (lock) {
+            active--;
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * Wrap a new session so its command latency feeds the controller
+     */
+    public static WebDriver instrument(WebDriver driver) {
+        if (!isEnabled()) {
+            return driver;
+        }
+        return new EventFiringDecorator<>(latencyListener).decorate(driver);
+    }
+
+    public static int getLimit() {
+        synchronized (lock) {
+            return limit;
+        }
+    }
+
+    public static int getPeakSessions() {
+        synchronized (lock) {
+            return peak;
+        }
+    }
+
+    private static void recordLatency(long nanos) {
+        synchronized (latencyLock) {
+            if (latencyCount < MAX_LATENCY_SAMPLES) {
+                latencySamples[latencyCount++] = nanos;
+            }
+        }
+    }
+
+    private static void start() {
+        if (started) {
+            return;
+        }
+        started = true;
+        limit = Math.max(1, Math.min(EnvironmentConfig.getThreadCount(), getMaxSessions()));
+        if (!isEnabled()) {
+            System.out.println("Concurrency: " + limit + " browser session(s), following THREAD_COUNT on reload");
+            return;
+        }
+        idleAvailableBytes = getAvailableMemoryBytes();
+        samplerThread = new Thread(ConcurrencyController::sample, "concurrency-controller");
+        samplerThread.setDaemon(true);
+        samplerThread.start();
+        System.out.println("Adaptive concurrency: starting with " + limit + " browser session(s), at most " + getMaxSessions());
+    }
+
+    /**
+     * Apply a reloaded THREAD_COUNT or MAX_THREAD_COUNT to the sessions started from now on
+     */
+    private static void onReload(ConfigSnapshot previous, ConfigSnapshot current) {
+        synchronized (lock) {
+            if (!started) {
+                // The limit is taken from the configuration in effect when the first session starts
+                return;
+            }
+            int previousLimit = limit;
+            if (current.threadCount != previous.threadCount) {
+                limit = current.threadCount;
+            }
+            limit = Math.max(1, Math.min(limit, getMaxSessions()));
+            if (limit != previousLimit) {
+                System.out.println("Concurrency: " + previousLimit + " -> " + limit + " browser session(s) after configuration reload");
+                lock.notifyAll();
+            }
+            if (poolSize > 0 && current.maxThreadCount > poolSize && current.maxThreadCount != previous.maxThreadCount) {
+                System.out.println("Concurrency: MAX_THREAD_COUNT=" + current.maxThreadCount + " exceeds the "
+                        + poolSize + " TestNG thread(s) of this run; the rest applies from the next run");
+            }
+        }
+    }
+
+    private static void sample() {
+        try {
+            while (true) {
+                Thread.sleep(SAMPLE_MILLIS);
+                adjust();
+            }
+        } catch (InterruptedException e) {
+            // Sampler stopped
+        }
+    }
+
+    private static void adjust() {
+        double cpu = os.getCpuLoad();
+        long available = getAvailableMemoryBytes();
+        long reserve = EnvironmentConfig.getMinFreeMemoryMb() * 1024L * 1024L;
+        long swapUsed = os.getTotalSwapSpaceSize() - os.getFreeSwapSpaceSize();
+        boolean swapping = lastSwapUsedBytes >= 0 && swapUsed - lastSwapUsedBytes > SWAP_GROWTH_BYTES;
+        lastSwapUsedBytes = swapUsed;
+
+        double latency = drainMedianLatencyMillis();
+        if (latency >= 0 && (bestLatencyMillis < 0 || latency < bestLatencyMillis)) {
+            bestLatencyMillis = latency;
+        }
+        boolean slow = latency >= 0 && latency > Math.max(LATENCY_FLOOR_MILLIS, bestLatencyMillis * LATENCY_SLOWDOWN);
+
+        synchronized (lock) {
+            // What the open browsers take, judged by how much memory has gone since they started
+            if (active > 0 && idleAvailableBytes > available) {
+                sessionBytes = Math.max(DEFAULT_SESSION_BYTES / 4, (idleAvailableBytes - available) / active);
+            }
+
+            int previous = limit;
+            String reason = null;
+            if (available < reserve || swapping) {
+                limit = Math.max(1, limit / 2);
+                reason = swapping ? "host is swapping" : "available memory below MIN_FREE_MEMORY_MB";
+            } else if (cpu > CPU_HIGH || slow) {
+                limit = Math.max(1, limit - 1);
+                reason = slow ? "commands slowed down" : "CPU saturated";
+            } else if (active >= limit && waiting > 0 && cpu >= 0 && cpu < CPU_LOW
+                    && available - sessionBytes > reserve) {
+                limit++;
+                reason = "host has headroom";
+            }
+            // MAX_THREAD_COUNT may have been lowered by a configuration reload
+            limit = Math.min(limit, getMaxSessions());
+
+            if (limit != previous) {
+                System.out.printf("Adaptive concurrency: %d -> %d browser session(s), %s (CPU %.0f%%, %d MB available, %s)%n",
+                        previous, limit, reason, Math.max(0, cpu) * 100, available / (1024 * 1024),
+                        latency >= 0 ? String.format("%.0f ms/command", latency) : "no commands");
+                lock.notifyAll();
+            }
+        }
+    }
+
+    private static double drainMedianLatencyMillis() {
+        long[] samples;
+        synchronized (latencyLock) {
+            samples = Arrays.copyOf(latencySamples, latencyCount);
+            latencyCount = 0;
+        }
+        if (samples.length == 0) {
+            return -1;
+        }
+        Arrays.sort(samples);
+        return samples[samples.length / 2] / 1_000_000.0;
+    }
+
+    /**
+     * MemAvailable on Linux, which counts reclaimable page cache; free physical memory elsewhere
+     */
+    private static long getAvailableMemoryBytes() {
+        Path meminfo = Paths.get("/proc/meminfo");
+        if (Files.isReadable(meminfo)) {
+            try {
+                for (String line : Files.readAllLines(meminfo)) {
+                    if (line.startsWith("MemAvailable:")) {
+                        return Long.parseLong(line.replaceAll("\\D", "")) * 1024;
+                    }
+                }
+            } catch (IOException | NumberFormatException e) {
+                // Fall back to the JVM's view
+            }
+        }
+        return os.getFreeMemorySize();
+    }
+
+    private static int getMaxSessions() {
+        return Math.max(1, EnvironmentConfig.getMaxThreadCount());
+    }
+}
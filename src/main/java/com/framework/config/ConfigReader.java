@@ -1,55 +1,41 @@
 package com.framework.config;
 
-import java.io.FileInputStream;
-import java.io.IOException;
-import java.util.Properties;
-
+/**
+ * Reads config.properties keys through the shared {@link ConfigSnapshot}, where system properties,
+ * .env and the environment can override them; values are loaded and parsed once
+ */
 public class ConfigReader {
-    private static Properties properties;
-    private static final String CONFIG_FILE_PATH = "src/test/resources/config/config.properties";
 
     static {
-        loadProperties();
-    }
-
-    private static void loadProperties() {
-        properties = new Properties();
-        try (FileInputStream fis = new FileInputStream(CONFIG_FILE_PATH)) {
-            properties.load(fis);
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to load configuration file: " + CONFIG_FILE_PATH, e);
-        }
+        ConfigWatcher.startIfEnabled();
     }
 
     public static String getProperty(String key) {
-        return properties.getProperty(key);
+        return ConfigSnapshot.current().get(key);
     }
 
     public static String getProperty(String key, String defaultValue) {
-        return properties.getProperty(key, defaultValue);
+        return ConfigSnapshot.current().get(key, defaultValue);
     }
 
     public static int getIntProperty(String key) {
-        return Integer.parseInt(getProperty(key));
+        Integer value = ConfigSnapshot.current().getInt(key);
+        if (value == null) {
+            throw new NumberFormatException("Property '" + key + "' is not an integer: " + getProperty(key));
+        }
+        return value;
     }
 
     public static int getIntProperty(String key, int defaultValue) {
-        try {
-            return Integer.parseInt(getProperty(key));
-        } catch (NumberFormatException e) {
-            return defaultValue;
-        }
+        Integer value = ConfigSnapshot.current().getInt(key);
+        return value != null ? value : defaultValue;
     }
 
     public static boolean getBooleanProperty(String key) {
-        return Boolean.parseBoolean(getProperty(key));
+        return ConfigSnapshot.current().getBoolean(key, false);
     }
 
     public static boolean getBooleanProperty(String key, boolean defaultValue) {
-        try {
-            return Boolean.parseBoolean(getProperty(key));
-        } catch (Exception e) {
-            return defaultValue;
-        }
+        return ConfigSnapshot.current().getBoolean(key, defaultValue);
     }
 }
@@ -0,0 +1,232 @@
+package com.framework.config;
+
+import io.github.cdimascio.dotenv.Dotenv;
+import io.github.cdimascio.dotenv.DotenvEntry;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Immutable view of all configuration, built once and shared by every thread.
+ * Values are merged with this precedence, highest first:
+ * <ol>
+ *     <li>process environment variables</li>
+ *     <li>entries of the .env file in the project root</li>
+ *     <li>JVM system properties (-DKEY=value)</li>
+ *     <li>config.properties</li>
+ *     <li>the default passed by the caller</li>
+ * </ol>
+ * This is the order EnvironmentConfig has always resolved, since Dotenv itself
+ * prefers the process environment over the file. config.properties keys keep their
+ * names (app.url), so {@link ConfigReader} reads the same chain, and the properties
+ * that have an environment counterpart also fill it, e.g. app.url for APP_URL.
+ * A missing or unreadable config.properties fails the load, as ConfigReader always did.
+ * Integer and boolean values are parsed up front, and the settings behind
+ * EnvironmentConfig's typed getters are plain final fields, so a lookup never parses or locks.
+ */
+public final class ConfigSnapshot {
+    static final String ENV_DIRECTORY = "./";
+    static final String CONFIG_FILE_PATH = "src/test/resources/config/config.properties";
+    // Environment key -> config.properties key that supplies it when no other layer does
+    private static final Map<String, String> PROPERTY_ALIASES = Map.of(
+            "APP_URL", "app.url",
+            "BROWSER", "browser.name");
+
+    private static volatile ConfigSnapshot current = load();
+
+    private final Map<String, String> values;
+    private final Map<String, Integer> ints;
+    private final Map<String, Boolean> booleans;
+
+    // Pre-parsed values behind the typed EnvironmentConfig getters
+    final boolean headless;
+    final boolean maximizeBrowser;
+    final boolean resourceBlockingEnabled;
+    final boolean assetCacheEnabled;
+    final boolean warmProfileEnabled;
+    final int assetCacheMaxMb;
+    final int assetCacheTtlSeconds;
+    final int implicitWait;
+    final boolean eventDrivenWaitsEnabled;
+    final boolean waitAdaptive;
+    final int waitTimeoutSeconds;
+    final int waitMinSeconds;
+    final int waitMaxSeconds;
+    final int waitMarginPercent;
+    final int explicitWait;
+    final int pageLoadTimeout;
+    final boolean remoteExecution;
+    final int dbPort;
+    final int apiTimeout;
+    final boolean captureScreenshotOnFailure;
+    final boolean captureScreenshotOnSuccess;
+    final int screenshotRetentionDays;
+    final int screenshotStoreMaxMb;
+    final int failureScreenshotScalePercent;
+    final boolean emailEnabled;
+    final int emailPort;
+    final boolean slackEnabled;
+    final boolean parallelExecution;
+    final int threadCount;
+    final boolean adaptiveConcurrency;
+    final int maxThreadCount;
+    final int minFreeMemoryMb;
+    final int memoryBudgetMb;
+    final int memoryAdmissionTimeoutSeconds;
+    final int excelCacheMaxMb;
+    final int excelStreamingWriteMb;
+    final int dataProviderPrefetch;
+    final int testDataSeed;
+    final boolean videoRecordingEnabled;
+    final int screencastSeconds;
+    final int screencastFps;
+    final int screencastMaxKb;
+    final boolean browserTraceEnabled;
+    final int browserTraceEntries;
+    final boolean domSnapshotEnabled;
+
+    private ConfigSnapshot(Map<String, String> values) {
+        this.values = Collections.unmodifiableMap(values);
+        this.ints = Collections.unmodifiableMap(parseInts(values));
+        this.booleans = Collections.unmodifiableMap(parseBooleans(values));
+
+        this.headless = getBoolean("HEADLESS", true);
+        this.maximizeBrowser = getBoolean("BROWSER_MAXIMIZE", true);
+        this.resourceBlockingEnabled = getBoolean("BLOCK_RESOURCES", false);
+        this.assetCacheEnabled = getBoolean("ASSET_CACHE", false);
+        this.warmProfileEnabled = getBoolean("WARM_PROFILE", false);
+        this.assetCacheMaxMb = getInt("ASSET_CACHE_MAX_MB", 256);
+        this.assetCacheTtlSeconds = getInt("ASSET_CACHE_TTL_SECONDS", 600);
+        this.implicitWait = getInt("IMPLICIT_WAIT", 10);
+        this.eventDrivenWaitsEnabled = getBoolean("EVENT_DRIVEN_WAITS", true);
+        this.waitAdaptive = getBoolean("WAIT_ADAPTIVE", true);
+        this.waitTimeoutSeconds = getInt("WAIT_TIMEOUT_SECONDS", 10);
+        this.waitMinSeconds = getInt("WAIT_MIN_SECONDS", 2);
+        this.waitMaxSeconds = getInt("WAIT_MAX_SECONDS", 30);
+        this.waitMarginPercent = getInt("WAIT_MARGIN_PERCENT", 50);
+        this.explicitWait = getInt("EXPLICIT_WAIT", 30);
+        this.pageLoadTimeout = getInt("PAGE_LOAD_TIMEOUT", 30);
+        this.remoteExecution = getBoolean("REMOTE_EXECUTION", false);
+        this.dbPort = getInt("DB_PORT", 3306);
+        this.apiTimeout = getInt("API_TIMEOUT", 30);
+        this.captureScreenshotOnFailure = getBoolean("CAPTURE_SCREENSHOT_ON_FAILURE", true);
+        this.captureScreenshotOnSuccess = getBoolean("CAPTURE_SCREENSHOT_ON_SUCCESS", false);
+        this.screenshotRetentionDays = getInt("SCREENSHOT_RETENTION_DAYS", 14);
+        this.screenshotStoreMaxMb = getInt("SCREENSHOT_STORE_MAX_MB", 512);
+        this.failureScreenshotScalePercent = getInt("FAILURE_SCREENSHOT_SCALE_PERCENT", 50);
+        this.emailEnabled = getBoolean("EMAIL_ENABLED", false);
+        this.emailPort = getInt("EMAIL_PORT", 587);
+        this.slackEnabled = getBoolean("SLACK_ENABLED", false);
+        this.parallelExecution = getBoolean("PARALLEL_EXECUTION", false);
+        this.threadCount = getInt("THREAD_COUNT", 2);
+        this.adaptiveConcurrency = getBoolean("ADAPTIVE_CONCURRENCY", true);
+        this.maxThreadCount = getInt("MAX_THREAD_COUNT", Math.max(threadCount, Runtime.getRuntime().availableProcessors()));
+        this.minFreeMemoryMb = getInt("MIN_FREE_MEMORY_MB", 1024);
+        this.memoryBudgetMb = getInt("MEMORY_BUDGET_MB", 0);
+        this.memoryAdmissionTimeoutSeconds = getInt("MEMORY_ADMISSION_TIMEOUT_SECONDS", 300);
+        this.excelCacheMaxMb = getInt("EXCEL_CACHE_MAX_MB", 64);
+        this.excelStreamingWriteMb = getInt("EXCEL_STREAMING_WRITE_MB", 10);
+        this.dataProviderPrefetch = getInt("DATA_PROVIDER_PREFETCH", 64);
+        this.testDataSeed = getInt("TEST_DATA_SEED", 42);
+        this.videoRecordingEnabled = getBoolean("ENABLE_VIDEO_RECORDING", false);
+        this.screencastSeconds = getInt("SCREENCAST_SECONDS", 10);
+        this.screencastFps = getInt("SCREENCAST_FPS", 2);
+        this.screencastMaxKb = getInt("SCREENCAST_MAX_KB", 4096);
+        this.browserTraceEnabled = getBoolean("CAPTURE_BROWSER_TRACE", true);
+        this.browserTraceEntries = getInt("BROWSER_TRACE_ENTRIES", 500);
+        this.domSnapshotEnabled = getBoolean("CAPTURE_DOM_SNAPSHOT", true);
+    }
+
+    /**
+     * The snapshot in effect
+     */
+    public static ConfigSnapshot current() {
+        return current;
+    }
+
+    /**
+     * Read config.properties, system properties, .env and the environment into a new snapshot
+     */
+    static ConfigSnapshot load() {
+        Map<String, String> values = new HashMap<>();
+        try (FileInputStream fis = new FileInputStream(CONFIG_FILE_PATH)) {
+            Properties properties = new Properties();
+            properties.load(fis);
+            properties.stringPropertyNames().forEach(key -> values.put(key, properties.getProperty(key)));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to load configuration file: " + CONFIG_FILE_PATH, e);
+        }
+        System.getProperties().stringPropertyNames().forEach(key -> values.put(key, System.getProperty(key)));
+        try {
+            Dotenv dotenv = Dotenv.configure()
+                    .directory(ENV_DIRECTORY)
+                    .ignoreIfMissing()
+                    .load();
+            for (DotenvEntry entry : dotenv.entries(Dotenv.Filter.DECLARED_IN_ENV_FILE)) {
+                values.put(entry.getKey(), entry.getValue());
+            }
+        } catch (Exception e) {
+            System.out.println("Warning: .env file not found. Using system environment variables.");
+        }
+        values.putAll(System.getenv());
+        // After all layers, so -Dapp.url feeds APP_URL as well
+        PROPERTY_ALIASES.forEach((key, property) -> {
+            if (!values.containsKey(key) && values.containsKey(property)) {
+                values.put(key, values.get(property));
+            }
+        });
+        return new ConfigSnapshot(values);
+    }
+
+    /**
+     * Make a snapshot the one in effect
+     */
+    static void install(ConfigSnapshot snapshot) {
+        current = snapshot;
+    }
+
+    public String get(String key) {
+        return values.get(key);
+    }
+
+    public String get(String key, String defaultValue) {
+        return values.getOrDefault(key, defaultValue);
+    }
+
+    public int getInt(String key, int defaultValue) {
+        return ints.getOrDefault(key, defaultValue);
+    }
+
+    public boolean getBoolean(String key, boolean defaultValue) {
+        return booleans.getOrDefault(key, defaultValue);
+    }
+
+    /**
+     * @return the parsed value, or null if the key is missing or not a number
+     */
+    public Integer getInt(String key) {
+        return ints.get(key);
+    }
+
+    private static Map<String, Integer> parseInts(Map<String, String> source) {
+        Map<String, Integer> parsed = new HashMap<>();
+        source.forEach((key, value) -> {
+            try {
+                parsed.put(key, Integer.parseInt(value));
+            } catch (NumberFormatException e) {
+                // Not a number: lookups fall back to the caller's default, as before
+            }
+        });
+        return parsed;
+    }
+
+    private static Map<String, Boolean> parseBooleans(Map<String, String> source) {
+        Map<String, Boolean> parsed = new HashMap<>();
+        source.forEach((key, value) -> parsed.put(key, Boolean.parseBoolean(value)));
+        return parsed;
+    }
+}
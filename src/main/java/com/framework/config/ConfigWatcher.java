@@ -0,0 +1,143 @@
+package com.framework.config;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hot reload of .env and config.properties for long-running runners.
+ * A daemon thread watches both files with a WatchService. After a change it
+ * builds a complete new {@link ConfigSnapshot} and swaps it in with a single
+ * volatile write, so readers never block and never see a half-applied change.
+ * Registered listeners are then told about the swap.
+ * Enabled with CONFIG_HOT_RELOAD=true.
+ */
+public class ConfigWatcher {
+    // Editors often write a file in several steps; wait for them to settle before reloading
+    private static final long SETTLE_MILLIS = 250;
+
+    private static final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private static Thread watcherThread;
+
+    /**
+     * Notified after a new snapshot is in effect
+     */
+    public interface Listener {
+        void onReload(ConfigSnapshot previous, ConfigSnapshot current);
+    }
+
+    public static void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public static void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    public static boolean isEnabled() {
+        return ConfigSnapshot.current().getBoolean("CONFIG_HOT_RELOAD", false);
+    }
+
+    /**
+     * Start watching if CONFIG_HOT_RELOAD is set; does nothing when already running
+     */
+    public static void startIfEnabled() {
+        if (isEnabled()) {
+            start();
+        }
+    }
+
+    public static synchronized void start() {
+        if (watcherThread != null) {
+            return;
+        }
+        Path envFile = Paths.get(ConfigSnapshot.ENV_DIRECTORY, ".env").toAbsolutePath().normalize();
+        Path configFile = Paths.get(ConfigSnapshot.CONFIG_FILE_PATH).toAbsolutePath().normalize();
+        WatchService watchService;
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            register(watchService, envFile.getParent());
+            if (!configFile.getParent().equals(envFile.getParent())) {
+                register(watchService, configFile.getParent());
+            }
+        } catch (IOException e) {
+            System.err.println("Warning: Configuration hot reload not available: " + e.getMessage());
+            return;
+        }
+
+        watcherThread = new Thread(() -> watch(watchService, envFile, configFile), "config-watcher");
+        watcherThread.setDaemon(true);
+        watcherThread.start();
+        System.out.println("Watching " + envFile + " and " + configFile + " for configuration changes");
+    }
+
+    /**
+     * Rebuild the snapshot now; the current one stays in effect if loading fails
+     */
+    public static void reload() {
+        ConfigSnapshot previous = ConfigSnapshot.current();
+        ConfigSnapshot next;
+        try {
+            next = ConfigSnapshot.load();
+        } catch (RuntimeException e) {
+            System.err.println("Warning: Keeping previous configuration, reload failed: " + e.getMessage());
+            return;
+        }
+        ConfigSnapshot.install(next);
+        System.out.println("Configuration reloaded");
+        for (Listener listener : listeners) {
+            try {
+                listener.onReload(previous, next);
+            } catch (RuntimeException e) {
+                System.err.println("Warning: Configuration listener failed: " + e.getMessage());
+            }
+        }
+    }
+
+    private static void register(WatchService watchService, Path directory) throws IOException {
+        directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+    }
+
+    private static void watch(WatchService watchService, Path envFile, Path configFile) {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean changed = drain(key, envFile, configFile);
+                // Collect the rest of a burst of events into one reload
+                WatchKey more;
+                while ((more = watchService.poll(SETTLE_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                    changed |= drain(more, envFile, configFile);
+                }
+                if (changed) {
+                    reload();
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Watcher stopped
+        }
+    }
+
+    private static boolean drain(WatchKey key, Path envFile, Path configFile) {
+        boolean changed = false;
+        Path directory = (Path) key.watchable();
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                changed = true;
+                continue;
+            }
+            Path file = directory.resolve((Path) event.context()).toAbsolutePath().normalize();
+            changed |= file.equals(envFile) || file.equals(configFile);
+        }
+        key.reset();
+        return changed;
+    }
+}
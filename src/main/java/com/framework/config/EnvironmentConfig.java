@@ -1,32 +1,21 @@
 package com.framework.config;
 
-import io.github.cdimascio.dotenv.Dotenv;
-
 /**
  * Environment Configuration Manager
  * Loads environment variables from .env file for sensitive data management
  * Similar to Cypress/Playwright environment file handling
+ * Values are read from the immutable {@link ConfigSnapshot} built at startup,
+ * which {@link ConfigWatcher} replaces on file changes when CONFIG_HOT_RELOAD=true.
  */
 public class EnvironmentConfig {
     
-    private static Dotenv dotenv;
-    
     static {
-        try {
-            // Load .env file from project root
-            dotenv = Dotenv.configure()
-                    .directory("./")
-                    .ignoreIfMissing()
-                    .load();
-        } catch (Exception e) {
-            System.out.println("Warning: .env file not found. Using system environment variables.");
-            dotenv = null;
-        }
+        ConfigWatcher.startIfEnabled();
     }
     
     /**
      * Get environment variable value
-     * First checks .env file, then system environment variables, then returns default value
+     * Checks system environment variables, then the .env file, then system properties, then config.properties
      */
     public static String get(String key) {
         return get(key, null);
@@ -36,51 +25,35 @@ public class EnvironmentConfig {
      * Get environment variable value with default
      */
     public static String get(String key, String defaultValue) {
-        String value = null;
-        
-        // Try to get from .env file
-        if (dotenv != null) {
-            value = dotenv.get(key);
-        }
-        
-        // Fall back to system environment variable
-        if (value == null) {
-            value = System.getenv(key);
-        }
-        
-        // Fall back to system property
-        if (value == null) {
-            value = System.getProperty(key);
-        }
-        
-        // Return default if still null
-        return value != null ? value : defaultValue;
+        return ConfigSnapshot.current().get(key, defaultValue);
     }
     
     /**
      * Get boolean environment variable
      */
     public static boolean getBoolean(String key, boolean defaultValue) {
-        String value = get(key);
-        if (value == null) {
-            return defaultValue;
-        }
-        return Boolean.parseBoolean(value);
+        return ConfigSnapshot.current().getBoolean(key, defaultValue);
     }
     
     /**
      * Get integer environment variable
      */
     public static int getInt(String key, int defaultValue) {
-        String value = get(key);
-        if (value == null) {
-            return defaultValue;
-        }
-        try {
-            return Integer.parseInt(value);
-        } catch (NumberFormatException e) {
-            return defaultValue;
-        }
+        return ConfigSnapshot.current().getInt(key, defaultValue);
+    }
+    
+    /**
+     * Integer value of KEY_<ENVIRONMENT> if set, e.g. WAIT_MAX_SECONDS_STAGING, else the given default
+     */
+    public static int getIntForEnvironment(String key, int defaultValue) {
+        return getInt(key + "_" + getEnvironment().toUpperCase(), defaultValue);
+    }
+    
+    /**
+     * Boolean value of KEY_<ENVIRONMENT> if set, else the given default
+     */
+    public static boolean getBooleanForEnvironment(String key, boolean defaultValue) {
+        return getBoolean(key + "_" + getEnvironment().toUpperCase(), defaultValue);
     }
     
     /**
@@ -103,7 +76,7 @@ public class EnvironmentConfig {
     
     // Application URLs
     public static String getAppUrl() {
-        return get("APP_URL", ConfigReader.getProperty("app.url"));
+        return get("APP_URL");
     }
     
     public static String getAppUrlStaging() {
@@ -137,28 +110,101 @@ public class EnvironmentConfig {
     
     // Browser Configuration
     public static String getBrowser() {
-        return get("BROWSER", ConfigReader.getProperty("browser.name", "chrome"));
+        return get("BROWSER", "chrome");
     }
     
     public static boolean isHeadless() {
-        return getBoolean("HEADLESS", false);
+        return ConfigSnapshot.current().headless;
     }
     
     public static boolean shouldMaximizeBrowser() {
-        return getBoolean("BROWSER_MAXIMIZE", true);
+        return ConfigSnapshot.current().maximizeBrowser;
+    }
+    
+    public static String getBrowserProfile() {
+        return get("BROWSER_PROFILE", "default");
+    }
+    
+    public static boolean isResourceBlockingEnabled() {
+        return ConfigSnapshot.current().resourceBlockingEnabled;
+    }
+    
+    public static String getBlockedResourceTypes() {
+        return get("BLOCKED_RESOURCE_TYPES", "Image,Font,Media");
+    }
+    
+    public static String getBlockedUrlPatterns() {
+        return get("BLOCKED_URL_PATTERNS", "*google-analytics.com*,*googletagmanager.com*,*doubleclick.net*,"
+                + "*facebook.net*,*hotjar.com*,*backtrace.io*");
+    }
+    
+    public static boolean isAssetCacheEnabled() {
+        return ConfigSnapshot.current().assetCacheEnabled;
+    }
+    
+    public static String getAssetCacheDir() {
+        return get("ASSET_CACHE_DIR", "test-output/asset-cache");
+    }
+    
+    public static String getAssetCacheTypes() {
+        return get("ASSET_CACHE_TYPES", "Script,Stylesheet,Font,Image");
+    }
+    
+    public static int getAssetCacheMaxMb() {
+        return ConfigSnapshot.current().assetCacheMaxMb;
+    }
+    
+    public static int getAssetCacheTtlSeconds() {
+        return ConfigSnapshot.current().assetCacheTtlSeconds;
+    }
+    
+    public static boolean isWarmProfileEnabled() {
+        return ConfigSnapshot.current().warmProfileEnabled;
+    }
+    
+    public static String getWarmProfileUrls() {
+        return get("WARM_PROFILE_URLS", getAppUrl());
     }
     
     // Timeouts
     public static int getImplicitWait() {
-        return getInt("IMPLICIT_WAIT", 10);
+        return ConfigSnapshot.current().implicitWait;
     }
     
     public static int getExplicitWait() {
-        return getInt("EXPLICIT_WAIT", 30);
+        return ConfigSnapshot.current().explicitWait;
     }
     
     public static int getPageLoadTimeout() {
-        return getInt("PAGE_LOAD_TIMEOUT", 60);
+        return ConfigSnapshot.current().pageLoadTimeout;
+    }
+    
+    public static String getPageLoadStrategy() {
+        return get("PAGE_LOAD_STRATEGY", "normal");
+    }
+    
+    public static boolean isEventDrivenWaitsEnabled() {
+        return ConfigSnapshot.current().eventDrivenWaitsEnabled;
+    }
+    
+    public static boolean isWaitAdaptive() {
+        return getBooleanForEnvironment("WAIT_ADAPTIVE", ConfigSnapshot.current().waitAdaptive);
+    }
+    
+    public static int getWaitTimeoutSeconds() {
+        return getIntForEnvironment("WAIT_TIMEOUT_SECONDS", ConfigSnapshot.current().waitTimeoutSeconds);
+    }
+    
+    public static int getWaitMinSeconds() {
+        return getIntForEnvironment("WAIT_MIN_SECONDS", ConfigSnapshot.current().waitMinSeconds);
+    }
+    
+    public static int getWaitMaxSeconds() {
+        return getIntForEnvironment("WAIT_MAX_SECONDS", ConfigSnapshot.current().waitMaxSeconds);
+    }
+    
+    public static int getWaitMarginPercent() {
+        return getIntForEnvironment("WAIT_MARGIN_PERCENT", ConfigSnapshot.current().waitMarginPercent);
     }
     
     // Test Environment
@@ -172,7 +218,7 @@ public class EnvironmentConfig {
     
     // Remote Execution
     public static boolean isRemoteExecution() {
-        return getBoolean("REMOTE_EXECUTION", false);
+        return ConfigSnapshot.current().remoteExecution;
     }
     
     public static String getGridUrl() {
@@ -205,7 +251,7 @@ public class EnvironmentConfig {
     }
     
     public static int getDbPort() {
-        return getInt("DB_PORT", 3306);
+        return ConfigSnapshot.current().dbPort;
     }
     
     public static String getDbName() {
@@ -238,7 +284,7 @@ public class EnvironmentConfig {
     }
     
     public static int getApiTimeout() {
-        return getInt("API_TIMEOUT", 30);
+        return ConfigSnapshot.current().apiTimeout;
     }
     
     // Reporting
@@ -259,16 +305,28 @@ public class EnvironmentConfig {
     }
     
     public static boolean captureScreenshotOnFailure() {
-        return getBoolean("CAPTURE_SCREENSHOT_ON_FAILURE", true);
+        return ConfigSnapshot.current().captureScreenshotOnFailure;
     }
     
     public static boolean captureScreenshotOnSuccess() {
-        return getBoolean("CAPTURE_SCREENSHOT_ON_SUCCESS", false);
+        return ConfigSnapshot.current().captureScreenshotOnSuccess;
+    }
+    
+    public static int getScreenshotRetentionDays() {
+        return ConfigSnapshot.current().screenshotRetentionDays;
+    }
+    
+    public static int getScreenshotStoreMaxMb() {
+        return ConfigSnapshot.current().screenshotStoreMaxMb;
+    }
+    
+    public static int getFailureScreenshotScalePercent() {
+        return ConfigSnapshot.current().failureScreenshotScalePercent;
     }
     
     // Email Configuration
     public static boolean isEmailEnabled() {
-        return getBoolean("EMAIL_ENABLED", false);
+        return ConfigSnapshot.current().emailEnabled;
     }
     
     public static String getEmailHost() {
@@ -276,7 +334,7 @@ public class EnvironmentConfig {
     }
     
     public static int getEmailPort() {
-        return getInt("EMAIL_PORT", 587);
+        return ConfigSnapshot.current().emailPort;
     }
     
     public static String getEmailUsername() {
@@ -293,7 +351,7 @@ public class EnvironmentConfig {
     
     // Slack Integration
     public static boolean isSlackEnabled() {
-        return getBoolean("SLACK_ENABLED", false);
+        return ConfigSnapshot.current().slackEnabled;
     }
     
     public static String getSlackWebhookUrl() {
@@ -306,11 +364,48 @@ public class EnvironmentConfig {
     
     // Parallel Execution
     public static boolean isParallelExecution() {
-        return getBoolean("PARALLEL_EXECUTION", false);
+        return ConfigSnapshot.current().parallelExecution;
     }
     
     public static int getThreadCount() {
-        return getInt("THREAD_COUNT", 2);
+        return ConfigSnapshot.current().threadCount;
+    }
+    
+    public static boolean isAdaptiveConcurrency() {
+        return ConfigSnapshot.current().adaptiveConcurrency;
+    }
+    
+    public static int getMaxThreadCount() {
+        return ConfigSnapshot.current().maxThreadCount;
+    }
+    
+    public static int getMinFreeMemoryMb() {
+        return ConfigSnapshot.current().minFreeMemoryMb;
+    }
+    
+    public static int getMemoryBudgetMb() {
+        return ConfigSnapshot.current().memoryBudgetMb;
+    }
+    
+    public static int getMemoryAdmissionTimeoutSeconds() {
+        return ConfigSnapshot.current().memoryAdmissionTimeoutSeconds;
+    }
+    
+    // Test Data
+    public static int getExcelCacheMaxMb() {
+        return ConfigSnapshot.current().excelCacheMaxMb;
+    }
+    
+    public static int getExcelStreamingWriteMb() {
+        return ConfigSnapshot.current().excelStreamingWriteMb;
+    }
+    
+    public static int getDataProviderPrefetch() {
+        return ConfigSnapshot.current().dataProviderPrefetch;
+    }
+    
+    public static int getTestDataSeed() {
+        return ConfigSnapshot.current().testDataSeed;
     }
     
     // Logging
@@ -319,7 +414,31 @@ public class EnvironmentConfig {
     }
     
     public static boolean isVideoRecordingEnabled() {
-        return getBoolean("ENABLE_VIDEO_RECORDING", false);
+        return ConfigSnapshot.current().videoRecordingEnabled;
+    }
+    
+    public static int getScreencastSeconds() {
+        return ConfigSnapshot.current().screencastSeconds;
+    }
+    
+    public static int getScreencastFps() {
+        return ConfigSnapshot.current().screencastFps;
+    }
+    
+    public static int getScreencastMaxKb() {
+        return ConfigSnapshot.current().screencastMaxKb;
+    }
+    
+    public static boolean isBrowserTraceEnabled() {
+        return ConfigSnapshot.current().browserTraceEnabled;
+    }
+    
+    public static int getBrowserTraceEntries() {
+        return ConfigSnapshot.current().browserTraceEntries;
+    }
+    
+    public static boolean isDomSnapshotEnabled() {
+        return ConfigSnapshot.current().domSnapshotEnabled;
     }
     
     // Cloud Services
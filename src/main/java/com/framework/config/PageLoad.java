@@ -0,0 +1,19 @@
+package com.framework.config;
+
+import org.openqa.selenium.PageLoadStrategy;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Page-load strategy for the browser sessions a test method or class starts, overriding
+ * PAGE_LOAD_STRATEGY. With EAGER or NONE, page objects wait for their own readiness contract
+ * after {@link com.framework.pages.BasePage#navigateTo(String)} instead of the full load.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface PageLoad {
+    PageLoadStrategy value();
+}
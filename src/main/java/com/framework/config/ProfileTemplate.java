@@ -0,0 +1,183 @@
+package com.framework.config;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Warm Chrome user-data directory shared by the sessions of a run.
+ * The first session to need it builds the template: a browser visits WARM_PROFILE_URLS, so
+ * the HTTP and code caches, fonts and service workers are populated, and quits. Every session
+ * then starts on its own clone, deleted again when the session quits. The clone is a reflink
+ * copy where the filesystem supports it (cp --reflink, e.g. on Btrfs or XFS), which shares all
+ * blocks until Chrome writes to them, and a plain copy elsewhere. Nothing is hard-linked: Chrome
+ * updates cache entries and databases alike in place, so a shared inode would carry one
+ * session's writes into the template and every other clone.
+ * Enabled with WARM_PROFILE=true; Chrome only.
+ */
+public class ProfileTemplate {
+    // Time for the browser to write caches and service workers after the last page loaded
+    private static final long SETTLE_MILLIS = 2000;
+    private static final List<String> LOCK_FILES = Arrays.asList("SingletonLock", "SingletonSocket", "SingletonCookie", "lockfile");
+
+    private static final ThreadLocal<Path> currentClone = new ThreadLocal<>();
+    private static Path template;
+    private static boolean templateAttempted;
+    // Falls back from reflink to copy on the first failure
+    private static volatile String cloneMethod = "reflink";
+
+    /**
+     * A fresh clone of the template for a Chrome session starting on the current thread,
+     * or null to start with an empty profile
+     */
+    static Path createClone(BrowserProfile profile) {
+        release();
+        if (!EnvironmentConfig.isWarmProfileEnabled()) {
+            return null;
+        }
+        Path source = getTemplate(profile);
+        if (source == null) {
+            return null;
+        }
+        Path target = null;
+        try {
+            target = Files.createTempDirectory("chrome-profile-");
+            copyTree(source, target);
+            currentClone.set(target);
+            return target;
+        } catch (IOException e) {
+            System.err.println("Warning: Failed to clone browser profile, starting with an empty one: " + e.getMessage());
+            deleteTree(target);
+            return null;
+        }
+    }
+
+    /**
+     * Delete the clone of the current thread's session once its browser has quit or failed to start
+     */
+    public static void release() {
+        Path clone = currentClone.get();
+        if (clone != null) {
+            currentClone.remove();
+            deleteTree(clone);
+        }
+    }
+
+    private static synchronized Path getTemplate(BrowserProfile profile) {
+        if (templateAttempted) {
+            return template;
+        }
+        templateAttempted = true;
+        long start = System.currentTimeMillis();
+        Path directory = null;
+        try {
+            directory = Files.createTempDirectory("chrome-profile-template-");
+            ChromeOptions options = WebDriverConfig.createChromeOptions(profile);
+            options.addArguments("--user-data-dir=" + directory.toAbsolutePath());
+            WebDriver warmup = new ChromeDriver(options);
+            try {
+                for (String url : EnvironmentConfig.getWarmProfileUrls().split(",")) {
+                    if (!url.trim().isEmpty()) {
+                        warmup.get(url.trim());
+                    }
+                }
+                Thread.sleep(SETTLE_MILLIS);
+            } finally {
+                warmup.quit();
+            }
+            for (String lockFile : LOCK_FILES) {
+                Files.deleteIfExists(directory.resolve(lockFile));
+            }
+            template = directory;
+            Path templateDirectory = directory;
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> deleteTree(templateDirectory)));
+            System.out.printf("Warm browser profile built in %d ms (%d MB)%n",
+                    System.currentTimeMillis() - start, getSize(directory) / (1024 * 1024));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            deleteTree(directory);
+        } catch (Exception e) {
+            System.err.println("Warning: Failed to build warm browser profile, sessions start empty: " + e.getMessage());
+            deleteTree(directory);
+        }
+        return template;
+    }
+
+    private static void copyTree(Path source, Path target) throws IOException {
+        if (cloneMethod.equals("reflink")) {
+            if (reflink(source, target)) {
+                return;
+            }
+            cloneMethod = "copy";
+            // Start again from an empty directory in case cp got part of the way
+            deleteTree(target);
+            Files.createDirectories(target);
+        }
+        Files.walkFileTree(source, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path directory, BasicFileAttributes attributes) throws IOException {
+                Files.createDirectories(target.resolve(source.relativize(directory).toString()));
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) throws IOException {
+                Files.copy(file, target.resolve(source.relativize(file).toString()), StandardCopyOption.COPY_ATTRIBUTES);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    /**
+     * Copy-on-write clone of the whole tree with GNU cp; false where the platform or filesystem lacks it
+     */
+    private static boolean reflink(Path source, Path target) {
+        try {
+            Process process = new ProcessBuilder("cp", "-R", "--reflink=always",
+                    source.toAbsolutePath() + "/.", target.toAbsolutePath().toString())
+                    .redirectErrorStream(true)
+                    .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                    .start();
+            if (!process.waitFor(60, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+                return false;
+            }
+            return process.exitValue() == 0;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static long getSize(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            return files.filter(Files::isRegularFile).mapToLong(file -> file.toFile().length()).sum();
+        }
+    }
+
+    private static void deleteTree(Path directory) {
+        if (directory == null || !Files.exists(directory)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (IOException e) {
+            System.err.println("Warning: Failed to delete browser profile " + directory + ": " + e.getMessage());
+        }
+    }
+}
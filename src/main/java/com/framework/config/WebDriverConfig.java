@@ -1,26 +1,46 @@
 package com.framework.config;
 
+import com.framework.reports.BrowserTraceRecorder;
+import com.framework.reports.ScreencastRecorder;
+import com.framework.utils.AssetCache;
+import com.framework.utils.EventDrivenWait;
+import com.framework.utils.NetworkInterceptor;
+import com.framework.utils.ResourceBlocker;
 import io.github.bonigarcia.wdm.WebDriverManager;
+import org.openqa.selenium.PageLoadStrategy;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeDriverService;
 import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.firefox.FirefoxDriver;
 import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.firefox.GeckoDriverService;
 import org.openqa.selenium.edge.EdgeDriver;
+import org.openqa.selenium.edge.EdgeDriverService;
 import org.openqa.selenium.edge.EdgeOptions;
 import org.openqa.selenium.safari.SafariDriver;
+import org.openqa.selenium.safari.SafariOptions;
 import org.openqa.selenium.remote.DesiredCapabilities;
 import org.openqa.selenium.remote.RemoteWebDriver;
 
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.file.Path;
 import java.time.Duration;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
+/**
+ * One browser session per thread, so test methods can run in parallel.
+ * {@link ConcurrencyController} decides how many of them may be open at once and
+ * {@link BrowserMemoryMonitor} whether there is memory for another.
+ */
 public class WebDriverConfig {
-    private static WebDriver driver;
+    private static final ThreadLocal<WebDriver> driver = new ThreadLocal<>();
+    private static final ThreadLocal<PageLoadStrategy> pageLoadStrategy = new ThreadLocal<>();
     private static final String BROWSER = System.getProperty("browser", "firefox");
     private static final String GRID_URL = System.getProperty("gridUrl", "http://localhost:4444");
     private static boolean driversSetup = false;
@@ -56,35 +76,113 @@ public class WebDriverConfig {
     }
 
     public static WebDriver getDriver() {
-        if (driver == null || !isDriverActive()) {
-            driver = createDriver();
+        if (!isDriverActive()) {
+            ConcurrencyController.acquire();
+            WebDriver session;
+            try {
+                BrowserMemoryMonitor.admit();
+                session = ConcurrencyController.instrument(createDriver(BrowserProfile.fromConfig()));
+            } catch (RuntimeException e) {
+                ProfileTemplate.release();
+                BrowserMemoryMonitor.release();
+                ConcurrencyController.release();
+                throw e;
+            }
+            driver.set(session);
+            ScreencastRecorder.start(session);
+            BrowserTraceRecorder.start(session);
+            ResourceBlocker.start(session);
+            AssetCache.start(session);
+            EventDrivenWait.start(session);
         }
-        return driver;
+        return driver.get();
+    }
+
+    /**
+     * Page-load strategy for the sessions the current thread starts from now on, e.g. from a
+     * test's {@link PageLoad}; null goes back to PAGE_LOAD_STRATEGY
+     */
+    public static void setPageLoadStrategy(PageLoadStrategy strategy) {
+        if (strategy == null) {
+            pageLoadStrategy.remove();
+        } else {
+            pageLoadStrategy.set(strategy);
+        }
+    }
+
+    static PageLoadStrategy getPageLoadStrategy() {
+        PageLoadStrategy strategy = pageLoadStrategy.get();
+        if (strategy != null) {
+            return strategy;
+        }
+        strategy = PageLoadStrategy.fromString(EnvironmentConfig.getPageLoadStrategy().trim().toLowerCase());
+        if (strategy == null) {
+            throw new IllegalArgumentException("Unsupported page load strategy: " + EnvironmentConfig.getPageLoadStrategy());
+        }
+        return strategy;
+    }
+
+    /**
+     * Get the current thread's session without starting a new one (null if there is none)
+     */
+    public static WebDriver getCurrentDriver() {
+        return driver.get();
     }
     
     private static boolean isDriverActive() {
-        if (driver == null) {
+        WebDriver session = driver.get();
+        if (session == null) {
             return false;
         }
         try {
             // Try to get current URL to check if driver is still active
-            driver.getCurrentUrl();
+            session.getCurrentUrl();
             return true;
         } catch (Exception e) {
-            // Driver is not active, set to null for cleanup
-            driver = null;
+            // Driver is not active: end what watched it and its driver service, and free its slot
+            discardSession(session);
+            driver.remove();
+            ProfileTemplate.release();
+            BrowserMemoryMonitor.release();
+            ConcurrencyController.release();
             return false;
         }
     }
 
-    private static WebDriver createDriver() {
+    /**
+     * The stop path of {@link #quitDriver()} for a session that has died, going on past the errors
+     * each step may raise, so no recorder keeps the session and no driver process is left behind
+     */
+    private static void discardSession(WebDriver session) {
+        List<Runnable> steps = Arrays.asList(
+                () -> ScreencastRecorder.stop(session),
+                () -> BrowserTraceRecorder.stop(session),
+                () -> ResourceBlocker.stop(session),
+                () -> AssetCache.stop(session),
+                () -> EventDrivenWait.stop(session),
+                () -> NetworkInterceptor.stop(session),
+                session::quit);
+        for (Runnable step : steps) {
+            try {
+                step.run();
+            } catch (RuntimeException e) {
+                // The browser is gone already
+            }
+        }
+    }
+
+    /**
+     * Start a session with the given profile that is not bound to the current thread;
+     * the caller quits it
+     */
+    public static WebDriver createDriver(BrowserProfile profile) {
         switch (BROWSER.toLowerCase()) {
             case "chrome":
-                return createChromeDriver();
+                return createChromeDriver(profile);
             case "firefox":
-                return createFirefoxDriver();
+                return createFirefoxDriver(profile);
             case "edge":
-                return createEdgeDriver();
+                return createEdgeDriver(profile);
             case "safari":
                 return createSafariDriver();
             case "remote":
@@ -94,11 +192,30 @@ public class WebDriverConfig {
         }
     }
 
-    private static WebDriver createChromeDriver() {
+    private static WebDriver createChromeDriver(BrowserProfile profile) {
+        ChromeOptions options = createChromeOptions(profile);
+        Path profileClone = ProfileTemplate.createClone(profile);
+        if (profileClone != null) {
+            options.addArguments("--user-data-dir=" + profileClone.toAbsolutePath());
+        }
+        
+        ChromeDriverService service = ChromeDriverService.createDefaultService();
+        WebDriver driver = new ChromeDriver(service, options);
+        BrowserMemoryMonitor.attach(service);
+        setTimeouts(driver);
+        return driver;
+    }
+
+    /**
+     * Chrome options of every session, also used to build the {@link ProfileTemplate}
+     */
+    static ChromeOptions createChromeOptions(BrowserProfile profile) {
         ChromeOptions options = new ChromeOptions();
         
         // Run in headless mode to avoid GUI issues
-        options.addArguments("--headless=new");
+        if (EnvironmentConfig.isHeadless()) {
+            options.addArguments("--headless=new");
+        }
         
         // Stability options to prevent macOS registration crashes
         options.addArguments("--no-sandbox");
@@ -125,63 +242,103 @@ public class WebDriverConfig {
         prefs.put("autofill.profile_enabled", false);
         prefs.put("autofill.credit_card_enabled", false);
         options.setExperimentalOption("prefs", prefs);
-        
-        driver = new ChromeDriver(options);
-        driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(10));
-        driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(30));
-        return driver;
+        options.setPageLoadStrategy(getPageLoadStrategy());
+        profile.apply(options);
+        return options;
     }
 
-    private static WebDriver createFirefoxDriver() {
-        driver = new FirefoxDriver();
-        driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(10));
-        driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(30));
+    private static WebDriver createFirefoxDriver(BrowserProfile profile) {
+        FirefoxOptions options = new FirefoxOptions();
+        options.setPageLoadStrategy(getPageLoadStrategy());
+        if (EnvironmentConfig.isHeadless()) {
+            options.addArguments("-headless");
+        }
+        profile.apply(options);
+        
+        GeckoDriverService service = GeckoDriverService.createDefaultService();
+        WebDriver driver = new FirefoxDriver(service, options);
+        BrowserMemoryMonitor.attach(service);
+        setTimeouts(driver);
         driver.manage().window().maximize();
         return driver;
     }
 
-    private static WebDriver createEdgeDriver() {
+    private static WebDriver createEdgeDriver(BrowserProfile profile) {
         EdgeOptions options = new EdgeOptions();
+        options.setPageLoadStrategy(getPageLoadStrategy());
         options.addArguments("--start-maximized");
+        if (EnvironmentConfig.isHeadless()) {
+            options.addArguments("--headless=new");
+        }
+        profile.apply(options);
         
-        driver = new EdgeDriver(options);
-        driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(10));
-        driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(30));
+        EdgeDriverService service = EdgeDriverService.createDefaultService();
+        WebDriver driver = new EdgeDriver(service, options);
+        BrowserMemoryMonitor.attach(service);
+        setTimeouts(driver);
         return driver;
     }
 
     private static WebDriver createSafariDriver() {
-        driver = new SafariDriver();
-        driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(10));
-        driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(30));
+        SafariOptions options = new SafariOptions();
+        options.setPageLoadStrategy(getPageLoadStrategy());
+        WebDriver driver = new SafariDriver(options);
+        setTimeouts(driver);
         return driver;
     }
 
     private static WebDriver createRemoteDriver() {
         DesiredCapabilities capabilities = new DesiredCapabilities();
         capabilities.setBrowserName(BROWSER);
+        capabilities.setCapability("pageLoadStrategy", getPageLoadStrategy().toString());
         
+        WebDriver driver;
         try {
             URI gridUri = new URI(GRID_URL);
             driver = new RemoteWebDriver(gridUri.toURL(), capabilities);
-            driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(10));
-            driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(30));
+            setTimeouts(driver);
         } catch (URISyntaxException | MalformedURLException e) {
             throw new RuntimeException("Invalid Grid URL: " + GRID_URL, e);
         }
         return driver;
     }
 
+    /**
+     * IMPLICIT_WAIT and PAGE_LOAD_TIMEOUT as configured when the session starts, so a reload
+     * applies to the sessions started after it. With WAIT_ADAPTIVE the implicit wait is 0, as
+     * every element lookup of a learned wait would otherwise block for IMPLICIT_WAIT.
+     */
+    private static void setTimeouts(WebDriver driver) {
+        int implicitWait = EnvironmentConfig.isWaitAdaptive() ? 0 : EnvironmentConfig.getImplicitWait();
+        driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(implicitWait));
+        driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(EnvironmentConfig.getPageLoadTimeout()));
+    }
+
     public static void quitDriver() {
-        if (driver != null) {
-            driver.quit();
-            driver = null;
+        WebDriver session = driver.get();
+        try {
+            if (session != null) {
+                ScreencastRecorder.stop(session);
+                BrowserTraceRecorder.stop(session);
+                ResourceBlocker.stop(session);
+                AssetCache.stop(session);
+                EventDrivenWait.stop(session);
+                NetworkInterceptor.stop(session);
+                session.quit();
+                driver.remove();
+            }
+        } finally {
+            // Also frees the slot of a session that had already died
+            ProfileTemplate.release();
+            BrowserMemoryMonitor.release();
+            ConcurrencyController.release();
         }
     }
 
     public static void closeDriver() {
-        if (driver != null) {
-            driver.close();
+        WebDriver session = driver.get();
+        if (session != null) {
+            session.close();
         }
     }
 }
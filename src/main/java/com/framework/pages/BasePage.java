@@ -1,29 +1,46 @@
 package com.framework.pages;
 
+import com.framework.reports.DomSnapshot;
+import com.framework.reports.ScreenshotUtils;
+import com.framework.utils.WaitPolicy;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.PageFactory;
+import org.openqa.selenium.support.ui.ExpectedCondition;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 
 import java.time.Duration;
 
 public class BasePage {
     protected WebDriver driver;
-    protected WebDriverWait wait;
 
     public BasePage(WebDriver driver) {
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(10));
         PageFactory.initElements(driver, this);
+        // Failure DOM snapshots report on the locators of every page the test touched
+        DomSnapshot.trackPage(getClass());
     }
 
     public void waitForElementToBeVisible(WebElement element) {
-        wait.until(ExpectedConditions.visibilityOf(element));
+        try {
+            WaitPolicy.until(driver, WaitPolicy.key("visible", element), ExpectedConditions.visibilityOf(element));
+        } catch (WebDriverException e) {
+            ScreenshotUtils.setFailedElement(element);
+            throw e;
+        }
     }
 
     public void waitForElementToBeClickable(WebElement element) {
-        wait.until(ExpectedConditions.elementToBeClickable(element));
+        try {
+            WaitPolicy.until(driver, WaitPolicy.key("clickable", element), ExpectedConditions.elementToBeClickable(element));
+        } catch (WebDriverException e) {
+            ScreenshotUtils.setFailedElement(element);
+            throw e;
+        }
     }
 
     public void clickElement(WebElement element) {
@@ -42,14 +59,27 @@ public class BasePage {
         return element.getText();
     }
 
+    /**
+     * Whether the element is displayed, once it exists. Sessions have no implicit wait under
+     * WAIT_ADAPTIVE, so the wait for it to appear goes through the wait policy; an element that
+     * exists but is hidden is false at once.
+     */
     public boolean isElementDisplayed(WebElement element) {
         try {
+            WaitPolicy.until(driver, WaitPolicy.key("present", element), webDriver -> element.getTagName() != null);
             return element.isDisplayed();
         } catch (Exception e) {
             return false;
         }
     }
 
+    /**
+     * First element the locator matches, waited for through the wait policy
+     */
+    protected WebElement findElement(By locator) {
+        return WaitPolicy.until(driver, WaitPolicy.key("present", locator), ExpectedConditions.presenceOfElementLocated(locator));
+    }
+
     public String getPageTitle() {
         return driver.getTitle();
     }
@@ -58,8 +88,75 @@ public class BasePage {
         return driver.getCurrentUrl();
     }
 
+    /**
+     * Open the URL and wait until this page is ready. With the eager and none page-load
+     * strategies the browser returns before the page has finished loading, so the page's
+     * readiness contract decides when the test may go on. A URL that only changes the fragment
+     * of the current one scrolls within the same document, so there is no new one to wait for.
+     */
     public void navigateTo(String url) {
+        if (isSameDocument(url)) {
+            driver.get(url);
+            waitUntilReady();
+            return;
+        }
+        markCurrentDocument();
         driver.get(url);
+        WaitPolicy.until(driver, "new document", this::isNewDocumentParsed);
+        waitUntilReady();
+    }
+
+    // Going to the current URL with a new fragment stays in the document; any other URL loads a new one
+    private boolean isSameDocument(String url) {
+        int fragment = url.indexOf('#');
+        if (fragment < 0) {
+            return false;
+        }
+        try {
+            String current = driver.getCurrentUrl();
+            int currentFragment = current.indexOf('#');
+            return (currentFragment < 0 ? current : current.substring(0, currentFragment)).equals(url.substring(0, fragment));
+        } catch (WebDriverException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Wait for the readiness contract of this page, e.g. after an action that navigates to it
+     */
+    public void waitUntilReady() {
+        try {
+            WaitPolicy.until(driver, getClass().getSimpleName() + " ready", readiness());
+        } catch (TimeoutException e) {
+            throw new TimeoutException(getClass().getSimpleName() + " did not become ready: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Condition under which the page can be used. Pages override it with the elements tests need
+     * first; by default the document has been parsed.
+     */
+    protected ExpectedCondition<?> readiness() {
+        return this::isNewDocumentParsed;
+    }
+
+    // Flag the old document so a navigation that has not replaced it yet is not mistaken for done
+    private void markCurrentDocument() {
+        try {
+            ((JavascriptExecutor) driver).executeScript("window.__frameworkPreviousDocument = true;");
+        } catch (WebDriverException e) {
+            // No document to mark yet
+        }
+    }
+
+    private boolean isNewDocumentParsed(WebDriver webDriver) {
+        try {
+            return Boolean.TRUE.equals(((JavascriptExecutor) webDriver).executeScript(
+                    "return !window.__frameworkPreviousDocument && document.readyState !== 'loading';"));
+        } catch (WebDriverException e) {
+            // Document is being replaced
+            return false;
+        }
     }
 
     public void refreshPage() {
@@ -79,18 +176,28 @@ public class BasePage {
         sendKeysToElement(element, text);
     }
 
-    // Wait for page to load (JavaScript check)
+    /**
+     * Wait until this page is ready
+     * @deprecated call {@link #waitUntilReady()} on the page being navigated to
+     */
+    @Deprecated
     public void waitForPageLoad() {
+        waitUntilReady();
+    }
+
+    // Wait for specific element, with a custom timeout until the wait policy has learned one
+    public void waitForElement(WebElement element, int seconds) {
         try {
-            Thread.sleep(1000); // Basic wait for page transitions
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+            WaitPolicy.until(driver, WaitPolicy.key("visible", element), ExpectedConditions.visibilityOf(element),
+                    Duration.ofSeconds(seconds));
+        } catch (WebDriverException e) {
+            ScreenshotUtils.setFailedElement(element);
+            throw e;
         }
     }
 
-    // Wait for specific element with custom timeout
-    public void waitForElement(WebElement element, int seconds) {
-        WebDriverWait customWait = new WebDriverWait(driver, Duration.ofSeconds(seconds));
-        customWait.until(ExpectedConditions.visibilityOf(element));
+    // Screenshot of the element the last wait failed on, or a downscaled viewport
+    public String captureFailureScreenshot() {
+        return ScreenshotUtils.captureFailureScreenshot(driver);
     }
 }
@@ -1,9 +1,12 @@
 package com.framework.pages;
 
+import com.framework.utils.WaitPolicy;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+import org.openqa.selenium.support.ui.ExpectedConditions;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -38,6 +41,14 @@ public class CartPage extends BasePage {
         super(driver);
     }
 
+    /**
+     * Ready once the cart list is rendered, which it also is when empty
+     */
+    @Override
+    protected ExpectedCondition<?> readiness() {
+        return ExpectedConditions.presenceOfElementLocated(By.className("cart_list"));
+    }
+
     /**
      * Check if cart page is loaded
      */
@@ -56,6 +67,7 @@ public class CartPage extends BasePage {
      * Get number of items in cart
      */
     public int getCartItemCount() {
+        waitUntilReady();
         return cartItems.size();
     }
 
@@ -63,6 +75,7 @@ public class CartPage extends BasePage {
      * Check if cart is empty
      */
     public boolean isCartEmpty() {
+        waitUntilReady();
         return cartItems.isEmpty();
     }
 
@@ -70,6 +83,7 @@ public class CartPage extends BasePage {
      * Get all item names in cart
      */
     public List<String> getItemNames() {
+        waitUntilReady();
         return itemNames.stream()
                 .map(this::getElementText)
                 .collect(Collectors.toList());
@@ -79,6 +93,7 @@ public class CartPage extends BasePage {
      * Get all item prices in cart
      */
     public List<String> getItemPrices() {
+        waitUntilReady();
         return itemPrices.stream()
                 .map(this::getElementText)
                 .collect(Collectors.toList());
@@ -92,22 +107,24 @@ public class CartPage extends BasePage {
     }
 
     /**
-     * Remove item from cart by name
+     * Remove item from cart by name and wait until its row is gone
      */
     public void removeItemFromCart(String itemName) {
         String xpath = String.format("//div[text()='%s']/ancestor::div[@class='cart_item']//button[text()='Remove']", itemName);
-        WebElement removeButton = driver.findElement(By.xpath(xpath));
+        WebElement removeButton = findElement(By.xpath(xpath));
         clickElement(removeButton);
+        WaitPolicy.until(driver, "cart item removed", ExpectedConditions.stalenessOf(removeButton));
     }
 
     /**
      * Remove all items from cart
      */
     public void removeAllItems() {
+        waitUntilReady();
         while (!cartItems.isEmpty()) {
-            WebElement removeButton = cartItems.get(0).findElement(By.tagName("button"));
-            clickElement(removeButton);
-            waitForPageLoad();
+            WebElement item = cartItems.get(0);
+            clickElement(item.findElement(By.tagName("button")));
+            WaitPolicy.until(driver, "cart item removed", ExpectedConditions.stalenessOf(item));
         }
     }
 
@@ -130,7 +147,7 @@ public class CartPage extends BasePage {
      */
     public String getItemQuantity(String itemName) {
         String xpath = String.format("//div[text()='%s']/ancestor::div[@class='cart_item']//div[@class='cart_quantity']", itemName);
-        WebElement quantityElement = driver.findElement(By.xpath(xpath));
+        WebElement quantityElement = findElement(By.xpath(xpath));
         return getElementText(quantityElement);
     }
 
@@ -139,7 +156,7 @@ public class CartPage extends BasePage {
      */
     public String getItemPrice(String itemName) {
         String xpath = String.format("//div[text()='%s']/ancestor::div[@class='cart_item']//div[@class='inventory_item_price']", itemName);
-        WebElement priceElement = driver.findElement(By.xpath(xpath));
+        WebElement priceElement = findElement(By.xpath(xpath));
         return getElementText(priceElement);
     }
 
@@ -1,8 +1,11 @@
 package com.framework.pages;
 
+import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+import org.openqa.selenium.support.ui.ExpectedConditions;
 
 /**
  * Page Object for SauceDemo Login Page
@@ -29,6 +32,14 @@ public class LoginPage extends BasePage {
         super(driver);
     }
 
+    /**
+     * Ready once the login button can be clicked
+     */
+    @Override
+    protected ExpectedCondition<?> readiness() {
+        return ExpectedConditions.elementToBeClickable(By.id("login-button"));
+    }
+
     /**
      * Check if login page is loaded
      */
@@ -1,9 +1,12 @@
 package com.framework.pages;
 
+import com.framework.utils.WaitPolicy;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.Select;
 
 import java.util.List;
@@ -45,6 +48,14 @@ public class ProductsPage extends BasePage {
         super(driver);
     }
 
+    /**
+     * Ready once the product list is rendered
+     */
+    @Override
+    protected ExpectedCondition<?> readiness() {
+        return ExpectedConditions.presenceOfAllElementsLocatedBy(By.className("inventory_item"));
+    }
+
     /**
      * Check if products page is loaded
      */
@@ -63,6 +74,7 @@ public class ProductsPage extends BasePage {
      * Get count of products displayed
      */
     public int getProductCount() {
+        waitUntilReady();
         return productItems.size();
     }
 
@@ -71,7 +83,7 @@ public class ProductsPage extends BasePage {
      */
     public void addProductToCart(String productName) {
         String xpath = String.format("//div[text()='%s']/ancestor::div[@class='inventory_item']//button[text()='Add to cart']", productName);
-        WebElement addButton = driver.findElement(By.xpath(xpath));
+        WebElement addButton = findElement(By.xpath(xpath));
         clickElement(addButton);
     }
 
@@ -79,6 +91,7 @@ public class ProductsPage extends BasePage {
      * Add product to cart by index
      */
     public void addProductToCartByIndex(int index) {
+        waitUntilReady();
         if (index >= 0 && index < productItems.size()) {
             WebElement product = productItems.get(index);
             WebElement addButton = product.findElement(By.tagName("button"));
@@ -91,7 +104,7 @@ public class ProductsPage extends BasePage {
      */
     public void removeProductFromCart(String productName) {
         String xpath = String.format("//div[text()='%s']/ancestor::div[@class='inventory_item']//button[text()='Remove']", productName);
-        WebElement removeButton = driver.findElement(By.xpath(xpath));
+        WebElement removeButton = findElement(By.xpath(xpath));
         clickElement(removeButton);
     }
 
@@ -100,7 +113,7 @@ public class ProductsPage extends BasePage {
      */
     public void clickProductByName(String productName) {
         String xpath = String.format("//div[text()='%s']", productName);
-        WebElement product = driver.findElement(By.xpath(xpath));
+        WebElement product = findElement(By.xpath(xpath));
         clickElement(product);
     }
 
@@ -114,6 +127,14 @@ public class ProductsPage extends BasePage {
         return "0";
     }
 
+    /**
+     * Wait until the cart badge shows the count, e.g. after adding products
+     */
+    public void waitForCartBadgeCount(int count) {
+        By badge = By.className("shopping_cart_badge");
+        WaitPolicy.until(driver, WaitPolicy.key("text", badge), ExpectedConditions.textToBe(badge, String.valueOf(count)));
+    }
+
     /**
      * Check if cart badge is displayed
      */
@@ -135,13 +156,14 @@ public class ProductsPage extends BasePage {
     public void sortProducts(String sortOption) {
         Select select = new Select(sortDropdown);
         select.selectByValue(sortOption);
-        waitForPageLoad();
+        waitUntilReady();
     }
 
     /**
      * Get all product names
      */
     public List<String> getAllProductNames() {
+        waitUntilReady();
         return productNames.stream()
                 .map(this::getElementText)
                 .collect(Collectors.toList());
@@ -151,6 +173,7 @@ public class ProductsPage extends BasePage {
      * Get all product prices
      */
     public List<String> getAllProductPrices() {
+        waitUntilReady();
         return productPrices.stream()
                 .map(this::getElementText)
                 .collect(Collectors.toList());
@@ -161,7 +184,7 @@ public class ProductsPage extends BasePage {
      */
     public void openMenu() {
         clickElement(menuButton);
-        waitForElement(logoutLink, 5);
+        waitForElementToBeVisible(logoutLink);
     }
 
     /**
@@ -178,7 +201,7 @@ public class ProductsPage extends BasePage {
     public boolean isProductDisplayed(String productName) {
         String xpath = String.format("//div[text()='%s']", productName);
         try {
-            WebElement product = driver.findElement(By.xpath(xpath));
+            WebElement product = findElement(By.xpath(xpath));
             return product.isDisplayed();
         } catch (Exception e) {
             return false;
@@ -190,7 +213,7 @@ public class ProductsPage extends BasePage {
      */
     public String getProductPrice(String productName) {
         String xpath = String.format("//div[text()='%s']/ancestor::div[@class='inventory_item']//div[@class='inventory_item_price']", productName);
-        WebElement priceElement = driver.findElement(By.xpath(xpath));
+        WebElement priceElement = findElement(By.xpath(xpath));
         return getElementText(priceElement);
     }
 }
@@ -0,0 +1,285 @@
+package com.framework.reports;
+
+import com.framework.config.EnvironmentConfig;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Content-addressed store for test artifacts (screenshots, recordings, traces).
+ * Artifacts are named by the SHA-256 of their content, so identical captures are
+ * written once no matter how often a failure repeats. Report entries register
+ * references; artifacts nobody references any more are evicted once the store
+ * exceeds its size budget or retention age.
+ */
+public class ArtifactStore {
+    private static final String STORE_DIR = "test-output/screenshots/";
+    private static final String REFS_DIR = STORE_DIR + "refs/";
+    private static final String REFS_EXTENSION = ".refs";
+    private static final String TEMP_EXTENSION = ".tmp";
+    private static final long STALE_TEMP_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    // Owner (report name) -> artifact file names referenced by that owner in this JVM
+    private static final Map<String, Set<String>> references = new ConcurrentHashMap<>();
+    private static final AtomicLong storeSize = new AtomicLong(-1);
+
+    /**
+     * Store content under its hash and return the artifact path.
+     * Storing the same bytes twice returns the existing file.
+     */
+    public static Path store(byte[] content, String extension) {
+        try {
+            Path storeDir = Paths.get(STORE_DIR);
+            Files.createDirectories(storeDir);
+
+            Path target = storeDir.resolve(sha256(content) + "." + extension);
+            if (Files.exists(target)) {
+                // Refresh the age so retention counts from the latest capture
+                Files.setLastModifiedTime(target, FileTime.fromMillis(System.currentTimeMillis()));
+                return target;
+            }
+
+            Path tempFile = Files.createTempFile(storeDir, "artifact-", TEMP_EXTENSION);
+            try {
+                Files.write(tempFile, content);
+                moveIntoPlace(tempFile, target);
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+
+            if (storeSize.get() >= 0 && storeSize.addAndGet(content.length) > getMaxStoreBytes()) {
+                evict();
+            }
+            return target;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to store artifact: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Record that a report entry of the given owner references the artifact
+     */
+    public static void addReference(String owner, Path artifact) {
+        references.computeIfAbsent(owner, key -> ConcurrentHashMap.newKeySet())
+                .add(artifact.getFileName().toString());
+    }
+
+    /**
+     * Persist the references of an owner so later runs do not evict its artifacts
+     */
+    public static void saveReferences(String owner) {
+        Set<String> artifacts = references.get(owner);
+        if (artifacts == null || artifacts.isEmpty()) {
+            return;
+        }
+        try {
+            Path refsDir = Paths.get(REFS_DIR);
+            Files.createDirectories(refsDir);
+            Path tempFile = Files.createTempFile(refsDir, owner, TEMP_EXTENSION);
+            Files.write(tempFile, new ArrayList<>(artifacts), StandardCharsets.UTF_8);
+            moveIntoPlace(tempFile, refsDir.resolve(owner + REFS_EXTENSION));
+        } catch (IOException e) {
+            System.err.println("Warning: Failed to save artifact references for " + owner + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Drop all references held by an owner (for example a deleted report)
+     */
+    public static void releaseReferences(String owner) {
+        references.remove(owner);
+        try {
+            Files.deleteIfExists(Paths.get(REFS_DIR, owner + REFS_EXTENSION));
+        } catch (IOException e) {
+            System.err.println("Warning: Failed to release artifact references for " + owner + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Get the number of owners (current and persisted) referencing an artifact
+     */
+    public static int getReferenceCount(Path artifact) {
+        Integer count = loadReferenceCounts().get(artifact.getFileName().toString());
+        return count != null ? count : 0;
+    }
+
+    /**
+     * Evict unreferenced artifacts older than the retention age, then the oldest
+     * unreferenced artifacts until the store fits its size budget.
+     * Reference files older than the retention age are treated as expired reports.
+     */
+    public static synchronized void evict() {
+        Path storeDir = Paths.get(STORE_DIR);
+        if (!Files.isDirectory(storeDir)) {
+            storeSize.set(0);
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        long maxAgeMillis = TimeUnit.DAYS.toMillis(EnvironmentConfig.getScreenshotRetentionDays());
+        expireReferenceFiles(now - maxAgeMillis);
+        Map<String, Integer> referenceCounts = loadReferenceCounts();
+
+        List<StoredArtifact> artifacts = new ArrayList<>();
+        long totalSize = 0;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(storeDir, Files::isRegularFile)) {
+            for (Path file : stream) {
+                BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                long modified = attributes.lastModifiedTime().toMillis();
+                if (file.getFileName().toString().endsWith(TEMP_EXTENSION)) {
+                    // Leftover from an interrupted write
+                    if (now - modified > STALE_TEMP_MILLIS) {
+                        Files.deleteIfExists(file);
+                    }
+                    continue;
+                }
+                artifacts.add(new StoredArtifact(file, attributes.size(), modified));
+                totalSize += attributes.size();
+            }
+        } catch (IOException e) {
+            System.err.println("Warning: Failed to scan artifact store: " + e.getMessage());
+            return;
+        }
+
+        // Oldest first, so both passes remove the least recently captured artifacts
+        artifacts.sort(Comparator.comparingLong(artifact -> artifact.modified));
+        long maxBytes = getMaxStoreBytes();
+        int evicted = 0;
+        for (StoredArtifact artifact : artifacts) {
+            boolean expired = now - artifact.modified > maxAgeMillis;
+            boolean overBudget = totalSize > maxBytes;
+            if (!expired && !overBudget) {
+                break;
+            }
+            if (referenceCounts.containsKey(artifact.file.getFileName().toString())) {
+                continue;
+            }
+            try {
+                Files.deleteIfExists(artifact.file);
+                totalSize -= artifact.size;
+                evicted++;
+            } catch (IOException e) {
+                System.err.println("Warning: Failed to evict artifact " + artifact.file + ": " + e.getMessage());
+            }
+        }
+
+        storeSize.set(totalSize);
+        if (evicted > 0) {
+            System.out.println("Artifact store: evicted " + evicted + " artifact(s), " + totalSize / 1024 + " KB retained");
+        }
+        if (totalSize > maxBytes) {
+            System.err.println("Warning: Artifact store exceeds its budget with referenced artifacts only ("
+                    + totalSize / 1024 + " KB)");
+        }
+    }
+
+    private static void expireReferenceFiles(long cutoffMillis) {
+        Path refsDir = Paths.get(REFS_DIR);
+        if (!Files.isDirectory(refsDir)) {
+            return;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(refsDir)) {
+            for (Path refsFile : stream) {
+                String owner = ownerOf(refsFile);
+                if (owner != null && !references.containsKey(owner)
+                        && Files.getLastModifiedTime(refsFile).toMillis() < cutoffMillis) {
+                    Files.deleteIfExists(refsFile);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Warning: Failed to expire artifact references: " + e.getMessage());
+        }
+    }
+
+    private static Map<String, Integer> loadReferenceCounts() {
+        Map<String, Set<String>> owners = new HashMap<>();
+        Path refsDir = Paths.get(REFS_DIR);
+        if (Files.isDirectory(refsDir)) {
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(refsDir)) {
+                for (Path refsFile : stream) {
+                    String owner = ownerOf(refsFile);
+                    if (owner != null) {
+                        owners.put(owner, new LinkedHashSet<>(Files.readAllLines(refsFile, StandardCharsets.UTF_8)));
+                    }
+                }
+            } catch (IOException e) {
+                System.err.println("Warning: Failed to read artifact references: " + e.getMessage());
+            }
+        }
+        // In-memory references of this run win over what was last persisted
+        references.forEach((owner, artifacts) -> owners.put(owner, new LinkedHashSet<>(artifacts)));
+
+        Map<String, Integer> counts = new HashMap<>();
+        for (Set<String> artifacts : owners.values()) {
+            for (String artifact : artifacts) {
+                counts.merge(artifact, 1, Integer::sum);
+            }
+        }
+        return counts;
+    }
+
+    private static String ownerOf(Path refsFile) {
+        String fileName = refsFile.getFileName().toString();
+        return fileName.endsWith(REFS_EXTENSION)
+                ? fileName.substring(0, fileName.length() - REFS_EXTENSION.length())
+                : null;
+    }
+
+    private static void moveIntoPlace(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            try {
+                Files.move(source, target);
+            } catch (FileAlreadyExistsException ignored) {
+                // Same content was stored concurrently
+            }
+        }
+    }
+
+    private static long getMaxStoreBytes() {
+        return EnvironmentConfig.getScreenshotStoreMaxMb() * 1024L * 1024L;
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static class StoredArtifact {
+        private final Path file;
+        private final long size;
+        private final long modified;
+
+        private StoredArtifact(Path file, long size, long modified) {
+            this.file = file;
+            this.size = size;
+            this.modified = modified;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.framework.reports;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Background writer for failure artifacts (recordings, traces, snapshots).
+ * Encoding and disk I/O run on a single daemon thread so the test thread only
+ * pays for collecting the data; the report waits for pending work before flushing.
+ */
+public class ArtifactWriter {
+    private static final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "artifact-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final Set<Future<?>> pending = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Queue an artifact task; failures are logged, never thrown into the test
+     */
+    public static void submit(String description, Runnable task) {
+        CompletableFuture<Void> future = CompletableFuture.runAsync(() -> {
+            try {
+                task.run();
+            } catch (Exception e) {
+                System.err.println("Warning: Failed to write " + description + ": " + e.getMessage());
+            }
+        }, executor);
+        pending.add(future);
+        future.whenComplete((result, error) -> pending.remove(future));
+    }
+
+    /**
+     * Wait for queued artifact tasks to finish, up to the given timeout
+     */
+    public static void awaitPending(long timeoutSeconds) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeoutSeconds);
+        for (Future<?> future : pending.toArray(new Future<?>[0])) {
+            try {
+                future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                // Already reported by the task wrapper
+            } catch (TimeoutException e) {
+                System.err.println("Warning: Artifact writer still busy after " + timeoutSeconds + "s; report may miss attachments");
+                return;
+            }
+        }
+    }
+}
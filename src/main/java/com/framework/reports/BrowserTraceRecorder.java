@@ -0,0 +1,300 @@
+package com.framework.reports;
+
+import com.aventstack.extentreports.ExtentTest;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.framework.config.EnvironmentConfig;
+import com.framework.utils.DevToolsUtils;
+import com.framework.utils.RingBuffer;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.DevTools;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records browser console messages and network request summaries per session.
+ * Entries are kept in bounded ring buffers fed by DevTools events, so a passing
+ * test only pays for the event stream. On failure the buffers are written as a
+ * HAR-like JSON file in the background and linked from the report.
+ */
+public class BrowserTraceRecorder {
+    private static final Map<WebDriver, BrowserTraceRecorder> recorders = new ConcurrentHashMap<>();
+    private static final ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private static final int MAX_IN_FLIGHT = 256;
+    private static final int MAX_TEXT_LENGTH = 1024;
+
+    private final RingBuffer<ConsoleEntry> console;
+    private final RingBuffer<NetworkEntry> network;
+    // Requests that have not finished yet, oldest dropped first when the page floods us
+    private final Map<String, NetworkEntry> inFlight = new LinkedHashMap<>(16, 0.75f, false) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, NetworkEntry> eldest) {
+            return size() > MAX_IN_FLIGHT;
+        }
+    };
+
+    private BrowserTraceRecorder(int capacity) {
+        this.console = new RingBuffer<>(capacity);
+        this.network = new RingBuffer<>(capacity);
+    }
+
+    /**
+     * Start recording a new session if browser tracing is enabled and the browser supports DevTools
+     */
+    public static void start(WebDriver driver) {
+        if (!EnvironmentConfig.isBrowserTraceEnabled()) {
+            return;
+        }
+        DevTools devTools = DevToolsUtils.getDevTools(driver);
+        if (devTools == null) {
+            return;
+        }
+
+        BrowserTraceRecorder recorder = new BrowserTraceRecorder(Math.max(1, EnvironmentConfig.getBrowserTraceEntries()));
+        try {
+            DevToolsUtils.addListener(devTools, "Runtime.consoleAPICalled", recorder::onConsoleCalled);
+            DevToolsUtils.addListener(devTools, "Runtime.exceptionThrown", recorder::onExceptionThrown);
+            DevToolsUtils.addListener(devTools, "Log.entryAdded", recorder::onLogEntry);
+            DevToolsUtils.addListener(devTools, "Network.requestWillBeSent", recorder::onRequestWillBeSent);
+            DevToolsUtils.addListener(devTools, "Network.responseReceived", recorder::onResponseReceived);
+            DevToolsUtils.addListener(devTools, "Network.loadingFinished", recorder::onLoadingFinished);
+            DevToolsUtils.addListener(devTools, "Network.loadingFailed", recorder::onLoadingFailed);
+            DevToolsUtils.send(devTools, "Runtime.enable", new HashMap<>());
+            DevToolsUtils.send(devTools, "Log.enable", new HashMap<>());
+            DevToolsUtils.send(devTools, "Network.enable", new HashMap<>());
+            recorders.put(driver, recorder);
+        } catch (Exception e) {
+            System.err.println("Warning: Browser trace not available: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Release the buffers of a session that is about to quit
+     */
+    public static void stop(WebDriver driver) {
+        BrowserTraceRecorder recorder = recorders.remove(driver);
+        if (recorder != null) {
+            recorder.clear();
+        }
+    }
+
+    /**
+     * Discard everything recorded so far (the test passed)
+     */
+    public static void discard(WebDriver driver) {
+        BrowserTraceRecorder recorder = recorders.get(driver);
+        if (recorder != null) {
+            recorder.clear();
+        }
+    }
+
+    /**
+     * Write the recorded entries in the background and link them from the current report entry
+     */
+    public static void saveOnFailure(WebDriver driver, String name) {
+        BrowserTraceRecorder recorder = recorders.get(driver);
+        if (recorder == null) {
+            return;
+        }
+        List<ConsoleEntry> consoleEntries = recorder.console.drain();
+        List<NetworkEntry> networkEntries;
+        synchronized (recorder) {
+            networkEntries = recorder.network.drain();
+            // Requests still running at failure time are often the interesting ones
+            networkEntries.addAll(recorder.inFlight.values());
+            recorder.inFlight.clear();
+        }
+        if (consoleEntries.isEmpty() && networkEntries.isEmpty()) {
+            return;
+        }
+        ExtentTest test = ExtentReportManager.getTest();
+        ArtifactWriter.submit("browser trace for " + name, () -> {
+            String path = ArtifactStore.store(toHar(consoleEntries, networkEntries), "har").toString();
+            ExtentReportManager.addArtifactLink(test, path, "Browser console and network trace ("
+                    + consoleEntries.size() + " console, " + networkEntries.size() + " requests)");
+        });
+    }
+
+    private void onConsoleCalled(Map<String, Object> event) {
+        StringBuilder text = new StringBuilder();
+        Object args = event.get("args");
+        if (args instanceof List) {
+            for (Object arg : (List<?>) args) {
+                if (text.length() > 0) {
+                    text.append(' ');
+                }
+                text.append(describe(arg));
+                if (text.length() > MAX_TEXT_LENGTH) {
+                    break;
+                }
+            }
+        }
+        console.add(new ConsoleEntry(System.currentTimeMillis(), String.valueOf(event.get("type")), truncate(text.toString())));
+    }
+
+    private void onExceptionThrown(Map<String, Object> event) {
+        Map<String, Object> details = child(event, "exceptionDetails");
+        Map<String, Object> exception = child(details, "exception");
+        Object description = exception.containsKey("description") ? exception.get("description") : details.get("text");
+        console.add(new ConsoleEntry(System.currentTimeMillis(), "exception", truncate(String.valueOf(description))));
+    }
+
+    private void onLogEntry(Map<String, Object> event) {
+        Map<String, Object> entry = child(event, "entry");
+        String text = entry.get("text") + (entry.containsKey("url") ? " (" + entry.get("url") + ")" : "");
+        console.add(new ConsoleEntry(System.currentTimeMillis(), String.valueOf(entry.get("level")), truncate(text)));
+    }
+
+    private void onRequestWillBeSent(Map<String, Object> event) {
+        Map<String, Object> request = child(event, "request");
+        NetworkEntry entry = new NetworkEntry();
+        entry.method = String.valueOf(request.get("method"));
+        entry.url = truncate(String.valueOf(request.get("url")));
+        entry.resourceType = String.valueOf(event.get("type"));
+        entry.wallTimeMillis = (long) (number(event.get("wallTime")) * 1000);
+        entry.startSeconds = number(event.get("timestamp"));
+        synchronized (this) {
+            inFlight.put(String.valueOf(event.get("requestId")), entry);
+        }
+    }
+
+    private void onResponseReceived(Map<String, Object> event) {
+        Map<String, Object> response = child(event, "response");
+        synchronized (this) {
+            NetworkEntry entry = inFlight.get(String.valueOf(event.get("requestId")));
+            if (entry == null) {
+                return;
+            }
+            entry.status = (int) number(response.get("status"));
+            entry.mimeType = String.valueOf(response.get("mimeType"));
+            Map<String, Object> timing = child(response, "timing");
+            if (timing.containsKey("receiveHeadersEnd")) {
+                entry.waitMillis = number(timing.get("receiveHeadersEnd")) - Math.max(0, number(timing.get("sendStart")));
+            }
+        }
+    }
+
+    private void onLoadingFinished(Map<String, Object> event) {
+        complete(event, null);
+    }
+
+    private void onLoadingFailed(Map<String, Object> event) {
+        complete(event, String.valueOf(event.get("errorText")));
+    }
+
+    private synchronized void complete(Map<String, Object> event, String error) {
+        NetworkEntry entry = inFlight.remove(String.valueOf(event.get("requestId")));
+        if (entry == null) {
+            return;
+        }
+        entry.totalMillis = (number(event.get("timestamp")) - entry.startSeconds) * 1000;
+        entry.encodedBytes = (long) number(event.get("encodedDataLength"));
+        entry.error = error;
+        network.add(entry);
+    }
+
+    private synchronized void clear() {
+        console.clear();
+        network.clear();
+        inFlight.clear();
+    }
+
+    private static byte[] toHar(List<ConsoleEntry> consoleEntries, List<NetworkEntry> networkEntries) {
+        List<Map<String, Object>> entries = new ArrayList<>();
+        for (NetworkEntry entry : networkEntries) {
+            Map<String, Object> har = new LinkedHashMap<>();
+            har.put("startedDateTime", Instant.ofEpochMilli(entry.wallTimeMillis).toString());
+            har.put("time", Math.max(0, entry.totalMillis));
+            har.put("request", Map.of("method", entry.method, "url", entry.url));
+            Map<String, Object> response = new LinkedHashMap<>();
+            response.put("status", entry.status);
+            response.put("content", Map.of("mimeType", entry.mimeType != null ? entry.mimeType : ""));
+            response.put("bodySize", entry.encodedBytes);
+            har.put("response", response);
+            har.put("timings", Map.of("wait", entry.waitMillis, "receive", Math.max(0, entry.totalMillis - entry.waitMillis)));
+            har.put("_resourceType", entry.resourceType);
+            if (entry.error != null) {
+                har.put("_error", entry.error);
+            } else if (entry.totalMillis < 0) {
+                har.put("_error", "still in flight");
+            }
+            entries.add(har);
+        }
+
+        List<Map<String, Object>> messages = new ArrayList<>();
+        for (ConsoleEntry entry : consoleEntries) {
+            Map<String, Object> message = new LinkedHashMap<>();
+            message.put("timestamp", Instant.ofEpochMilli(entry.timestamp).toString());
+            message.put("level", entry.level);
+            message.put("text", entry.text);
+            messages.add(message);
+        }
+
+        Map<String, Object> log = new LinkedHashMap<>();
+        log.put("version", "1.2");
+        log.put("creator", Map.of("name", "selenium-framework", "version", "1.0.0"));
+        log.put("entries", entries);
+        log.put("_console", messages);
+        try {
+            return mapper.writeValueAsBytes(Map.of("log", log));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize browser trace: " + e.getMessage(), e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> child(Map<String, Object> parent, String key) {
+        Object value = parent.get(key);
+        return value instanceof Map ? (Map<String, Object>) value : Map.of();
+    }
+
+    private static String describe(Object remoteObject) {
+        if (remoteObject instanceof Map) {
+            Map<?, ?> object = (Map<?, ?>) remoteObject;
+            Object value = object.containsKey("value") ? object.get("value") : object.get("description");
+            return String.valueOf(value);
+        }
+        return String.valueOf(remoteObject);
+    }
+
+    private static double number(Object value) {
+        return value instanceof Number ? ((Number) value).doubleValue() : 0;
+    }
+
+    private static String truncate(String text) {
+        return text.length() > MAX_TEXT_LENGTH ? text.substring(0, MAX_TEXT_LENGTH) + "..." : text;
+    }
+
+    private static class ConsoleEntry {
+        private final long timestamp;
+        private final String level;
+        private final String text;
+
+        private ConsoleEntry(long timestamp, String level, String text) {
+            this.timestamp = timestamp;
+            this.level = level;
+            this.text = text;
+        }
+    }
+
+    private static class NetworkEntry {
+        private String method;
+        private String url;
+        private String resourceType;
+        private String mimeType;
+        private int status;
+        private long wallTimeMillis;
+        private double startSeconds;
+        private double waitMillis;
+        private double totalMillis = -1;
+        private long encodedBytes;
+        private String error;
+    }
+}
@@ -0,0 +1,142 @@
+package com.framework.reports;
+
+import com.aventstack.extentreports.ExtentTest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.framework.config.EnvironmentConfig;
+import com.framework.utils.LocatorUtils;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.FindBy;
+import org.openqa.selenium.support.pagefactory.Annotations;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Captures the DOM on failure for offline locator debugging.
+ * A single script call returns the page's outer HTML together with match counts
+ * and computed visibility for every @FindBy locator of the page objects the test used.
+ * Serialization, compression and the write happen on the artifact writer thread.
+ */
+public class DomSnapshot {
+    private static final ObjectMapper mapper = new ObjectMapper();
+    private static final ThreadLocal<Set<Class<?>>> activePages = ThreadLocal.withInitial(LinkedHashSet::new);
+    private static final Map<Class<?>, List<Map<String, String>>> locatorCache = new ConcurrentHashMap<>();
+    private static final int MAX_MATCHES_PER_LOCATOR = 5;
+
+    private static final String SNAPSHOT_SCRIPT =
+            "var locators = arguments[0], maxMatches = arguments[1], results = [];\n"
+            + "function describe(node) {\n"
+            + "  var style = getComputedStyle(node), rect = node.getBoundingClientRect();\n"
+            + "  var visible = rect.width > 0 && rect.height > 0 && style.display !== 'none'\n"
+            + "      && style.visibility !== 'hidden' && style.opacity !== '0'\n"
+            + "      && (typeof node.checkVisibility !== 'function' || node.checkVisibility());\n"
+            + "  return {visible: visible, display: style.display, visibility: style.visibility,\n"
+            + "      opacity: style.opacity, rect: [rect.x, rect.y, rect.width, rect.height]};\n"
+            + "}\n"
+            + "for (var i = 0; i < locators.length; i++) {\n"
+            + "  var locator = locators[i], nodes = [], result = {page: locator.page, field: locator.field,\n"
+            + "      kind: locator.kind, selector: locator.value};\n"
+            + "  try {\n"
+            + "    if (locator.kind === 'xpath') {\n"
+            + "      var found = document.evaluate(locator.value, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);\n"
+            + "      for (var j = 0; j < found.snapshotLength; j++) { nodes.push(found.snapshotItem(j)); }\n"
+            + "    } else {\n"
+            + "      nodes = Array.prototype.slice.call(document.querySelectorAll(locator.value));\n"
+            + "    }\n"
+            + "    result.count = nodes.length;\n"
+            + "    result.matches = nodes.slice(0, maxMatches).map(describe);\n"
+            + "  } catch (e) {\n"
+            + "    result.error = String(e);\n"
+            + "  }\n"
+            + "  results.push(result);\n"
+            + "}\n"
+            + "return {url: location.href, title: document.title,\n"
+            + "    html: document.documentElement.outerHTML, locators: results};";
+
+    /**
+     * Remember that the current test uses the given page object
+     */
+    public static void trackPage(Class<?> pageClass) {
+        activePages.get().add(pageClass);
+    }
+
+    /**
+     * Forget the page objects of the finished test
+     */
+    public static void reset() {
+        activePages.remove();
+    }
+
+    /**
+     * Capture the DOM with one script call, then compress, store and link it in the background
+     */
+    public static void saveOnFailure(WebDriver driver, String name) {
+        if (!EnvironmentConfig.isDomSnapshotEnabled() || !(driver instanceof JavascriptExecutor)) {
+            return;
+        }
+
+        List<Map<String, String>> locators = new ArrayList<>();
+        for (Class<?> pageClass : activePages.get()) {
+            locators.addAll(locatorCache.computeIfAbsent(pageClass, DomSnapshot::collectLocators));
+        }
+
+        Object snapshot;
+        try {
+            snapshot = ((JavascriptExecutor) driver).executeScript(SNAPSHOT_SCRIPT, locators, MAX_MATCHES_PER_LOCATOR);
+        } catch (Exception e) {
+            System.err.println("Warning: Failed to capture DOM snapshot: " + e.getMessage());
+            return;
+        }
+
+        ExtentTest test = ExtentReportManager.getTest();
+        ArtifactWriter.submit("DOM snapshot for " + name, () -> {
+            String path = ArtifactStore.store(compress(snapshot), "json.gz").toString();
+            ExtentReportManager.addArtifactLink(test, path, "DOM snapshot (" + locators.size() + " locators)");
+        });
+    }
+
+    private static List<Map<String, String>> collectLocators(Class<?> pageClass) {
+        List<Map<String, String>> locators = new ArrayList<>();
+        for (Class<?> type = pageClass; type != null && type != Object.class; type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                if (!field.isAnnotationPresent(FindBy.class)) {
+                    continue;
+                }
+                By by = new Annotations(field).buildBy();
+                LocatorUtils.PageSelector selector = LocatorUtils.toPageSelector(by);
+                if (selector == null) {
+                    continue;
+                }
+                Map<String, String> locator = new HashMap<>();
+                locator.put("page", pageClass.getSimpleName());
+                locator.put("field", field.getName());
+                locator.put("kind", selector.getKind());
+                locator.put("value", selector.getValue());
+                locators.add(locator);
+            }
+        }
+        return locators;
+    }
+
+    private static byte[] compress(Object snapshot) {
+        try (ByteArrayOutputStream bytes = new ByteArrayOutputStream()) {
+            try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+                mapper.writeValue(gzip, snapshot);
+            }
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to compress DOM snapshot: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.framework.reports;
+
+import com.framework.config.ConcurrencyController;
+import com.framework.config.EnvironmentConfig;
+import org.testng.IAlterSuiteListener;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ITestContext;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlPackage;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Schedules test methods longest first from {@link TestDurationHistory} when they run in parallel.
+ * TestNG hands the next method in the list to whichever thread frees up first, so sorting by
+ * duration gives longest-processing-time-first packing and the suite ends close to total work
+ * divided by thread count. Methods without history count as the median of the known ones.
+ * With PARALLEL_EXECUTION=true the suite is switched to parallel methods, on THREAD_COUNT threads
+ * or as many as {@link ConcurrencyController} may allow, and its &lt;test&gt; blocks are merged into one, because TestNG runs &lt;test&gt; blocks one
+ * after another and would otherwise only balance within each of them.
+ * Registered in testng.xml.
+ */
+public class DurationScheduler implements IMethodInterceptor, IAlterSuiteListener {
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        if (!EnvironmentConfig.isParallelExecution()) {
+            return;
+        }
+        for (XmlSuite suite : suites) {
+            suite.setParallel(XmlSuite.ParallelMode.METHODS);
+            suite.setThreadCount(ConcurrencyController.getThreadPoolSize());
+            mergeTests(suite);
+        }
+    }
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        // Without parallel methods the declared order and priorities stay in charge
+        XmlTest xmlTest = context.getCurrentXmlTest();
+        if (xmlTest.getParallel() != XmlSuite.ParallelMode.METHODS || methods.size() < 2) {
+            return methods;
+        }
+
+        Map<IMethodInstance, Long> estimates = new IdentityHashMap<>();
+        List<Long> known = new ArrayList<>();
+        for (IMethodInstance method : methods) {
+            long estimate = TestDurationHistory.getEstimate(method.getMethod());
+            estimates.put(method, estimate);
+            if (estimate >= 0) {
+                known.add(estimate);
+            }
+        }
+        known.sort(null);
+        long unknownEstimate = known.isEmpty() ? 0 : known.get(known.size() / 2);
+        estimates.replaceAll((method, estimate) -> estimate >= 0 ? estimate : unknownEstimate);
+
+        // Stable sort: methods with equal estimates keep their declared order
+        List<IMethodInstance> scheduled = new ArrayList<>(methods);
+        scheduled.sort(Comparator.comparing(estimates::get, Comparator.reverseOrder()));
+
+        if (!known.isEmpty()) {
+            int threads = Math.max(1, xmlTest.getThreadCount());
+            long total = estimates.values().stream().mapToLong(Long::longValue).sum();
+            System.out.printf("Scheduled %d methods of '%s' longest first on %d threads: %.1fs of work, %.1fs expected%n",
+                    scheduled.size(), xmlTest.getName(), threads, total / 1000.0,
+                    makespan(scheduled, estimates, threads) / 1000.0);
+        }
+        return scheduled;
+    }
+
+    /**
+     * Finish time of the busiest thread when each method goes to the first free thread
+     */
+    private static long makespan(List<IMethodInstance> scheduled, Map<IMethodInstance, Long> estimates, int threads) {
+        PriorityQueue<Long> finishTimes = new PriorityQueue<>();
+        for (int i = 0; i < threads; i++) {
+            finishTimes.add(0L);
+        }
+        long makespan = 0;
+        for (IMethodInstance method : scheduled) {
+            long finish = finishTimes.poll() + estimates.get(method);
+            finishTimes.add(finish);
+            makespan = Math.max(makespan, finish);
+        }
+        return makespan;
+    }
+
+    private static void mergeTests(XmlSuite suite) {
+        List<XmlTest> tests = new ArrayList<>(suite.getTests());
+        if (tests.size() < 2) {
+            return;
+        }
+        for (XmlTest test : tests) {
+            if (!test.getLocalParameters().isEmpty() || !test.getIncludedGroups().isEmpty()
+                    || !test.getExcludedGroups().isEmpty() || test.getParallel() != XmlSuite.ParallelMode.METHODS) {
+                System.out.println("Keeping <test> blocks of '" + suite.getName()
+                        + "' separate: '" + test.getName() + "' has its own parameters, groups or parallel mode");
+                return;
+            }
+        }
+
+        List<XmlClass> classes = new ArrayList<>();
+        List<XmlPackage> packages = new ArrayList<>();
+        for (XmlTest test : tests) {
+            classes.addAll(test.getXmlClasses());
+            packages.addAll(test.getXmlPackages());
+        }
+        suite.getTests().clear();
+        XmlTest merged = new XmlTest(suite);
+        merged.setName(suite.getName());
+        for (int i = 0; i < classes.size(); i++) {
+            classes.get(i).setXmlTest(merged);
+            classes.get(i).setIndex(i);
+        }
+        merged.setXmlClasses(classes);
+        merged.setXmlPackages(packages);
+    }
+}
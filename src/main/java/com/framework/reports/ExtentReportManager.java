@@ -12,26 +12,33 @@ import org.openqa.selenium.WebDriver;
 import org.testng.ITestResult;
 
 import java.io.File;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.text.SimpleDateFormat;
 import java.util.Date;
 
 public class ExtentReportManager {
     private static ExtentReports extent;
-    private static ExtentTest test;
+    // Report entry of the test running on each thread
+    private static final ThreadLocal<ExtentTest> test = new ThreadLocal<>();
+    private static String reportName;
     private static final String REPORT_PATH = "test-output/reports/";
 
-    public static void initializeReport() {
+    public static synchronized void initializeReport() {
         if (extent == null) {
             String timestamp = new SimpleDateFormat("yyyy-MM-dd_HH-mm-ss").format(new Date());
-            String reportName = "TestReport_" + timestamp + ".html";
+            reportName = "TestReport_" + timestamp;
             
             // Create directory if it doesn't exist
             File reportDir = new File(REPORT_PATH);
             if (!reportDir.exists()) {
                 reportDir.mkdirs();
             }
+
+            // Keep the artifact store bounded before this run adds to it
+            ArtifactStore.evict();
             
-            ExtentSparkReporter sparkReporter = new ExtentSparkReporter(REPORT_PATH + reportName);
+            ExtentSparkReporter sparkReporter = new ExtentSparkReporter(REPORT_PATH + reportName + ".html");
             extent = new ExtentReports();
             extent.attachReporter(sparkReporter);
 
@@ -55,64 +62,118 @@ public class ExtentReportManager {
         initializeReport();
     }
 
-    public static ExtentTest createTest(String testName, String description) {
-        test = extent.createTest(testName, description);
-        return test;
+    public static synchronized ExtentTest createTest(String testName, String description) {
+        ExtentTest created = extent.createTest(testName, description);
+        test.set(created);
+        return created;
     }
 
     public static ExtentTest getTest() {
-        return test;
+        return test.get();
     }
 
     public static void logInfo(String message) {
-        if (test != null) {
-            test.log(Status.INFO, message);
+        ExtentTest current = test.get();
+        if (current != null) {
+            current.log(Status.INFO, message);
         }
     }
 
     public static void logPass(String message) {
-        if (test != null) {
-            test.log(Status.PASS, MarkupHelper.createLabel(message, ExtentColor.GREEN));
+        ExtentTest current = test.get();
+        if (current != null) {
+            current.log(Status.PASS, MarkupHelper.createLabel(message, ExtentColor.GREEN));
         }
     }
 
     public static void logFail(String message) {
-        if (test != null) {
-            test.log(Status.FAIL, MarkupHelper.createLabel(message, ExtentColor.RED));
+        ExtentTest current = test.get();
+        if (current != null) {
+            current.log(Status.FAIL, MarkupHelper.createLabel(message, ExtentColor.RED));
         }
     }
 
     public static void logSkip(String message) {
-        if (test != null) {
-            test.log(Status.SKIP, MarkupHelper.createLabel(message, ExtentColor.YELLOW));
+        ExtentTest current = test.get();
+        if (current != null) {
+            current.log(Status.SKIP, MarkupHelper.createLabel(message, ExtentColor.YELLOW));
         }
     }
 
     public static void logWarning(String message) {
-        if (test != null) {
-            test.log(Status.WARNING, MarkupHelper.createLabel(message, ExtentColor.ORANGE));
+        ExtentTest current = test.get();
+        if (current != null) {
+            current.log(Status.WARNING, MarkupHelper.createLabel(message, ExtentColor.ORANGE));
         }
     }
 
     public static void addScreenshot(WebDriver driver, String screenshotName) {
-        if (test != null && driver != null) {
+        ExtentTest current = test.get();
+        if (current != null && driver != null) {
             try {
                 String screenshotPath = ScreenshotUtils.captureScreenshot(driver, screenshotName);
-                test.addScreenCaptureFromPath(screenshotPath);
+                current.addScreenCaptureFromPath(toReportPath(screenshotPath), screenshotName);
             } catch (Exception e) {
                 logWarning("Failed to capture screenshot: " + e.getMessage());
             }
         }
     }
 
-    public static void flushReport() {
+    /**
+     * Attach a screenshot of the element the test failed on, or a downscaled viewport
+     */
+    public static void addFailureScreenshot(WebDriver driver, String screenshotName) {
+        ExtentTest current = test.get();
+        if (current != null && driver != null) {
+            try {
+                String screenshotPath = ScreenshotUtils.captureFailureScreenshot(driver);
+                current.addScreenCaptureFromPath(toReportPath(screenshotPath), screenshotName);
+            } catch (Exception e) {
+                logWarning("Failed to capture screenshot: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Attach an image artifact to a specific report entry (safe to call from background threads)
+     */
+    public static void addScreenCapture(ExtentTest targetTest, String artifactPath, String title) {
+        if (targetTest != null) {
+            targetTest.addScreenCaptureFromPath(toReportPath(artifactPath), title);
+        }
+    }
+
+    /**
+     * Link a non-image artifact from a specific report entry (safe to call from background threads)
+     */
+    public static void addArtifactLink(ExtentTest targetTest, String artifactPath, String label) {
+        if (targetTest != null) {
+            targetTest.log(Status.INFO, "<a href='" + toReportPath(artifactPath) + "' target='_blank'>" + label + "</a>");
+        }
+    }
+
+    public static synchronized void flushReport() {
         if (extent != null) {
+            // Failure artifacts are encoded in the background and must land before the report is written
+            ArtifactWriter.awaitPending(60);
             extent.flush();
+            ArtifactStore.saveReferences(reportName);
+        }
+    }
+
+    /**
+     * Reference an artifact from the current report and return its path relative to the report file
+     */
+    private static String toReportPath(String artifactPath) {
+        Path artifact = Paths.get(artifactPath);
+        if (reportName != null) {
+            ArtifactStore.addReference(reportName, artifact);
         }
+        return Paths.get(REPORT_PATH).toAbsolutePath().relativize(artifact.toAbsolutePath()).toString();
     }
 
     public static void logTestResult(ITestResult result) {
-        if (test != null) {
+        if (test.get() != null) {
             switch (result.getStatus()) {
                 case ITestResult.SUCCESS:
                     logPass("Test passed: " + result.getMethod().getMethodName());
@@ -0,0 +1,237 @@
+package com.framework.reports;
+
+import com.aventstack.extentreports.ExtentTest;
+import com.framework.config.EnvironmentConfig;
+import com.framework.utils.DevToolsUtils;
+import com.framework.utils.RingBuffer;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.DevTools;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageTypeSpecifier;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.metadata.IIOMetadataNode;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Failure-only screencast for Chromium sessions.
+ * Frames are streamed at a low rate over DevTools into a fixed-size ring buffer
+ * holding the last few seconds. On failure the buffer is encoded to an animated GIF
+ * on the artifact writer thread; on success it is simply discarded.
+ */
+public class ScreencastRecorder {
+    private static final Map<WebDriver, ScreencastRecorder> recorders = new ConcurrentHashMap<>();
+
+    private final DevTools devTools;
+    private final RingBuffer<Frame> frames;
+    private final long frameIntervalMillis;
+    private final long maxBytes;
+    private long bufferedBytes;
+    private long lastFrameMillis;
+    private volatile boolean recording = true;
+
+    private ScreencastRecorder(DevTools devTools) {
+        int fps = Math.max(1, EnvironmentConfig.getScreencastFps());
+        this.devTools = devTools;
+        this.frames = new RingBuffer<>(Math.max(1, EnvironmentConfig.getScreencastSeconds() * fps));
+        this.frameIntervalMillis = 1000L / fps;
+        this.maxBytes = EnvironmentConfig.getScreencastMaxKb() * 1024L;
+    }
+
+    /**
+     * Start recording a new session if video recording is enabled and the browser supports it
+     */
+    public static void start(WebDriver driver) {
+        if (!EnvironmentConfig.isVideoRecordingEnabled()) {
+            return;
+        }
+        DevTools devTools = DevToolsUtils.getDevTools(driver);
+        if (devTools == null) {
+            return;
+        }
+
+        ScreencastRecorder recorder = new ScreencastRecorder(devTools);
+        try {
+            DevToolsUtils.addListener(devTools, "Page.screencastFrame", recorder::onFrame);
+            Map<String, Object> params = new HashMap<>();
+            params.put("format", "jpeg");
+            params.put("quality", 40);
+            params.put("maxWidth", 960);
+            params.put("maxHeight", 540);
+            DevToolsUtils.send(devTools, "Page.startScreencast", params);
+            recorders.put(driver, recorder);
+        } catch (Exception e) {
+            System.err.println("Warning: Screencast not available: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Stop recording and release the buffer of a session that is about to quit
+     */
+    public static void stop(WebDriver driver) {
+        ScreencastRecorder recorder = recorders.remove(driver);
+        if (recorder != null) {
+            recorder.recording = false;
+            recorder.clear();
+            try {
+                DevToolsUtils.send(recorder.devTools, "Page.stopScreencast", new HashMap<>());
+            } catch (Exception e) {
+                // Session is going away anyway
+            }
+        }
+    }
+
+    /**
+     * Discard the frames recorded so far (the test passed)
+     */
+    public static void discard(WebDriver driver) {
+        ScreencastRecorder recorder = recorders.get(driver);
+        if (recorder != null) {
+            recorder.clear();
+        }
+    }
+
+    /**
+     * Encode the frames recorded so far in the background and attach them to the current report entry
+     */
+    public static void saveOnFailure(WebDriver driver, String name) {
+        ScreencastRecorder recorder = recorders.get(driver);
+        if (recorder == null) {
+            return;
+        }
+        List<Frame> recorded = recorder.drain();
+        if (recorded.isEmpty()) {
+            return;
+        }
+        ExtentTest test = ExtentReportManager.getTest();
+        ArtifactWriter.submit("screencast for " + name, () -> {
+            String path = ArtifactStore.store(encodeGif(recorded), "gif").toString();
+            ExtentReportManager.addScreenCapture(test, path, name + " (last " + recorded.size() + " frames)");
+        });
+    }
+
+    private void onFrame(Map<String, Object> event) {
+        Object sessionId = event.get("sessionId");
+        long now = System.currentTimeMillis();
+        if (recording) {
+            synchronized (this) {
+                // Frames arriving faster than the configured rate are acknowledged but not kept
+                if (now - lastFrameMillis >= frameIntervalMillis) {
+                    lastFrameMillis = now;
+                    addFrame(new Frame(Base64.getDecoder().decode((String) event.get("data")), now));
+                }
+            }
+        }
+        try {
+            Map<String, Object> ack = new HashMap<>();
+            ack.put("sessionId", sessionId);
+            DevToolsUtils.send(devTools, "Page.screencastFrameAck", ack);
+        } catch (Exception e) {
+            // Screencast stops on its own when acknowledgements stop
+        }
+    }
+
+    private synchronized void addFrame(Frame frame) {
+        Frame evicted = frames.add(frame);
+        bufferedBytes += frame.jpeg.length;
+        if (evicted != null) {
+            bufferedBytes -= evicted.jpeg.length;
+        }
+        while (bufferedBytes > maxBytes && frames.size() > 1) {
+            bufferedBytes -= frames.removeOldest().jpeg.length;
+        }
+    }
+
+    private synchronized List<Frame> drain() {
+        bufferedBytes = 0;
+        return frames.drain();
+    }
+
+    private synchronized void clear() {
+        bufferedBytes = 0;
+        frames.clear();
+    }
+
+    private static byte[] encodeGif(List<Frame> recorded) {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("gif").next();
+        try (ByteArrayOutputStream out = new ByteArrayOutputStream();
+             ImageOutputStream imageOut = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(imageOut);
+            writer.prepareWriteSequence(null);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            for (int i = 0; i < recorded.size(); i++) {
+                BufferedImage image = ImageIO.read(new ByteArrayInputStream(recorded.get(i).jpeg));
+                long delayMillis = i + 1 < recorded.size()
+                        ? recorded.get(i + 1).timestamp - recorded.get(i).timestamp
+                        : 1000;
+                IIOMetadata metadata = writer.getDefaultImageMetadata(
+                        ImageTypeSpecifier.createFromRenderedImage(image), param);
+                configureFrame(metadata, delayMillis, i == 0);
+                writer.writeToSequence(new IIOImage(image, null, metadata), param);
+            }
+            writer.endWriteSequence();
+            imageOut.flush();
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to encode screencast: " + e.getMessage(), e);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    private static void configureFrame(IIOMetadata metadata, long delayMillis, boolean first) throws IOException {
+        String format = metadata.getNativeMetadataFormatName();
+        IIOMetadataNode root = (IIOMetadataNode) metadata.getAsTree(format);
+
+        IIOMetadataNode control = childNode(root, "GraphicControlExtension");
+        control.setAttribute("disposalMethod", "none");
+        control.setAttribute("userInputFlag", "FALSE");
+        control.setAttribute("transparentColorFlag", "FALSE");
+        control.setAttribute("delayTime", String.valueOf(Math.max(1, delayMillis / 10)));
+        control.setAttribute("transparentColorIndex", "0");
+
+        if (first) {
+            // Loop forever
+            IIOMetadataNode extensions = childNode(root, "ApplicationExtensions");
+            IIOMetadataNode loop = new IIOMetadataNode("ApplicationExtension");
+            loop.setAttribute("applicationID", "NETSCAPE");
+            loop.setAttribute("authenticationCode", "2.0");
+            loop.setUserObject(new byte[]{1, 0, 0});
+            extensions.appendChild(loop);
+        }
+        metadata.setFromTree(format, root);
+    }
+
+    private static IIOMetadataNode childNode(IIOMetadataNode parent, String name) {
+        for (int i = 0; i < parent.getLength(); i++) {
+            if (parent.item(i).getNodeName().equals(name)) {
+                return (IIOMetadataNode) parent.item(i);
+            }
+        }
+        IIOMetadataNode node = new IIOMetadataNode(name);
+        parent.appendChild(node);
+        return node;
+    }
+
+    private static class Frame {
+        private final byte[] jpeg;
+        private final long timestamp;
+
+        private Frame(byte[] jpeg, long timestamp) {
+            this.jpeg = jpeg;
+            this.timestamp = timestamp;
+        }
+    }
+}
@@ -1,48 +1,195 @@
 package com.framework.reports;
 
+import com.framework.config.EnvironmentConfig;
+import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Rectangle;
 import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.chromium.HasCdp;
 
-import java.io.File;
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 public class ScreenshotUtils {
-    private static final String SCREENSHOT_DIR = "test-output/screenshots/";
+    private static final ThreadLocal<WebElement> failedElement = new ThreadLocal<>();
 
+    /**
+     * Capture a screenshot into the artifact store and return its path.
+     * Files are content-addressed, so the name is only used as the report label
+     * and repeated identical captures share one file.
+     */
     public static String captureScreenshot(WebDriver driver, String screenshotName) {
-        try {
-            // Create screenshot directory if it doesn't exist
-            Path screenshotDir = Paths.get(SCREENSHOT_DIR);
-            if (!Files.exists(screenshotDir)) {
-                Files.createDirectories(screenshotDir);
+        TakesScreenshot takesScreenshot = (TakesScreenshot) driver;
+        byte[] screenshot = takesScreenshot.getScreenshotAs(OutputType.BYTES);
+        return ArtifactStore.store(screenshot, "png").toString();
+    }
+
+    public static String captureScreenshot(WebDriver driver) {
+        return captureScreenshot(driver, "screenshot");
+    }
+
+    /**
+     * Capture only the given element. The browser clips the image, so just the
+     * element's pixels are encoded and transferred.
+     */
+    public static String captureElementScreenshot(WebElement element) {
+        byte[] screenshot = element.getScreenshotAs(OutputType.BYTES);
+        return ArtifactStore.store(screenshot, "png").toString();
+    }
+
+    /**
+     * Capture a rectangle of the page in CSS pixels relative to the document, as returned by
+     * {@link WebElement#getRect()}. Chromium browsers clip on the browser side; other browsers
+     * crop a viewport capture locally, so only the part of the region in view is captured there.
+     */
+    public static String captureRegionScreenshot(WebDriver driver, Rectangle region) {
+        if (driver instanceof HasCdp) {
+            Map<String, Object> clip = clip(region.getX(), region.getY(), region.getWidth(), region.getHeight(), 1.0);
+            return ArtifactStore.store(captureWithCdp((HasCdp) driver, "png", clip), "png").toString();
+        }
+
+        BufferedImage image = decode(((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES));
+        int[] viewport = getViewport(driver, image);
+        double ratio = image.getWidth() / (double) viewport[2];
+        // The capture starts at the scroll position, so move the region into viewport coordinates
+        int x = clamp((int) Math.round((region.getX() - viewport[0]) * ratio), 0, image.getWidth() - 1);
+        int y = clamp((int) Math.round((region.getY() - viewport[1]) * ratio), 0, image.getHeight() - 1);
+        int width = clamp((int) Math.round(region.getWidth() * ratio), 1, image.getWidth() - x);
+        int height = clamp((int) Math.round(region.getHeight() * ratio), 1, image.getHeight() - y);
+        return ArtifactStore.store(encode(image.getSubimage(x, y, width, height), "png"), "png").toString();
+    }
+
+    /**
+     * Capture the viewport downscaled by the given factor (0 &lt; scale &lt;= 1) as JPEG.
+     * Chromium browsers render at the reduced size; other browsers scale a full capture locally.
+     */
+    public static String captureScaledScreenshot(WebDriver driver, double scale) {
+        if (scale <= 0 || scale > 1) {
+            throw new IllegalArgumentException("Screenshot scale must be in (0, 1]: " + scale);
+        }
+
+        if (driver instanceof HasCdp) {
+            HasCdp cdp = (HasCdp) driver;
+            Map<String, Object> metrics = cdp.executeCdpCommand("Page.getLayoutMetrics", new HashMap<>());
+            @SuppressWarnings("unchecked")
+            Map<String, Object> viewport = (Map<String, Object>) metrics.get("cssLayoutViewport");
+            Map<String, Object> clip = clip(
+                    ((Number) viewport.get("pageX")).intValue(),
+                    ((Number) viewport.get("pageY")).intValue(),
+                    ((Number) viewport.get("clientWidth")).intValue(),
+                    ((Number) viewport.get("clientHeight")).intValue(),
+                    scale);
+            return ArtifactStore.store(captureWithCdp(cdp, "jpeg", clip), "jpg").toString();
+        }
+
+        BufferedImage image = decode(((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES));
+        int width = Math.max(1, (int) Math.round(image.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(image.getHeight() * scale));
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = scaled.createGraphics();
+        graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        graphics.drawImage(image, 0, 0, width, height, null);
+        graphics.dispose();
+        return ArtifactStore.store(encode(scaled, "jpg"), "jpg").toString();
+    }
+
+    /**
+     * Capture the element the current thread last failed on, or a downscaled
+     * viewport when there is no such element or it can no longer be captured.
+     */
+    public static String captureFailureScreenshot(WebDriver driver) {
+        WebElement element = failedElement.get();
+        failedElement.remove();
+        if (element != null) {
+            try {
+                return captureElementScreenshot(element);
+            } catch (WebDriverException e) {
+                // Element is stale, hidden or zero-sized; fall back to the viewport
             }
+        }
+        double scale = EnvironmentConfig.getFailureScreenshotScalePercent() / 100.0;
+        return captureScaledScreenshot(driver, scale);
+    }
+
+    /**
+     * Remember the element an interaction failed on for the current thread
+     */
+    public static void setFailedElement(WebElement element) {
+        failedElement.set(element);
+    }
+
+    public static void clearFailedElement() {
+        failedElement.remove();
+    }
 
-            // Generate timestamp for unique filename
-            String timestamp = new SimpleDateFormat("yyyy-MM-dd_HH-mm-ss").format(new Date());
-            String fileName = screenshotName + "_" + timestamp + ".png";
-            String filePath = SCREENSHOT_DIR + fileName;
+    private static byte[] captureWithCdp(HasCdp cdp, String format, Map<String, Object> clip) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("format", format);
+        if ("jpeg".equals(format)) {
+            params.put("quality", 80);
+        }
+        params.put("clip", clip);
+        params.put("captureBeyondViewport", false);
+        Map<String, Object> result = cdp.executeCdpCommand("Page.captureScreenshot", params);
+        return Base64.getDecoder().decode((String) result.get("data"));
+    }
 
-            // Capture screenshot
-            TakesScreenshot takesScreenshot = (TakesScreenshot) driver;
-            File sourceFile = takesScreenshot.getScreenshotAs(OutputType.FILE);
-            File destinationFile = new File(filePath);
-            
-            // Copy file to destination
-            Files.copy(sourceFile.toPath(), destinationFile.toPath());
+    private static Map<String, Object> clip(int x, int y, int width, int height, double scale) {
+        Map<String, Object> clip = new HashMap<>();
+        clip.put("x", x);
+        clip.put("y", y);
+        clip.put("width", width);
+        clip.put("height", height);
+        clip.put("scale", scale);
+        return clip;
+    }
 
-            return filePath;
+    /**
+     * Scroll offset and size of the viewport in CSS pixels: x, y, width, height
+     */
+    private static int[] getViewport(WebDriver driver, BufferedImage fallback) {
+        if (driver instanceof JavascriptExecutor) {
+            Object viewport = ((JavascriptExecutor) driver).executeScript(
+                    "return [window.scrollX, window.scrollY, window.innerWidth, window.innerHeight];");
+            if (viewport instanceof List && ((List<?>) viewport).size() == 4) {
+                List<?> values = (List<?>) viewport;
+                return new int[]{((Number) values.get(0)).intValue(), ((Number) values.get(1)).intValue(),
+                        ((Number) values.get(2)).intValue(), ((Number) values.get(3)).intValue()};
+            }
+        }
+        return new int[]{0, 0, fallback.getWidth(), fallback.getHeight()};
+    }
+
+    private static BufferedImage decode(byte[] png) {
+        try {
+            return ImageIO.read(new ByteArrayInputStream(png));
         } catch (IOException e) {
-            throw new RuntimeException("Failed to capture screenshot: " + e.getMessage(), e);
+            throw new RuntimeException("Failed to decode screenshot: " + e.getMessage(), e);
         }
     }
 
-    public static String captureScreenshot(WebDriver driver) {
-        return captureScreenshot(driver, "screenshot");
+    private static byte[] encode(BufferedImage image, String format) {
+        try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            ImageIO.write(image, format, out);
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to encode screenshot: " + e.getMessage(), e);
+        }
+    }
+
+    private static int clamp(int value, int min, int max) {
+        return Math.max(min, Math.min(max, value));
     }
 }
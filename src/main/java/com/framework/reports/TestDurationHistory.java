@@ -0,0 +1,111 @@
+package com.framework.reports;
+
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-method durations from earlier runs, used by {@link DurationScheduler} to order the next one.
+ * A method's time in a run (all its data provider invocations together) is folded into an
+ * exponentially weighted average, so the estimate follows a test that gets slower or faster
+ * without jumping on a single outlier. Stored as tab-separated text under test-output/history/.
+ */
+public class TestDurationHistory {
+    private static final String HISTORY_FILE = "test-output/history/test-durations.tsv";
+    // Weight of the latest run in the estimate
+    private static final double SMOOTHING = 0.3;
+
+    // Class#method -> estimated milliseconds
+    private static final Map<String, Long> estimates = new ConcurrentHashMap<>(load());
+    // Class#method -> milliseconds spent in the current run, not yet folded into the estimates
+    private static final Map<String, AtomicLong> runMillis = new ConcurrentHashMap<>();
+
+    public static String key(ITestNGMethod method) {
+        return method.getRealClass().getName() + "#" + method.getMethodName();
+    }
+
+    /**
+     * Estimated duration in milliseconds, or -1 when the method has no history
+     */
+    public static long getEstimate(ITestNGMethod method) {
+        return estimates.getOrDefault(key(method), -1L);
+    }
+
+    /**
+     * Add the time of a finished invocation to the current run
+     */
+    public static void record(ITestResult result) {
+        long millis = Math.max(0, result.getEndMillis() - result.getStartMillis());
+        runMillis.computeIfAbsent(key(result.getMethod()), key -> new AtomicLong()).addAndGet(millis);
+    }
+
+    /**
+     * Fold the recorded times into the estimates and write the history file
+     */
+    public static synchronized void save() {
+        if (runMillis.isEmpty()) {
+            return;
+        }
+        for (String key : new ArrayList<>(runMillis.keySet())) {
+            long millis = runMillis.remove(key).get();
+            estimates.merge(key, millis, (previous, latest) -> Math.round(SMOOTHING * latest + (1 - SMOOTHING) * previous));
+        }
+
+        List<String> lines = new ArrayList<>();
+        new TreeMap<>(estimates).forEach((key, millis) -> lines.add(key + "\t" + millis));
+        Path historyFile = Paths.get(HISTORY_FILE);
+        try {
+            Files.createDirectories(historyFile.getParent());
+            Path tempFile = Files.createTempFile(historyFile.getParent(), "test-durations-", ".tmp");
+            try {
+                Files.write(tempFile, lines, StandardCharsets.UTF_8);
+                try {
+                    Files.move(tempFile, historyFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(tempFile, historyFile, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+        } catch (IOException e) {
+            System.err.println("Warning: Failed to save test duration history: " + e.getMessage());
+        }
+    }
+
+    private static Map<String, Long> load() {
+        Map<String, Long> loaded = new TreeMap<>();
+        Path historyFile = Paths.get(HISTORY_FILE);
+        if (!Files.isRegularFile(historyFile)) {
+            return loaded;
+        }
+        try {
+            for (String line : Files.readAllLines(historyFile, StandardCharsets.UTF_8)) {
+                int tab = line.lastIndexOf('\t');
+                if (tab <= 0) {
+                    continue;
+                }
+                try {
+                    loaded.put(line.substring(0, tab), Long.parseLong(line.substring(tab + 1).trim()));
+                } catch (NumberFormatException e) {
+                    // Skip damaged lines, the next save rewrites the file
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Warning: Failed to read test duration history: " + e.getMessage());
+        }
+        return loaded;
+    }
+}
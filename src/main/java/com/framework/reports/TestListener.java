@@ -0,0 +1,103 @@
+package com.framework.reports;
+
+import com.framework.config.PageLoad;
+import com.framework.config.WebDriverConfig;
+import com.framework.utils.AssetCache;
+import com.framework.utils.ExcelWriteSession;
+import com.framework.utils.LoadAllResources;
+import com.framework.utils.ResourceBlocker;
+import com.framework.utils.WaitPolicy;
+import org.openqa.selenium.WebDriver;
+import org.testng.IConfigurationListener;
+import org.testng.ITestContext;
+import org.testng.ITestListener;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+
+/**
+ * TestNG listener that collects failure artifacts for the session of the test.
+ * It runs before @AfterMethod, so the browser is still alive when a test fails.
+ * Queued Excel write-backs are committed, and method durations for
+ * {@link DurationScheduler} and wait times for {@link WaitPolicy} saved, when each &lt;test&gt; finishes.
+ * Before each test and its @BeforeMethod, the browser settings the test asks for with
+ * {@link LoadAllResources} and {@link PageLoad} are applied to its thread.
+ * Registered in testng.xml.
+ */
+public class TestListener implements ITestListener, IConfigurationListener {
+
+    @Override
+    public void beforeConfiguration(ITestResult result, ITestNGMethod testMethod) {
+        // testMethod is only set for @BeforeMethod/@AfterMethod, which may start the browser
+        if (testMethod != null) {
+            applyBrowserSettings(testMethod);
+        }
+    }
+
+    @Override
+    public void onTestStart(ITestResult result) {
+        ScreenshotUtils.clearFailedElement();
+        applyBrowserSettings(result.getMethod());
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        TestDurationHistory.record(result);
+        discardArtifacts();
+    }
+
+    @Override
+    public void onTestSkipped(ITestResult result) {
+        discardArtifacts();
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        TestDurationHistory.record(result);
+        WebDriver driver = WebDriverConfig.getCurrentDriver();
+        if (driver != null) {
+            String name = result.getMethod().getMethodName();
+            DomSnapshot.saveOnFailure(driver, name);
+            ScreencastRecorder.saveOnFailure(driver, name);
+            BrowserTraceRecorder.saveOnFailure(driver, name);
+        }
+        DomSnapshot.reset();
+    }
+
+    @Override
+    public void onFinish(ITestContext context) {
+        ExcelWriteSession.commitAll();
+        TestDurationHistory.save();
+        ResourceBlocker.finish();
+        AssetCache.finish();
+        WaitPolicy.save();
+    }
+
+    private static void applyBrowserSettings(ITestNGMethod testMethod) {
+        ResourceBlocker.setLoadAllResources(getAnnotation(testMethod, LoadAllResources.class) != null);
+        PageLoad pageLoad = getAnnotation(testMethod, PageLoad.class);
+        WebDriverConfig.setPageLoadStrategy(pageLoad != null ? pageLoad.value() : null);
+    }
+
+    // The method's annotation, else its class's
+    private static <A extends Annotation> A getAnnotation(ITestNGMethod testMethod, Class<A> type) {
+        Method method = testMethod.getConstructorOrMethod().getMethod();
+        A annotation = method != null ? method.getAnnotation(type) : null;
+        if (annotation != null) {
+            return annotation;
+        }
+        Class<?> realClass = testMethod.getRealClass();
+        return realClass.getAnnotation(type);
+    }
+
+    private void discardArtifacts() {
+        DomSnapshot.reset();
+        WebDriver driver = WebDriverConfig.getCurrentDriver();
+        if (driver != null) {
+            ScreencastRecorder.discard(driver);
+            BrowserTraceRecorder.discard(driver);
+        }
+    }
+}
@@ -0,0 +1,544 @@
+package com.framework.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.framework.config.EnvironmentConfig;
+import com.framework.reports.ExtentReportManager;
+import org.openqa.selenium.WebDriver;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Disk cache of static assets shared by all browser sessions, so a fresh browser does not
+ * download the same scripts, stylesheets, fonts and images again. Requests of the types in
+ * ASSET_CACHE_TYPES are paused through the session's {@link NetworkInterceptor}: a stored copy
+ * that is still fresh is served without touching the network, a stale one is revalidated with
+ * its ETag or Last-Modified and served again on 304, which renews its freshness on disk with the
+ * 304's headers, and successful responses are stored on
+ * their way to the page. An entry is fresh for its Cache-Control max-age, or
+ * ASSET_CACHE_TTL_SECONDS when the server sends none; no-store, Set-Cookie and Vary other than
+ * Accept-Encoding responses are never stored. Entries live in ASSET_CACHE_DIR as a body file
+ * plus a JSON description, both named after the SHA-256 of the URL and written atomically, and
+ * the least recently used ones are evicted once ASSET_CACHE_MAX_MB is exceeded.
+ * Enabled with ASSET_CACHE=true; Chrome and Edge only.
+ */
+public class AssetCache implements NetworkInterceptor.Handler {
+    private static final long MB = 1024L * 1024L;
+    private static final ObjectMapper mapper = new ObjectMapper();
+    // Headers that describe the transfer rather than the stored body
+    private static final Set<String> TRANSFER_HEADERS = Set.of("content-encoding", "content-length", "transfer-encoding");
+
+    private static final Map<WebDriver, AssetCache> caches = new ConcurrentHashMap<>();
+    // URL -> entry, least recently used first
+    private static final LinkedHashMap<String, Entry> index = new LinkedHashMap<>(64, 0.75f, true);
+    private static long indexBytes;
+    private static boolean indexLoaded;
+    private static final AtomicInteger totalServed = new AtomicInteger();
+    private static final AtomicInteger totalRevalidated = new AtomicInteger();
+    private static final AtomicInteger totalStored = new AtomicInteger();
+    private static final AtomicLong totalServedBytes = new AtomicLong();
+
+    private final Set<String> resourceTypes;
+    private final AtomicInteger served = new AtomicInteger();
+    private final AtomicInteger revalidated = new AtomicInteger();
+    private final AtomicInteger stored = new AtomicInteger();
+    private final AtomicLong servedBytes = new AtomicLong();
+    // Requests this cache made conditional, by request id, until their response pauses
+    private final Set<String> conditional = ConcurrentHashMap.newKeySet();
+
+    private static class Entry {
+        private final String name;
+        private final long size;
+        private final long storedAt;
+        // Freshness lifetime in seconds; 0 means revalidate on every use
+        private final long maxAge;
+        private final String etag;
+        private final String lastModified;
+
+        private Entry(String name, long size, long storedAt, long maxAge, String etag, String lastModified) {
+            this.name = name;
+            this.size = size;
+            this.storedAt = storedAt;
+            this.maxAge = maxAge;
+            this.etag = etag;
+            this.lastModified = lastModified;
+        }
+
+        private boolean isFresh() {
+            return System.currentTimeMillis() - storedAt < maxAge * 1000;
+        }
+    }
+
+    private AssetCache(Set<String> resourceTypes) {
+        this.resourceTypes = resourceTypes;
+    }
+
+    /**
+     * Serve a new session's static assets from the cache if ASSET_CACHE is set and the browser supports DevTools
+     */
+    public static void start(WebDriver driver) {
+        if (!EnvironmentConfig.isAssetCacheEnabled()) {
+            return;
+        }
+        NetworkInterceptor interceptor = NetworkInterceptor.forDriver(driver);
+        if (interceptor == null) {
+            return;
+        }
+        loadIndex();
+        AssetCache cache = new AssetCache(ResourceBlocker.parseResourceTypes(EnvironmentConfig.getAssetCacheTypes()));
+        try {
+            interceptor.addHandler(cache);
+            caches.put(driver, cache);
+        } catch (Exception e) {
+            System.err.println("Warning: Asset cache not available: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Log the session's cache use to the current report entry and forget a session that is about to quit
+     */
+    public static void stop(WebDriver driver) {
+        AssetCache cache = caches.remove(driver);
+        if (cache == null) {
+            return;
+        }
+        totalServed.addAndGet(cache.served.get());
+        totalRevalidated.addAndGet(cache.revalidated.get());
+        totalStored.addAndGet(cache.stored.get());
+        totalServedBytes.addAndGet(cache.servedBytes.get());
+        if (cache.served.get() + cache.revalidated.get() + cache.stored.get() > 0) {
+            ExtentReportManager.logInfo(describe(cache.served.get(), cache.revalidated.get(), cache.stored.get(), cache.servedBytes.get()));
+        }
+    }
+
+    /**
+     * Print this run's totals
+     */
+    public static void finish() {
+        if (totalServed.get() + totalRevalidated.get() + totalStored.get() > 0) {
+            synchronized (index) {
+                System.out.println(describe(totalServed.get(), totalRevalidated.get(), totalStored.get(), totalServedBytes.get())
+                        + String.format(" in this run; %d entries, %.1f MB on disk", index.size(), indexBytes / (double) MB));
+            }
+        }
+    }
+
+    @Override
+    public List<Map<String, Object>> getPatterns() {
+        List<Map<String, Object>> patterns = new ArrayList<>();
+        for (String resourceType : resourceTypes) {
+            patterns.add(pattern(resourceType, "Request"));
+            patterns.add(pattern(resourceType, "Response"));
+        }
+        return patterns;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean onRequestPaused(NetworkInterceptor interceptor, Map<String, Object> event) {
+        Map<String, Object> request = (Map<String, Object>) event.get("request");
+        if (request == null || !"GET".equals(request.get("method")) || !resourceTypes.contains(event.get("resourceType"))) {
+            return false;
+        }
+        Map<String, Object> requestHeaders = request.get("headers") instanceof Map
+                ? (Map<String, Object>) request.get("headers") : new HashMap<>();
+        if (header(requestHeaders, "Range") != null) {
+            return false;
+        }
+        String url = (String) request.get("url");
+        if (event.containsKey("responseErrorReason")) {
+            conditional.remove((String) event.get("requestId"));
+            return false;
+        }
+        if (event.containsKey("responseStatusCode")) {
+            return onResponse(interceptor, event, url);
+        }
+        return onRequest(interceptor, event, url, requestHeaders);
+    }
+
+    private boolean onRequest(NetworkInterceptor interceptor, Map<String, Object> event, String url, Map<String, Object> requestHeaders) {
+        Entry entry = lookup(url);
+        if (entry == null) {
+            // Continue; the response is stored when it pauses again
+            return false;
+        }
+        if (entry.isFresh() && serve(interceptor, event, url, entry)) {
+            served.incrementAndGet();
+            return true;
+        }
+        if (entry.etag == null && entry.lastModified == null || !isOnDisk(entry)) {
+            return false;
+        }
+        List<Map<String, Object>> headers = new ArrayList<>();
+        requestHeaders.forEach((name, value) -> {
+            if (!name.equalsIgnoreCase("If-None-Match") && !name.equalsIgnoreCase("If-Modified-Since")) {
+                headers.add(Map.of("name", name, "value", String.valueOf(value)));
+            }
+        });
+        if (entry.etag != null) {
+            headers.add(Map.of("name", "If-None-Match", "value", entry.etag));
+        }
+        if (entry.lastModified != null) {
+            headers.add(Map.of("name", "If-Modified-Since", "value", entry.lastModified));
+        }
+        Map<String, Object> params = new HashMap<>();
+        params.put("requestId", event.get("requestId"));
+        params.put("headers", headers);
+        conditional.add((String) event.get("requestId"));
+        interceptor.send("Fetch.continueRequest", params);
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private boolean onResponse(NetworkInterceptor interceptor, Map<String, Object> event, String url) {
+        int status = ((Number) event.get("responseStatusCode")).intValue();
+        boolean madeConditional = conditional.remove((String) event.get("requestId"));
+        List<Map<String, Object>> responseHeaders = event.get("responseHeaders") instanceof List
+                ? (List<Map<String, Object>>) event.get("responseHeaders") : new ArrayList<>();
+        if (status == 304) {
+            Entry entry = lookup(url);
+            if (entry != null && serve(interceptor, event, url, entry)) {
+                revalidate(url, entry, responseHeaders);
+                revalidated.incrementAndGet();
+                return true;
+            }
+            if (!madeConditional) {
+                // The page's own conditional request, answered from the browser's cache
+                return false;
+            }
+            // The copy this request was revalidated for is gone; a bare 304 would leave the page without a body
+            Map<String, Object> params = new HashMap<>();
+            params.put("requestId", event.get("requestId"));
+            params.put("errorReason", "Failed");
+            interceptor.send("Fetch.failRequest", params);
+            return true;
+        }
+        if (status != 200 || !isStorable(responseHeaders)) {
+            return false;
+        }
+        Map<String, Object> params = new HashMap<>();
+        params.put("requestId", event.get("requestId"));
+        Map<String, Object> result = interceptor.send("Fetch.getResponseBody", params);
+        String body = (String) result.get("body");
+        byte[] bytes = Boolean.TRUE.equals(result.get("base64Encoded"))
+                ? Base64.getDecoder().decode(body) : body.getBytes(StandardCharsets.UTF_8);
+        if (store(url, status, responseHeaders, bytes)) {
+            stored.incrementAndGet();
+        }
+        // Let the original response through
+        return false;
+    }
+
+    @SuppressWarnings("unchecked")
+    private boolean serve(NetworkInterceptor interceptor, Map<String, Object> event, String url, Entry entry) {
+        Map<String, Object> description;
+        byte[] body;
+        try {
+            description = mapper.readValue(getDirectory().resolve(entry.name + ".json").toFile(), Map.class);
+            body = Files.readAllBytes(getDirectory().resolve(entry.name + ".body"));
+        } catch (IOException e) {
+            // Evicted by another run in the meantime
+            forget(url, entry);
+            return false;
+        }
+        Map<String, Object> params = new HashMap<>();
+        params.put("requestId", event.get("requestId"));
+        params.put("responseCode", description.get("status"));
+        params.put("responseHeaders", description.get("headers"));
+        params.put("body", Base64.getEncoder().encodeToString(body));
+        interceptor.send("Fetch.fulfillRequest", params);
+        servedBytes.addAndGet(body.length);
+        return true;
+    }
+
+    private static boolean isStorable(List<Map<String, Object>> responseHeaders) {
+        String cacheControl = header(responseHeaders, "Cache-Control");
+        String vary = header(responseHeaders, "Vary");
+        return (cacheControl == null || !cacheControl.toLowerCase(Locale.ROOT).contains("no-store"))
+                && header(responseHeaders, "Set-Cookie") == null
+                && (vary == null || vary.trim().equalsIgnoreCase("Accept-Encoding"));
+    }
+
+    /**
+     * Freshness lifetime from Cache-Control, or ASSET_CACHE_TTL_SECONDS without one
+     */
+    private static long getMaxAge(List<Map<String, Object>> responseHeaders) {
+        String cacheControl = header(responseHeaders, "Cache-Control");
+        if (cacheControl == null) {
+            return EnvironmentConfig.getAssetCacheTtlSeconds();
+        }
+        long maxAge = -1;
+        for (String directive : cacheControl.toLowerCase(Locale.ROOT).split(",")) {
+            directive = directive.trim();
+            if (directive.equals("no-cache")) {
+                return 0;
+            }
+            if (directive.startsWith("max-age=")) {
+                try {
+                    maxAge = Long.parseLong(directive.substring("max-age=".length()).trim());
+                } catch (NumberFormatException e) {
+                    maxAge = 0;
+                }
+            }
+        }
+        return maxAge >= 0 ? maxAge : EnvironmentConfig.getAssetCacheTtlSeconds();
+    }
+
+    private static boolean store(String url, int status, List<Map<String, Object>> responseHeaders, byte[] body) {
+        long maxBytes = EnvironmentConfig.getAssetCacheMaxMb() * MB;
+        if (body.length > maxBytes / 4) {
+            return false;
+        }
+        List<Map<String, Object>> headers = new ArrayList<>();
+        for (Map<String, Object> header : responseHeaders) {
+            if (!TRANSFER_HEADERS.contains(String.valueOf(header.get("name")).toLowerCase(Locale.ROOT))) {
+                headers.add(header);
+            }
+        }
+        Entry entry = new Entry(hash(url), body.length, System.currentTimeMillis(), getMaxAge(responseHeaders),
+                header(responseHeaders, "ETag"), header(responseHeaders, "Last-Modified"));
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("url", url);
+        description.put("status", status);
+        description.put("headers", headers);
+        description.put("storedAt", entry.storedAt);
+        description.put("maxAge", entry.maxAge);
+        description.put("etag", entry.etag);
+        description.put("lastModified", entry.lastModified);
+        try {
+            Path directory = getDirectory();
+            Files.createDirectories(directory);
+            // The description is written last, so an entry only exists once its body is complete
+            writeAtomically(directory.resolve(entry.name + ".body"), body);
+            writeAtomically(directory.resolve(entry.name + ".json"), mapper.writeValueAsBytes(description));
+        } catch (IOException e) {
+            System.err.println("Warning: Failed to store asset " + url + ": " + e.getMessage());
+            return false;
+        }
+        synchronized (index) {
+            Entry previous = index.put(url, entry);
+            if (previous != null) {
+                indexBytes -= previous.size;
+            }
+            indexBytes += entry.size;
+            evict(maxBytes);
+        }
+        return true;
+    }
+
+    // Callers hold the index lock
+    private static void evict(long maxBytes) {
+        Iterator<Map.Entry<String, Entry>> iterator = index.entrySet().iterator();
+        while (indexBytes > maxBytes && iterator.hasNext()) {
+            Entry entry = iterator.next().getValue();
+            iterator.remove();
+            indexBytes -= entry.size;
+            delete(entry);
+        }
+    }
+
+    private static Entry lookup(String url) {
+        synchronized (index) {
+            return index.get(url);
+        }
+    }
+
+    /**
+     * Drop the entry and its files, unless the URL has been stored again under the same name since
+     */
+    private static void forget(String url, Entry entry) {
+        synchronized (index) {
+            if (!index.remove(url, entry)) {
+                return;
+            }
+            indexBytes -= entry.size;
+        }
+        delete(entry);
+    }
+
+    private static boolean isOnDisk(Entry entry) {
+        return Files.isRegularFile(getDirectory().resolve(entry.name + ".json"))
+                && Files.isRegularFile(getDirectory().resolve(entry.name + ".body"));
+    }
+
+    private static void delete(Entry entry) {
+        try {
+            Files.deleteIfExists(getDirectory().resolve(entry.name + ".json"));
+            Files.deleteIfExists(getDirectory().resolve(entry.name + ".body"));
+        } catch (IOException e) {
+            // Left for the next eviction
+        }
+    }
+
+    /**
+     * Restart the entry's freshness after a 304, with the headers of the 304 replacing the stored
+     * ones of the same name, and rewrite its description so the next run sees it fresh too. The
+     * rewrite also moves the entry to the end of the eviction order, which follows modification times.
+     */
+    @SuppressWarnings("unchecked")
+    private static void revalidate(String url, Entry entry, List<Map<String, Object>> notModifiedHeaders) {
+        Path file = getDirectory().resolve(entry.name + ".json");
+        try {
+            Map<String, Object> description = mapper.readValue(file.toFile(), Map.class);
+            List<Map<String, Object>> headers = new ArrayList<>();
+            for (Map<String, Object> header : (List<Map<String, Object>>) description.get("headers")) {
+                if (header(notModifiedHeaders, String.valueOf(header.get("name"))) == null) {
+                    headers.add(header);
+                }
+            }
+            for (Map<String, Object> header : notModifiedHeaders) {
+                if (!TRANSFER_HEADERS.contains(String.valueOf(header.get("name")).toLowerCase(Locale.ROOT))) {
+                    headers.add(header);
+                }
+            }
+            Entry refreshed = new Entry(entry.name, entry.size, System.currentTimeMillis(), getMaxAge(headers),
+                    header(headers, "ETag"), header(headers, "Last-Modified"));
+            description.put("headers", headers);
+            description.put("storedAt", refreshed.storedAt);
+            description.put("maxAge", refreshed.maxAge);
+            description.put("etag", refreshed.etag);
+            description.put("lastModified", refreshed.lastModified);
+            writeAtomically(file, mapper.writeValueAsBytes(description));
+            synchronized (index) {
+                index.replace(url, entry, refreshed);
+            }
+        } catch (IOException | RuntimeException e) {
+            // Served this time; the stale entry is revalidated again next time
+            System.err.println("Warning: Failed to refresh cached asset " + url + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Read the descriptions left by earlier runs once, oldest first so they are evicted first
+     */
+    @SuppressWarnings("unchecked")
+    private static void loadIndex() {
+        synchronized (index) {
+            if (indexLoaded) {
+                return;
+            }
+            indexLoaded = true;
+            Path directory = getDirectory();
+            if (!Files.isDirectory(directory)) {
+                return;
+            }
+            List<Path> descriptions = new ArrayList<>();
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*.json")) {
+                stream.forEach(descriptions::add);
+            } catch (IOException e) {
+                System.err.println("Warning: Failed to read asset cache: " + e.getMessage());
+                return;
+            }
+            descriptions.sort(Comparator.comparingLong(AssetCache::lastModified));
+            for (Path description : descriptions) {
+                String name = description.getFileName().toString().replace(".json", "");
+                try {
+                    Map<String, Object> values = mapper.readValue(description.toFile(), Map.class);
+                    long size = Files.size(directory.resolve(name + ".body"));
+                    Entry entry = new Entry(name, size, ((Number) values.get("storedAt")).longValue(),
+                            ((Number) values.get("maxAge")).longValue(), (String) values.get("etag"), (String) values.get("lastModified"));
+                    index.put((String) values.get("url"), entry);
+                    indexBytes += size;
+                } catch (IOException | RuntimeException e) {
+                    // Incomplete or damaged entry
+                    description.toFile().delete();
+                }
+            }
+            evict(EnvironmentConfig.getAssetCacheMaxMb() * MB);
+        }
+    }
+
+    private static long lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static void writeAtomically(Path file, byte[] content) throws IOException {
+        Path tempFile = Files.createTempFile(file.getParent(), "asset-", ".tmp");
+        try {
+            Files.write(tempFile, content);
+            try {
+                Files.move(tempFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    private static Path getDirectory() {
+        return Paths.get(EnvironmentConfig.getAssetCacheDir());
+    }
+
+    private static String hash(String url) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(url.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder();
+            for (byte b : digest) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Header value by case-insensitive name, from a name -> value map or a list of name/value entries
+     */
+    @SuppressWarnings("unchecked")
+    private static String header(Object headers, String name) {
+        if (headers instanceof Map) {
+            for (Map.Entry<String, Object> header : ((Map<String, Object>) headers).entrySet()) {
+                if (header.getKey().equalsIgnoreCase(name)) {
+                    return String.valueOf(header.getValue());
+                }
+            }
+        } else if (headers instanceof List) {
+            for (Map<String, Object> header : (List<Map<String, Object>>) headers) {
+                if (name.equalsIgnoreCase(String.valueOf(header.get("name")))) {
+                    return String.valueOf(header.get("value"));
+                }
+            }
+        }
+        return null;
+    }
+
+    private static String describe(int served, int revalidated, int stored, long servedBytes) {
+        return String.format("Asset cache: %d served from disk, %d revalidated, %d downloaded and stored (%.1f MB not downloaded)",
+                served, revalidated, stored, servedBytes / (double) MB);
+    }
+
+    private static Map<String, Object> pattern(String resourceType, String requestStage) {
+        Map<String, Object> pattern = new HashMap<>();
+        pattern.put("urlPattern", "*");
+        pattern.put("resourceType", resourceType);
+        pattern.put("requestStage", requestStage);
+        return pattern;
+    }
+}
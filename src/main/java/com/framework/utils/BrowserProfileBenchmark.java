@@ -0,0 +1,91 @@
+package com.framework.utils;
+
+import com.framework.config.BrowserMemoryMonitor;
+import com.framework.config.BrowserProfile;
+import com.framework.config.EnvironmentConfig;
+import com.framework.config.ProfileTemplate;
+import com.framework.config.WebDriverConfig;
+import com.framework.pages.LoginPage;
+import com.framework.pages.ProductsPage;
+import org.openqa.selenium.WebDriver;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Measures startup time and memory of each {@link BrowserProfile} for the configured browser.
+ * Every session starts, logs in to the application and idles briefly so the memory sampler sees
+ * its steady state, then quits. Sessions run one at a time so they do not skew each other.
+ * Usage: BrowserProfileBenchmark [sessions per profile] [profile,profile...]
+ * or ./mvn-wrapper.sh profile-benchmark [browser] [sessions].
+ */
+public class BrowserProfileBenchmark {
+    private static final int DEFAULT_SESSIONS = 3;
+    // Idle time on the products page, long enough for a few memory samples
+    private static final long SETTLE_MILLIS = 3000;
+    private static final long MB = 1024L * 1024L;
+
+    public static void main(String[] args) throws InterruptedException {
+        int sessions = args.length > 0 ? Math.max(1, Integer.parseInt(args[0])) : DEFAULT_SESSIONS;
+        List<BrowserProfile> profiles = new ArrayList<>();
+        if (args.length > 1) {
+            for (String name : args[1].split(",")) {
+                profiles.add(BrowserProfile.parse(name));
+            }
+        } else {
+            profiles.addAll(Arrays.asList(BrowserProfile.values()));
+        }
+
+        List<String> lines = new ArrayList<>();
+        for (BrowserProfile profile : profiles) {
+            long totalStartupMillis = 0;
+            long totalPeakBytes = 0;
+            long maxPeakBytes = 0;
+            for (int i = 0; i < sessions; i++) {
+                long[] measured = measure(profile);
+                System.out.printf("%s session %d: started in %d ms, peak %d MB%n",
+                        profile.getName(), i + 1, measured[0], measured[1] / MB);
+                totalStartupMillis += measured[0];
+                totalPeakBytes += measured[1];
+                maxPeakBytes = Math.max(maxPeakBytes, measured[1]);
+            }
+            long averagePeakBytes = totalPeakBytes / sessions;
+            lines.add(String.format("%-12s %10d %12d %12d %14s", profile.getName(), totalStartupMillis / sessions,
+                    averagePeakBytes / MB, maxPeakBytes / MB,
+                    averagePeakBytes > 0 ? String.valueOf(1024 * MB / averagePeakBytes) : "n/a"));
+        }
+
+        System.out.println();
+        System.out.println("Browser profiles (" + sessions + " session(s) each)");
+        System.out.printf("%-12s %10s %12s %12s %14s%n", "profile", "startup ms", "avg peak MB", "max peak MB", "sessions/GB");
+        lines.forEach(System.out::println);
+    }
+
+    /**
+     * Startup milliseconds and peak bytes of one session
+     */
+    private static long[] measure(BrowserProfile profile) throws InterruptedException {
+        BrowserMemoryMonitor.admit();
+        long startupMillis = 0;
+        long peakBytes;
+        try {
+            long start = System.nanoTime();
+            WebDriver driver = WebDriverConfig.createDriver(profile);
+            startupMillis = (System.nanoTime() - start) / 1_000_000;
+            try {
+                driver.get(EnvironmentConfig.getAppUrl());
+                LoginPage loginPage = new LoginPage(driver);
+                loginPage.login(EnvironmentConfig.getStandardUser(), EnvironmentConfig.getStandardPassword());
+                new ProductsPage(driver).waitUntilReady();
+                Thread.sleep(SETTLE_MILLIS);
+            } finally {
+                driver.quit();
+                ProfileTemplate.release();
+            }
+        } finally {
+            peakBytes = BrowserMemoryMonitor.release();
+        }
+        return new long[]{startupMillis, peakBytes};
+    }
+}
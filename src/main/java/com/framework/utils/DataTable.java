@@ -0,0 +1,242 @@
+package com.framework.utils;
+
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Read-only column-oriented table for data-driven tests.
+ * Headers are interned and stored once, each column is a single String array and
+ * repeated short values share one instance, so a row costs a few array slots instead
+ * of a HashMap with its own keys and entries. Rows are exposed as lightweight
+ * {@link Map} views for code written against {@code List<Map<String, String>>}.
+ */
+public class DataTable implements Iterable<Map<String, String>> {
+    private final String[] headers;
+    // Header -> column; with duplicate headers the last column wins, like HashMap.put did
+    private final Map<String, Integer> headerIndex;
+    // Columns backing the distinct keys of a row view, in header order
+    private final int[] keyColumns;
+    private final String[][] columns;
+    private final int rowCount;
+
+    private DataTable(String[] headers, String[][] columns, int rowCount) {
+        this.headers = headers;
+        this.columns = columns;
+        this.rowCount = rowCount;
+        this.headerIndex = new HashMap<>();
+        for (int i = 0; i < headers.length; i++) {
+            headerIndex.put(headers[i], i);
+        }
+        this.keyColumns = new int[headerIndex.size()];
+        int key = 0;
+        for (int i = 0; i < headers.length; i++) {
+            if (headerIndex.get(headers[i]) == i) {
+                keyColumns[key++] = i;
+            }
+        }
+    }
+
+    public static Builder builder(List<String> headers) {
+        return new Builder(headers);
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public List<String> getHeaders() {
+        return Collections.unmodifiableList(Arrays.asList(headers));
+    }
+
+    public boolean hasColumn(String header) {
+        return headerIndex.containsKey(header);
+    }
+
+    /**
+     * Value of a cell, or null if the table has no such column
+     */
+    public String getValue(int rowIndex, String header) {
+        Integer column = headerIndex.get(header);
+        if (rowIndex < 0 || rowIndex >= rowCount) {
+            throw new IndexOutOfBoundsException("Row " + rowIndex + " out of range, table has " + rowCount + " rows");
+        }
+        return column != null ? columns[column][rowIndex] : null;
+    }
+
+    /**
+     * All values of one column in row order
+     */
+    public List<String> getColumn(String header) {
+        Integer column = headerIndex.get(header);
+        if (column == null) {
+            throw new IllegalArgumentException("Column '" + header + "' not found");
+        }
+        return Collections.unmodifiableList(Arrays.asList(columns[column]));
+    }
+
+    /**
+     * Read-only map view of one row
+     */
+    public Map<String, String> getRow(int rowIndex) {
+        if (rowIndex < 0 || rowIndex >= rowCount) {
+            throw new IndexOutOfBoundsException("Row " + rowIndex + " out of range, table has " + rowCount + " rows");
+        }
+        return new RowView(rowIndex);
+    }
+
+    /**
+     * All rows as map views; views are created on access and hold no data of their own
+     */
+    public List<Map<String, String>> getRows() {
+        return new AbstractList<Map<String, String>>() {
+            @Override
+            public Map<String, String> get(int index) {
+                return getRow(index);
+            }
+
+            @Override
+            public int size() {
+                return rowCount;
+            }
+        };
+    }
+
+    /**
+     * Rows in the shape TestNG expects from a @DataProvider, one row map per invocation
+     */
+    public Object[][] toDataProvider() {
+        Object[][] data = new Object[rowCount][];
+        for (int i = 0; i < rowCount; i++) {
+            data[i] = new Object[]{new RowView(i)};
+        }
+        return data;
+    }
+
+    @Override
+    public Iterator<Map<String, String>> iterator() {
+        return getRows().iterator();
+    }
+
+    private class RowView extends AbstractMap<String, String> {
+        private final int rowIndex;
+
+        private RowView(int rowIndex) {
+            this.rowIndex = rowIndex;
+        }
+
+        @Override
+        public String get(Object key) {
+            Integer column = headerIndex.get(key);
+            return column != null ? columns[column][rowIndex] : null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return headerIndex.containsKey(key);
+        }
+
+        @Override
+        public int size() {
+            return keyColumns.length;
+        }
+
+        @Override
+        public Set<Entry<String, String>> entrySet() {
+            return new AbstractSet<Entry<String, String>>() {
+                @Override
+                public Iterator<Entry<String, String>> iterator() {
+                    return new Iterator<Entry<String, String>>() {
+                        private int next;
+
+                        @Override
+                        public boolean hasNext() {
+                            return next < keyColumns.length;
+                        }
+
+                        @Override
+                        public Entry<String, String> next() {
+                            if (!hasNext()) {
+                                throw new NoSuchElementException();
+                            }
+                            int column = keyColumns[next++];
+                            return new SimpleImmutableEntry<>(headers[column], columns[column][rowIndex]);
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return keyColumns.length;
+                }
+            };
+        }
+    }
+
+    /**
+     * Accumulates rows column by column; not thread-safe
+     */
+    public static class Builder {
+        private static final int MAX_SHARED_VALUE_LENGTH = 64;
+
+        private final String[] headers;
+        private String[][] columns;
+        private int rowCount;
+        // Repeated short values (user names, flags, product names) are stored once
+        private final Map<String, String> sharedValues = new HashMap<>();
+
+        private Builder(List<String> headers) {
+            this.headers = new String[headers.size()];
+            for (int i = 0; i < this.headers.length; i++) {
+                String header = headers.get(i);
+                this.headers[i] = header != null ? header.intern() : null;
+            }
+            this.columns = new String[this.headers.length][16];
+        }
+
+        /**
+         * Append a row; missing trailing values are stored as empty strings
+         */
+        public Builder addRow(String... values) {
+            if (rowCount == capacity()) {
+                for (int i = 0; i < columns.length; i++) {
+                    columns[i] = Arrays.copyOf(columns[i], rowCount * 2);
+                }
+            }
+            for (int i = 0; i < columns.length; i++) {
+                String value = i < values.length && values[i] != null ? values[i] : "";
+                columns[i][rowCount] = share(value);
+            }
+            rowCount++;
+            return this;
+        }
+
+        public DataTable build() {
+            String[][] trimmed = new String[columns.length][];
+            for (int i = 0; i < columns.length; i++) {
+                trimmed[i] = Arrays.copyOf(columns[i], rowCount);
+            }
+            return new DataTable(headers, trimmed, rowCount);
+        }
+
+        private int capacity() {
+            return columns.length > 0 ? columns[0].length : Integer.MAX_VALUE;
+        }
+
+        private String share(String value) {
+            if (value.length() > MAX_SHARED_VALUE_LENGTH) {
+                return value;
+            }
+            String shared = sharedValues.putIfAbsent(value, value);
+            return shared != null ? shared : value;
+        }
+    }
+}
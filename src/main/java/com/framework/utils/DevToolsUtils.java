@@ -0,0 +1,54 @@
+package com.framework.utils;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Version-independent access to the Chrome DevTools Protocol.
+ * Commands and events are exchanged as plain maps, so the framework does not
+ * depend on a specific selenium-devtools-vNNN module matching the browser.
+ */
+public class DevToolsUtils {
+
+    /**
+     * Get a DevTools session for the driver, or null if the browser does not support it
+     */
+    public static DevTools getDevTools(WebDriver driver) {
+        if (!(driver instanceof HasDevTools)) {
+            return null;
+        }
+        try {
+            Optional<DevTools> devTools = ((HasDevTools) driver).maybeGetDevTools();
+            if (devTools.isEmpty()) {
+                return null;
+            }
+            devTools.get().createSessionIfThereIsNotOne();
+            return devTools.get();
+        } catch (Exception e) {
+            System.err.println("Warning: DevTools session not available: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Send a CDP command and return its result
+     */
+    public static Map<String, Object> send(DevTools devTools, String method, Map<String, Object> params) {
+        return devTools.send(new Command<Map<String, Object>>(method, params, Json.MAP_TYPE));
+    }
+
+    /**
+     * Register a handler for a CDP event
+     */
+    public static void addListener(DevTools devTools, String event, Consumer<Map<String, Object>> handler) {
+        devTools.addListener(new Event<Map<String, Object>>(event, input -> input.read(Json.MAP_TYPE)), handler);
+    }
+}
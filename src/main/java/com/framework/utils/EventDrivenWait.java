@@ -0,0 +1,164 @@
+package com.framework.utils;
+
+import com.framework.config.EnvironmentConfig;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.support.ui.Sleeper;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Waits that re-check their condition when the page changes instead of every 500 ms.
+ * Each session gets a DevTools binding and a script, installed in every document, that reports
+ * DOM mutations, resource loads, started and finished transitions and animations, and elements
+ * entering or leaving the viewport (an IntersectionObserver on up to MAX_OBSERVED elements)
+ * through it, coalesced to one message per task. A wait evaluates its condition, then sleeps
+ * until the next such message, so it resolves a few milliseconds after the page makes it true
+ * and sends no commands while the page is idle. The 500 ms poll of a plain WebDriverWait remains
+ * for changes the page does not announce, such as layout. Sessions without DevTools, and all
+ * sessions with EVENT_DRIVEN_WAITS=false, only poll.
+ */
+public class EventDrivenWait {
+    private static final String BINDING = "__frameworkWaitNotify";
+    // Re-check interval for changes no event reports, no slower than WebDriverWait's own polling
+    private static final Duration SAFETY_POLL = Duration.ofMillis(500);
+    // Elements watched for visibility changes, so a large DOM does not slow the page down
+    private static final int MAX_OBSERVED = 2000;
+    private static final String OBSERVER_SCRIPT = "(function () {"
+            + "  if (window.__frameworkWaitObserver || typeof window." + BINDING + " !== 'function') { return; }"
+            + "  var scheduled = false;"
+            + "  var signal = function () {"
+            + "    if (scheduled) { return; }"
+            + "    scheduled = true;"
+            + "    setTimeout(function () { scheduled = false; try { window." + BINDING + "(''); } catch (e) { } }, 0);"
+            + "  };"
+            + "  var observed = 0;"
+            + "  var intersections = typeof IntersectionObserver === 'function' ? new IntersectionObserver(signal) : null;"
+            + "  var watch = function (node) {"
+            + "    if (!intersections || node.nodeType !== 1 || observed >= " + MAX_OBSERVED + ") { return; }"
+            + "    var elements = [node].concat(Array.prototype.slice.call(node.getElementsByTagName('*')));"
+            + "    for (var i = 0; i < elements.length && observed < " + MAX_OBSERVED + "; i++, observed++) {"
+            + "      intersections.observe(elements[i]);"
+            + "    }"
+            + "  };"
+            + "  window.__frameworkWaitObserver = new MutationObserver(function (records) {"
+            + "    for (var i = 0; i < records.length; i++) {"
+            + "      for (var j = 0; j < records[i].addedNodes.length; j++) { watch(records[i].addedNodes[j]); }"
+            + "    }"
+            + "    signal();"
+            + "  });"
+            + "  window.__frameworkWaitObserver.observe(document, {subtree: true, childList: true, attributes: true, characterData: true});"
+            + "  if (document.documentElement) { watch(document.documentElement); }"
+            + "  ['DOMContentLoaded', 'load', 'transitionstart', 'transitionend', 'transitioncancel',"
+            + "   'animationstart', 'animationend', 'animationcancel'].forEach(function (type) {"
+            + "    window.addEventListener(type, signal, true);"
+            + "  });"
+            + "  signal();"
+            + "})();";
+
+    private static final Map<WebDriver, Session> sessions = new ConcurrentHashMap<>();
+
+    private static class Session {
+        private long changes;
+
+        private synchronized void signal() {
+            changes++;
+            notifyAll();
+        }
+
+        private synchronized long getChanges() {
+            return changes;
+        }
+
+        /**
+         * Wait until there are changes beyond the ones already seen, at most the given time
+         */
+        private synchronized long awaitChange(long seen, Duration timeout) throws InterruptedException {
+            long deadline = System.nanoTime() + timeout.toNanos();
+            long remaining = timeout.toMillis();
+            while (changes == seen && remaining > 0) {
+                wait(remaining);
+                remaining = (deadline - System.nanoTime()) / 1_000_000;
+            }
+            return changes;
+        }
+    }
+
+    /**
+     * Sleeps between evaluations until the page reports a change. Changes that arrive while the
+     * condition is being evaluated end the next sleep at once, so none are missed.
+     */
+    private static class ChangeSleeper implements Sleeper {
+        private final Session session;
+        private long seen;
+
+        private ChangeSleeper(Session session) {
+            this.session = session;
+            this.seen = session.getChanges();
+        }
+
+        @Override
+        public void sleep(Duration duration) throws InterruptedException {
+            seen = session.awaitChange(seen, duration);
+        }
+    }
+
+    /**
+     * Start reporting page changes for a new session if the browser supports DevTools
+     */
+    public static void start(WebDriver driver) {
+        if (!EnvironmentConfig.isEventDrivenWaitsEnabled()) {
+            return;
+        }
+        DevTools devTools = DevToolsUtils.getDevTools(driver);
+        if (devTools == null) {
+            return;
+        }
+        Session session = new Session();
+        try {
+            DevToolsUtils.addListener(devTools, "Runtime.bindingCalled", event -> {
+                if (BINDING.equals(event.get("name"))) {
+                    session.signal();
+                }
+            });
+            DevToolsUtils.send(devTools, "Runtime.enable", new HashMap<>());
+            DevToolsUtils.send(devTools, "Page.enable", new HashMap<>());
+            Map<String, Object> binding = new HashMap<>();
+            binding.put("name", BINDING);
+            DevToolsUtils.send(devTools, "Runtime.addBinding", binding);
+            Map<String, Object> script = new HashMap<>();
+            script.put("source", OBSERVER_SCRIPT);
+            DevToolsUtils.send(devTools, "Page.addScriptToEvaluateOnNewDocument", script);
+            Map<String, Object> evaluate = new HashMap<>();
+            evaluate.put("expression", OBSERVER_SCRIPT);
+            DevToolsUtils.send(devTools, "Runtime.evaluate", evaluate);
+            sessions.put(driver, session);
+        } catch (Exception e) {
+            System.err.println("Warning: Event-driven waits not available, polling instead: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Forget a session that is about to quit
+     */
+    public static void stop(WebDriver driver) {
+        sessions.remove(driver);
+    }
+
+    /**
+     * A wait for the driver that wakes on page changes, or a polling WebDriverWait if the
+     * session does not report them
+     */
+    public static WebDriverWait create(WebDriver driver, Duration timeout) {
+        Session session = sessions.get(driver);
+        if (session == null) {
+            return new WebDriverWait(driver, timeout);
+        }
+        return new WebDriverWait(driver, timeout, SAFETY_POLL, Clock.systemDefaultZone(), new ChangeSleeper(session));
+    }
+}
@@ -0,0 +1,105 @@
+package com.framework.utils;
+
+import org.apache.poi.ss.usermodel.DateUtil;
+
+import java.util.Date;
+
+/**
+ * Typed value of a single cell produced by the streaming Excel reader.
+ * Formula cells carry the type of their cached result plus the formula text.
+ */
+public class ExcelCell {
+
+    public enum Type {
+        STRING, NUMERIC, DATE, BOOLEAN, ERROR, BLANK
+    }
+
+    static final ExcelCell BLANK = new ExcelCell(Type.BLANK, "", 0, null);
+
+    private final Type type;
+    private final String text;
+    private final double number;
+    private final String formula;
+
+    ExcelCell(Type type, String text, double number, String formula) {
+        this.type = type;
+        this.text = text;
+        this.number = number;
+        this.formula = formula;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public boolean isBlank() {
+        return type == Type.BLANK;
+    }
+
+    /**
+     * String form of the cell, matching what ExcelUtils has always returned:
+     * numbers truncated to whole values, dates as Date.toString() and formulas as their text
+     */
+    public String getString() {
+        if (formula != null) {
+            return formula;
+        }
+        switch (type) {
+            case STRING:
+                return text;
+            case NUMERIC:
+                return String.valueOf((long) number);
+            case DATE:
+                return getDate().toString();
+            case BOOLEAN:
+                return String.valueOf(getBoolean());
+            default:
+                return "";
+        }
+    }
+
+    /**
+     * Raw text of the value as stored in the sheet
+     */
+    public String getRawText() {
+        return text;
+    }
+
+    public double getNumber() {
+        if (type != Type.NUMERIC && type != Type.DATE) {
+            throw new IllegalStateException("Cell is not numeric: " + type);
+        }
+        return number;
+    }
+
+    public long getLong() {
+        return (long) getNumber();
+    }
+
+    public boolean getBoolean() {
+        if (type != Type.BOOLEAN) {
+            throw new IllegalStateException("Cell is not boolean: " + type);
+        }
+        return "1".equals(text) || "true".equalsIgnoreCase(text);
+    }
+
+    public Date getDate() {
+        if (type != Type.DATE) {
+            throw new IllegalStateException("Cell is not a date: " + type);
+        }
+        return DateUtil.getJavaDate(number);
+    }
+
+    public boolean isFormula() {
+        return formula != null;
+    }
+
+    public String getFormula() {
+        return formula;
+    }
+
+    @Override
+    public String toString() {
+        return getString();
+    }
+}
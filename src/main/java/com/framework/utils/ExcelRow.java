@@ -0,0 +1,66 @@
+package com.framework.utils;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One data row of a sheet read by {@link ExcelStreamReader}, with cells addressable
+ * by column index or header name.
+ */
+public class ExcelRow {
+    private final int rowNum;
+    private final List<String> headers;
+    private final Map<String, Integer> headerIndex;
+    private final ExcelCell[] cells;
+
+    ExcelRow(int rowNum, List<String> headers, Map<String, Integer> headerIndex, ExcelCell[] cells) {
+        this.rowNum = rowNum;
+        this.headers = headers;
+        this.headerIndex = headerIndex;
+        this.cells = cells;
+    }
+
+    /**
+     * Zero-based row number in the sheet (the header is row 0)
+     */
+    public int getRowNum() {
+        return rowNum;
+    }
+
+    public List<String> getHeaders() {
+        return headers;
+    }
+
+    public int getCellCount() {
+        return cells.length;
+    }
+
+    public ExcelCell getCell(int columnIndex) {
+        ExcelCell cell = columnIndex < cells.length ? cells[columnIndex] : null;
+        return cell != null ? cell : ExcelCell.BLANK;
+    }
+
+    public ExcelCell getCell(String header) {
+        Integer index = headerIndex.get(header);
+        if (index == null) {
+            throw new IllegalArgumentException("Column '" + header + "' not found; available: " + headers);
+        }
+        return getCell(index);
+    }
+
+    public String getString(String header) {
+        return getCell(header).getString();
+    }
+
+    /**
+     * Row as a header-to-value map, in the same shape as ExcelUtils.readExcelData rows
+     */
+    public Map<String, String> toMap() {
+        Map<String, String> rowData = new HashMap<>();
+        for (int i = 0; i < headers.size(); i++) {
+            rowData.put(headers.get(i), getCell(i).getString());
+        }
+        return rowData;
+    }
+}
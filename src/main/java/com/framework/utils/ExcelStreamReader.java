@@ -0,0 +1,425 @@
+package com.framework.utils;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.formula.FormulaParser;
+import org.apache.poi.ss.formula.FormulaRenderer;
+import org.apache.poi.ss.formula.FormulaType;
+import org.apache.poi.ss.formula.ptg.AreaPtgBase;
+import org.apache.poi.ss.formula.ptg.Ptg;
+import org.apache.poi.ss.formula.ptg.RefPtgBase;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.SharedStrings;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.apache.poi.xssf.usermodel.XSSFEvaluationWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streaming reader for .xlsx sheets built on the XSSF event (SAX) model.
+ * Rows are parsed and handed to the caller one at a time, so memory stays flat
+ * regardless of sheet size, and reading stops as soon as the handler asks it to.
+ * By default the first row of the sheet is treated as the header.
+ */
+public class ExcelStreamReader {
+
+    /**
+     * Receives data rows in sheet order
+     */
+    public interface RowHandler {
+        /**
+         * @return true to keep reading, false to stop
+         */
+        boolean onRow(ExcelRow row);
+    }
+
+    /**
+     * Stream the data rows of a sheet to the handler
+     */
+    public static void read(String filePath, String sheetName, RowHandler handler) {
+        read(filePath, sheetName, true, handler);
+    }
+
+    /**
+     * Stream every row of a sheet, header included, with all of its cells
+     */
+    public static void readAllRows(String filePath, String sheetName, RowHandler handler) {
+        read(filePath, sheetName, false, handler);
+    }
+
+    private static void read(String filePath, String sheetName, boolean firstRowIsHeader, RowHandler handler) {
+        try (OPCPackage pkg = OPCPackage.open(new File(filePath), PackageAccess.READ)) {
+            XSSFReader reader = new XSSFReader(pkg);
+            SharedStrings sharedStrings = new ReadOnlySharedStringsTable(pkg, false);
+            StylesTable styles = reader.getStylesTable();
+
+            XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+            int sheetIndex = -1;
+            while (sheets.hasNext()) {
+                sheetIndex++;
+                try (InputStream sheet = sheets.next()) {
+                    if (!sheets.getSheetName().equals(sheetName)) {
+                        continue;
+                    }
+                    SheetHandler sheetHandler = new SheetHandler(sharedStrings, styles, handler, sheetName, firstRowIsHeader,
+                            reader, sheetIndex);
+                    XMLReader parser = XMLHelper.newXMLReader();
+                    parser.setContentHandler(sheetHandler);
+                    try {
+                        parser.parse(new InputSource(sheet));
+                    } catch (StopReading e) {
+                        // Handler asked to stop early
+                    } finally {
+                        sheetHandler.close();
+                    }
+                    if (firstRowIsHeader && !sheetHandler.headerSeen) {
+                        throw new RuntimeException("Header row not found in sheet '" + sheetName + "'");
+                    }
+                    return;
+                }
+            }
+            throw new RuntimeException("Sheet '" + sheetName + "' not found in file '" + filePath + "'");
+        } catch (IOException | SAXException | ParserConfigurationException | OpenXML4JException e) {
+            throw new RuntimeException("Error reading Excel file: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Names of the sheets of a workbook in workbook order
+     */
+    static List<String> listSheetNames(String filePath) {
+        try (OPCPackage pkg = OPCPackage.open(new File(filePath), PackageAccess.READ)) {
+            return listSheetNames(new XSSFReader(pkg));
+        } catch (IOException | OpenXML4JException e) {
+            throw new RuntimeException("Error reading Excel file: " + e.getMessage(), e);
+        }
+    }
+
+    private static List<String> listSheetNames(XSSFReader reader) throws IOException, OpenXML4JException {
+        List<String> names = new ArrayList<>();
+        XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+        while (sheets.hasNext()) {
+            sheets.next().close();
+            names.add(sheets.getSheetName());
+        }
+        return names;
+    }
+
+    private static class StopReading extends SAXException {
+        private static final long serialVersionUID = 1L;
+
+        StopReading() {
+            super("Reading stopped by row handler");
+        }
+    }
+
+    /**
+     * Parses sheet XML: rows of &lt;c r="A1" s="style" t="type"&gt; cells holding &lt;v&gt;, &lt;f&gt; or &lt;is&gt;&lt;t&gt;
+     */
+    private static class SheetHandler extends DefaultHandler {
+        private final SharedStrings sharedStrings;
+        private final StylesTable styles;
+        private final RowHandler handler;
+        private final String sheetName;
+        private final boolean firstRowIsHeader;
+        private final XSSFReader reader;
+        private final int sheetIndex;
+
+        private List<String> headers;
+        private Map<String, Integer> headerIndex;
+        private boolean headerSeen;
+
+        private int rowNum;
+        private final List<ExcelCell> rowCells = new ArrayList<>();
+        private int column;
+        private String cellType;
+        private int styleIndex;
+        private final StringBuilder value = new StringBuilder();
+        private final StringBuilder formula = new StringBuilder();
+        private boolean hasFormula;
+        private boolean inValue;
+        private boolean inFormula;
+        private boolean inInlineText;
+
+        // Shared formulas: group index -> formula and the cell its references are relative to
+        private String sharedIndex;
+        private String sharedRange;
+        private final Map<String, SharedFormulaGroup> sharedFormulas = new HashMap<>();
+        // Blank workbook with this file's sheet names, created for the first shared formula to expand
+        private XSSFWorkbook formulaWorkbook;
+
+        SheetHandler(SharedStrings sharedStrings, StylesTable styles, RowHandler handler, String sheetName,
+                     boolean firstRowIsHeader, XSSFReader reader, int sheetIndex) {
+            this.sharedStrings = sharedStrings;
+            this.styles = styles;
+            this.handler = handler;
+            this.sheetName = sheetName;
+            this.firstRowIsHeader = firstRowIsHeader;
+            this.reader = reader;
+            this.sheetIndex = sheetIndex;
+            if (!firstRowIsHeader) {
+                this.headers = Collections.emptyList();
+                this.headerIndex = Collections.emptyMap();
+            }
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            switch (localName) {
+                case "row":
+                    String r = attributes.getValue("r");
+                    rowNum = r != null ? Integer.parseInt(r) - 1 : rowNum + 1;
+                    rowCells.clear();
+                    column = -1;
+                    break;
+                case "c":
+                    String reference = attributes.getValue("r");
+                    column = reference != null ? new CellReference(reference).getCol() : column + 1;
+                    cellType = attributes.getValue("t");
+                    String style = attributes.getValue("s");
+                    styleIndex = style != null ? Integer.parseInt(style) : -1;
+                    value.setLength(0);
+                    formula.setLength(0);
+                    hasFormula = false;
+                    sharedIndex = null;
+                    sharedRange = null;
+                    break;
+                case "v":
+                    inValue = true;
+                    break;
+                case "f":
+                    inFormula = true;
+                    hasFormula = true;
+                    if ("shared".equals(attributes.getValue("t"))) {
+                        sharedIndex = attributes.getValue("si");
+                        sharedRange = attributes.getValue("ref");
+                    }
+                    break;
+                case "t":
+                    inInlineText = "inlineStr".equals(cellType);
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (inValue || inInlineText) {
+                value.append(ch, start, length);
+            } else if (inFormula) {
+                formula.append(ch, start, length);
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) throws SAXException {
+            switch (localName) {
+                case "v":
+                    inValue = false;
+                    break;
+                case "f":
+                    inFormula = false;
+                    break;
+                case "t":
+                    inInlineText = false;
+                    break;
+                case "c":
+                    while (rowCells.size() < column) {
+                        rowCells.add(null);
+                    }
+                    rowCells.add(toCell());
+                    break;
+                case "row":
+                    endRow();
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        private void endRow() throws SAXException {
+            if (!firstRowIsHeader) {
+                ExcelCell[] cells = rowCells.toArray(new ExcelCell[0]);
+                if (!handler.onRow(new ExcelRow(rowNum, headers, headerIndex, cells))) {
+                    throw new StopReading();
+                }
+                return;
+            }
+            if (!headerSeen) {
+                if (rowNum != 0) {
+                    throw new RuntimeException("Header row not found in sheet '" + sheetName + "'");
+                }
+                List<String> names = new ArrayList<>(rowCells.size());
+                Map<String, Integer> index = new HashMap<>();
+                for (int i = 0; i < rowCells.size(); i++) {
+                    ExcelCell cell = rowCells.get(i);
+                    String name = cell != null ? cell.getString() : null;
+                    names.add(name);
+                    if (name != null) {
+                        index.putIfAbsent(name, i);
+                    }
+                }
+                headers = Collections.unmodifiableList(names);
+                headerIndex = index;
+                headerSeen = true;
+                return;
+            }
+
+            ExcelCell[] cells = new ExcelCell[headers.size()];
+            for (int i = 0; i < cells.length && i < rowCells.size(); i++) {
+                cells[i] = rowCells.get(i);
+            }
+            if (!handler.onRow(new ExcelRow(rowNum, headers, headerIndex, cells))) {
+                throw new StopReading();
+            }
+        }
+
+        private ExcelCell toCell() throws SAXException {
+            String text = value.toString();
+            String formulaText = hasFormula && formula.length() > 0 ? formula.toString() : null;
+            if (sharedIndex != null) {
+                formulaText = resolveSharedFormula(formulaText);
+            }
+            if ("s".equals(cellType)) {
+                String shared = text.isEmpty() ? "" : sharedStrings.getItemAt(Integer.parseInt(text)).getString();
+                return new ExcelCell(ExcelCell.Type.STRING, shared, 0, formulaText);
+            }
+            if ("inlineStr".equals(cellType) || "str".equals(cellType)) {
+                return new ExcelCell(ExcelCell.Type.STRING, text, 0, formulaText);
+            }
+            if ("b".equals(cellType)) {
+                return new ExcelCell(ExcelCell.Type.BOOLEAN, text, 0, formulaText);
+            }
+            if ("e".equals(cellType)) {
+                return new ExcelCell(ExcelCell.Type.ERROR, text, 0, formulaText);
+            }
+            if (text.isEmpty()) {
+                return formulaText != null ? new ExcelCell(ExcelCell.Type.BLANK, "", 0, formulaText) : ExcelCell.BLANK;
+            }
+            double number = Double.parseDouble(text);
+            ExcelCell.Type type = isDateStyle() && DateUtil.isValidExcelDate(number)
+                    ? ExcelCell.Type.DATE
+                    : ExcelCell.Type.NUMERIC;
+            return new ExcelCell(type, text, number, formulaText);
+        }
+
+        /**
+         * The first cell of a shared formula group holds the formula, the others only its group
+         * index; give every cell of the group its own formula with the references shifted
+         */
+        private String resolveSharedFormula(String formulaText) throws SAXException {
+            if (formulaText != null) {
+                CellReference origin = sharedRange != null
+                        ? new CellReference(sharedRange.split(":")[0])
+                        : new CellReference(rowNum, column);
+                sharedFormulas.put(sharedIndex, new SharedFormulaGroup(formulaText, origin.getRow(), origin.getCol()));
+                return formulaText;
+            }
+            SharedFormulaGroup group = sharedFormulas.get(sharedIndex);
+            if (group == null) {
+                return null;
+            }
+            try {
+                if (formulaWorkbook == null) {
+                    formulaWorkbook = new XSSFWorkbook();
+                    for (String name : listSheetNames(reader)) {
+                        formulaWorkbook.createSheet(name);
+                    }
+                }
+                XSSFEvaluationWorkbook evaluationWorkbook = XSSFEvaluationWorkbook.create(formulaWorkbook);
+                Ptg[] ptgs = FormulaParser.parse(group.formula, evaluationWorkbook, FormulaType.CELL, sheetIndex, group.row);
+                for (Ptg ptg : ptgs) {
+                    shift(ptg, rowNum - group.row, column - group.column);
+                }
+                return FormulaRenderer.toFormulaString(evaluationWorkbook, ptgs);
+            } catch (IOException | OpenXML4JException e) {
+                throw new SAXException("Failed to expand shared formula: " + e.getMessage(), e);
+            }
+        }
+
+        /**
+         * Move the relative parts of a reference; unlike SharedFormula this keeps sheet-qualified
+         * references (Ref3DPxg, Area3DPxg) intact
+         */
+        private static void shift(Ptg ptg, int rows, int columns) {
+            if (ptg instanceof RefPtgBase) {
+                RefPtgBase ref = (RefPtgBase) ptg;
+                if (ref.isRowRelative()) {
+                    ref.setRow(wrap(ref.getRow() + rows, SpreadsheetVersion.EXCEL2007.getLastRowIndex()));
+                }
+                if (ref.isColRelative()) {
+                    ref.setColumn(wrap(ref.getColumn() + columns, SpreadsheetVersion.EXCEL2007.getLastColumnIndex()));
+                }
+            } else if (ptg instanceof AreaPtgBase) {
+                AreaPtgBase area = (AreaPtgBase) ptg;
+                int lastRow = SpreadsheetVersion.EXCEL2007.getLastRowIndex();
+                int lastColumn = SpreadsheetVersion.EXCEL2007.getLastColumnIndex();
+                if (area.isFirstRowRelative()) {
+                    area.setFirstRow(wrap(area.getFirstRow() + rows, lastRow));
+                }
+                if (area.isLastRowRelative()) {
+                    area.setLastRow(wrap(area.getLastRow() + rows, lastRow));
+                }
+                if (area.isFirstColRelative()) {
+                    area.setFirstColumn(wrap(area.getFirstColumn() + columns, lastColumn));
+                }
+                if (area.isLastColRelative()) {
+                    area.setLastColumn(wrap(area.getLastColumn() + columns, lastColumn));
+                }
+            }
+        }
+
+        // Excel wraps relative references around the sheet edges
+        private static int wrap(int index, int lastIndex) {
+            return index & lastIndex;
+        }
+
+        private void close() throws IOException {
+            if (formulaWorkbook != null) {
+                formulaWorkbook.close();
+            }
+        }
+
+        private boolean isDateStyle() {
+            if (styleIndex < 0 || styles == null) {
+                return false;
+            }
+            XSSFCellStyle style = styles.getStyleAt(styleIndex);
+            return style != null && DateUtil.isADateFormat(style.getDataFormat(), style.getDataFormatString());
+        }
+    }
+
+    private static class SharedFormulaGroup {
+        private final String formula;
+        private final int row;
+        private final int column;
+
+        private SharedFormulaGroup(String formula, int row, int column) {
+            this.formula = formula;
+            this.row = row;
+            this.column = column;
+        }
+    }
+}
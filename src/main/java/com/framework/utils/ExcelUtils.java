@@ -1,64 +1,77 @@
 package com.framework.utils;
 
 import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
 public class ExcelUtils {
     private static final String TEST_DATA_PATH = "src/test/resources/testdata/";
 
+    /**
+     * Read all data rows of a sheet as header-to-value maps the caller may modify.
+     * Use {@link #readExcelDataView} to avoid the copies, or streaming for very large sheets.
+     */
     public static List<Map<String, String>> readExcelData(String fileName, String sheetName) {
         List<Map<String, String>> dataList = new ArrayList<>();
-        
-        try (FileInputStream fis = new FileInputStream(TEST_DATA_PATH + fileName);
-             Workbook workbook = new XSSFWorkbook(fis)) {
-            
-            Sheet sheet = workbook.getSheet(sheetName);
-            if (sheet == null) {
-                throw new RuntimeException("Sheet '" + sheetName + "' not found in file '" + fileName + "'");
-            }
+        for (Map<String, String> row : readExcelTable(fileName, sheetName)) {
+            dataList.add(new HashMap<>(row));
+        }
+        return dataList;
+    }
 
-            // Get header row
-            Row headerRow = sheet.getRow(0);
-            if (headerRow == null) {
-                throw new RuntimeException("Header row not found in sheet '" + sheetName + "'");
-            }
+    /**
+     * Read all data rows of a sheet as read-only header-to-value views over a {@link DataTable}
+     */
+    public static List<Map<String, String>> readExcelDataView(String fileName, String sheetName) {
+        return readExcelTable(fileName, sheetName).getRows();
+    }
 
-            // Create column mapping
-            Map<Integer, String> columnMap = new HashMap<>();
-            for (int i = 0; i < headerRow.getLastCellNum(); i++) {
-                Cell cell = headerRow.getCell(i);
-                if (cell != null) {
-                    columnMap.put(i, getCellValueAsString(cell));
+    /**
+     * Read all data rows of a sheet into a compact column-oriented table.
+     * The rows come from the {@link TestDataCache} mapping while it is fresh, else from the workbook.
+     */
+    public static DataTable readExcelTable(String fileName, String sheetName) {
+        TestDataCache.Table cached = TestDataCache.getFreshTable(TEST_DATA_PATH + fileName, sheetName);
+        if (cached != null && cached.hasHeaderRow()) {
+            DataTable.Builder table = DataTable.builder(cached.getHeaders());
+            for (int row = 0; row < cached.getRowCount(); row++) {
+                String[] values = new String[cached.getHeaders().size()];
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = cached.getValue(row, i);
                 }
+                table.addRow(values);
             }
+            return table.build();
+        }
 
-            // Read data rows
-            for (int i = 1; i <= sheet.getLastRowNum(); i++) {
-                Row row = sheet.getRow(i);
-                if (row != null) {
-                    Map<String, String> rowData = new HashMap<>();
-                    for (int j = 0; j < headerRow.getLastCellNum(); j++) {
-                        Cell cell = row.getCell(j);
-                        String columnName = columnMap.get(j);
-                        String cellValue = cell != null ? getCellValueAsString(cell) : "";
-                        rowData.put(columnName, cellValue);
-                    }
-                    dataList.add(rowData);
-                }
+        DataTable.Builder[] builder = new DataTable.Builder[1];
+        streamExcelData(fileName, sheetName, row -> {
+            if (builder[0] == null) {
+                builder[0] = DataTable.builder(row.getHeaders());
             }
-        } catch (IOException e) {
-            throw new RuntimeException("Error reading Excel file: " + e.getMessage(), e);
-        }
-        
-        return dataList;
+            String[] values = new String[row.getCellCount()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = row.getCell(i).getString();
+            }
+            builder[0].addRow(values);
+            return true;
+        });
+        return builder[0] != null ? builder[0].build() : DataTable.builder(Collections.emptyList()).build();
+    }
+
+    /**
+     * Stream the data rows of a sheet without loading the workbook; return false from the handler to stop
+     */
+    public static void streamExcelData(String fileName, String sheetName, ExcelStreamReader.RowHandler handler) {
+        ExcelStreamReader.read(TEST_DATA_PATH + fileName, sheetName, handler);
     }
 
     public static void writeExcelData(String fileName, String sheetName, List<Map<String, String>> data) {
@@ -87,68 +100,66 @@ public class ExcelUtils {
                 }
             }
 
-            // Write to file
-            try (FileOutputStream fos = new FileOutputStream(TEST_DATA_PATH + fileName)) {
-                workbook.write(fos);
-            }
+            // Write to a temporary file and move it into place
+            ExcelWriteSession.writeAtomically(TEST_DATA_PATH + fileName, workbook);
         } catch (IOException e) {
             throw new RuntimeException("Error writing Excel file: " + e.getMessage(), e);
         }
     }
 
-    private static String getCellValueAsString(Cell cell) {
-        switch (cell.getCellType()) {
-            case STRING:
-                return cell.getStringCellValue();
-            case NUMERIC:
-                if (DateUtil.isCellDateFormatted(cell)) {
-                    return cell.getDateCellValue().toString();
-                } else {
-                    return String.valueOf((long) cell.getNumericCellValue());
+    /**
+     * Write a sheet row by row without holding it in memory; formats are not applied.
+     * The workbook is replaced atomically once all rows are written.
+     */
+    public static void writeExcelRows(String fileName, String sheetName, List<String> headers, Iterator<String[]> rows) {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(100);
+        try {
+            workbook.setCompressTempFiles(true);
+            Sheet sheet = workbook.createSheet(sheetName);
+            Row headerRow = sheet.createRow(0);
+            for (int i = 0; i < headers.size(); i++) {
+                headerRow.createCell(i).setCellValue(headers.get(i));
+            }
+            int rowIndex = 1;
+            while (rows.hasNext()) {
+                String[] values = rows.next();
+                Row row = sheet.createRow(rowIndex++);
+                for (int i = 0; i < values.length; i++) {
+                    row.createCell(i).setCellValue(values[i] != null ? values[i] : "");
                 }
-            case BOOLEAN:
-                return String.valueOf(cell.getBooleanCellValue());
-            case FORMULA:
-                return cell.getCellFormula();
-            default:
-                return "";
+            }
+            ExcelWriteSession.writeAtomically(TEST_DATA_PATH + fileName, workbook);
+        } finally {
+            workbook.dispose();
+            try {
+                workbook.close();
+            } catch (IOException e) {
+                System.err.println("Warning: Failed to close workbook " + fileName + ": " + e.getMessage());
+            }
         }
     }
 
+    /**
+     * Read one cell; the sheet is parsed once and served from {@link WorkbookCache} until the file changes
+     */
     public static String getCellValue(String fileName, String sheetName, int rowNum, int colNum) {
-        try (FileInputStream fis = new FileInputStream(TEST_DATA_PATH + fileName);
-             Workbook workbook = new XSSFWorkbook(fis)) {
-            
-            Sheet sheet = workbook.getSheet(sheetName);
-            Row row = sheet.getRow(rowNum);
-            Cell cell = row.getCell(colNum);
-            
-            return getCellValueAsString(cell);
-        } catch (IOException e) {
-            throw new RuntimeException("Error reading cell value: " + e.getMessage(), e);
-        }
+        return WorkbookCache.getSheet(TEST_DATA_PATH + fileName, sheetName).getCellValue(rowNum, colNum);
     }
 
+    /**
+     * Write one cell right away; concurrent callers on the same file are batched into one atomic write.
+     * Use {@link #queueCellValue} to defer the write until the end of the test run.
+     */
     public static void setCellValue(String fileName, String sheetName, int rowNum, int colNum, String value) {
-        try (FileInputStream fis = new FileInputStream(TEST_DATA_PATH + fileName);
-             Workbook workbook = new XSSFWorkbook(fis);
-             FileOutputStream fos = new FileOutputStream(TEST_DATA_PATH + fileName)) {
-            
-            Sheet sheet = workbook.getSheet(sheetName);
-            Row row = sheet.getRow(rowNum);
-            if (row == null) {
-                row = sheet.createRow(rowNum);
-            }
-            
-            Cell cell = row.getCell(colNum);
-            if (cell == null) {
-                cell = row.createCell(colNum);
-            }
-            
-            cell.setCellValue(value);
-            workbook.write(fos);
-        } catch (IOException e) {
-            throw new RuntimeException("Error setting cell value: " + e.getMessage(), e);
-        }
+        ExcelWriteSession.forFile(TEST_DATA_PATH + fileName)
+                .set(sheetName, rowNum, colNum, value)
+                .commit();
+    }
+
+    /**
+     * Queue a cell update to be written together with all others when the run finishes
+     */
+    public static void queueCellValue(String fileName, String sheetName, int rowNum, int colNum, String value) {
+        ExcelWriteSession.forFile(TEST_DATA_PATH + fileName).set(sheetName, rowNum, colNum, value);
     }
 }
@@ -0,0 +1,297 @@
+package com.framework.utils;
+
+import com.framework.config.EnvironmentConfig;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collects cell updates for one workbook, possibly from many tests and threads,
+ * and writes them back in a single commit.
+ * The new file is written next to the target and atomically moved over it, so the
+ * workbook is never observed half-written. Workbooks larger than
+ * EXCEL_STREAMING_WRITE_MB are rewritten through SXSSF row by row instead of being
+ * loaded whole; that path keeps values and formulas but not cell formatting.
+ */
+public class ExcelWriteSession {
+    private static final Map<String, ExcelWriteSession> sessions = new ConcurrentHashMap<>();
+    private static final int SXSSF_WINDOW_ROWS = 100;
+
+    private final String filePath;
+    private final Object commitLock = new Object();
+    // Sheet -> row -> column -> value, swapped out as a whole on commit
+    private Map<String, TreeMap<Integer, TreeMap<Integer, String>>> pending = new HashMap<>();
+
+    private ExcelWriteSession(String filePath) {
+        this.filePath = filePath;
+    }
+
+    /**
+     * Get the shared session for a workbook path
+     */
+    public static ExcelWriteSession forFile(String filePath) {
+        String key = Paths.get(filePath).toAbsolutePath().normalize().toString();
+        return sessions.computeIfAbsent(key, ExcelWriteSession::new);
+    }
+
+    /**
+     * Commit every session that has pending updates
+     */
+    public static void commitAll() {
+        for (ExcelWriteSession session : sessions.values()) {
+            session.commit();
+        }
+    }
+
+    /**
+     * Queue a cell update; nothing is written until {@link #commit()}
+     */
+    public synchronized ExcelWriteSession set(String sheetName, int rowNum, int colNum, String value) {
+        pending.computeIfAbsent(sheetName, name -> new TreeMap<>())
+                .computeIfAbsent(rowNum, row -> new TreeMap<>())
+                .put(colNum, value);
+        return this;
+    }
+
+    public synchronized int getPendingCount() {
+        int count = 0;
+        for (TreeMap<Integer, TreeMap<Integer, String>> rows : pending.values()) {
+            for (TreeMap<Integer, String> cells : rows.values()) {
+                count += cells.size();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Write all queued updates in one atomic replace of the workbook
+     */
+    public void commit() {
+        synchronized (commitLock) {
+            Map<String, TreeMap<Integer, TreeMap<Integer, String>>> updates;
+            synchronized (this) {
+                if (pending.isEmpty()) {
+                    return;
+                }
+                updates = pending;
+                pending = new HashMap<>();
+            }
+
+            try {
+                File target = new File(filePath);
+                if (target.exists() && target.length() > getStreamingThresholdBytes()) {
+                    SXSSFWorkbook workbook = streamingRewrite(updates);
+                    try {
+                        writeAtomically(filePath, workbook);
+                    } finally {
+                        workbook.dispose();
+                        workbook.close();
+                    }
+                } else {
+                    try (Workbook workbook = applyInMemory(target, updates)) {
+                        writeAtomically(filePath, workbook);
+                    }
+                }
+            } catch (IOException e) {
+                restore(updates);
+                throw new RuntimeException("Error writing Excel file: " + e.getMessage(), e);
+            } catch (RuntimeException e) {
+                restore(updates);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Write a workbook to a temporary sibling file and move it over the target in one step.
+     * The caller keeps ownership of the workbook.
+     */
+    static void writeAtomically(String filePath, Workbook workbook) {
+        Path target = Paths.get(filePath).toAbsolutePath();
+        Path tempFile = null;
+        try {
+            Files.createDirectories(target.getParent());
+            tempFile = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+            makeReadable(tempFile);
+            try (FileOutputStream fos = new FileOutputStream(tempFile.toFile())) {
+                workbook.write(fos);
+                fos.getFD().sync();
+            }
+            try {
+                Files.move(tempFile, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            WorkbookCache.invalidate(filePath);
+        } catch (IOException e) {
+            throw new RuntimeException("Error writing Excel file: " + e.getMessage(), e);
+        } finally {
+            if (tempFile != null) {
+                try {
+                    Files.deleteIfExists(tempFile);
+                } catch (IOException e) {
+                    System.err.println("Warning: Failed to delete temporary file " + tempFile + ": " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    // Temp files are created owner-only; give the workbook the usual rw-r--r-- a FileOutputStream would
+    private static void makeReadable(Path file) {
+        try {
+            Files.setPosixFilePermissions(file, PosixFilePermissions.fromString("rw-r--r--"));
+        } catch (UnsupportedOperationException | IOException e) {
+            // Non-POSIX file system, default permissions apply
+        }
+    }
+
+    private Workbook applyInMemory(File target, Map<String, TreeMap<Integer, TreeMap<Integer, String>>> updates) {
+        Workbook workbook;
+        if (target.exists()) {
+            // Read fully and close the input before anything touches the target
+            try (InputStream in = new FileInputStream(target)) {
+                workbook = new XSSFWorkbook(in);
+            } catch (IOException e) {
+                throw new RuntimeException("Error reading Excel file: " + e.getMessage(), e);
+            }
+        } else {
+            workbook = new XSSFWorkbook();
+        }
+
+        updates.forEach((sheetName, rows) -> {
+            Sheet sheet = workbook.getSheet(sheetName);
+            if (sheet == null) {
+                sheet = workbook.createSheet(sheetName);
+            }
+            for (Map.Entry<Integer, TreeMap<Integer, String>> rowUpdates : rows.entrySet()) {
+                Row row = sheet.getRow(rowUpdates.getKey());
+                if (row == null) {
+                    row = sheet.createRow(rowUpdates.getKey());
+                }
+                for (Map.Entry<Integer, String> cellUpdate : rowUpdates.getValue().entrySet()) {
+                    Cell cell = row.getCell(cellUpdate.getKey());
+                    if (cell == null) {
+                        cell = row.createCell(cellUpdate.getKey());
+                    }
+                    cell.setCellValue(cellUpdate.getValue());
+                }
+            }
+        });
+        return workbook;
+    }
+
+    private SXSSFWorkbook streamingRewrite(Map<String, TreeMap<Integer, TreeMap<Integer, String>>> updates) {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(SXSSF_WINDOW_ROWS);
+        workbook.setCompressTempFiles(true);
+        CellStyle dateStyle = workbook.createCellStyle();
+        dateStyle.setDataFormat(workbook.createDataFormat().getFormat("m/d/yy"));
+
+        List<String> sheetNames = ExcelStreamReader.listSheetNames(filePath);
+        for (String sheetName : sheetNames) {
+            Sheet sheet = workbook.createSheet(sheetName);
+            // SXSSF only appends rows, so source rows and updated rows are merged in row order
+            Deque<Map.Entry<Integer, TreeMap<Integer, String>>> rowUpdates =
+                    new ArrayDeque<>(updates.getOrDefault(sheetName, new TreeMap<>()).entrySet());
+
+            ExcelStreamReader.readAllRows(filePath, sheetName, sourceRow -> {
+                while (!rowUpdates.isEmpty() && rowUpdates.peekFirst().getKey() < sourceRow.getRowNum()) {
+                    Map.Entry<Integer, TreeMap<Integer, String>> added = rowUpdates.pollFirst();
+                    writeUpdates(sheet.createRow(added.getKey()), added.getValue());
+                }
+                Row row = sheet.createRow(sourceRow.getRowNum());
+                for (int i = 0; i < sourceRow.getCellCount(); i++) {
+                    copyCell(sourceRow.getCell(i), row, i, dateStyle);
+                }
+                if (!rowUpdates.isEmpty() && rowUpdates.peekFirst().getKey() == sourceRow.getRowNum()) {
+                    writeUpdates(row, rowUpdates.pollFirst().getValue());
+                }
+                return true;
+            });
+            for (Map.Entry<Integer, TreeMap<Integer, String>> added : rowUpdates) {
+                writeUpdates(sheet.createRow(added.getKey()), added.getValue());
+            }
+        }
+
+        // Updates for sheets the workbook does not have yet
+        updates.forEach((sheetName, rows) -> {
+            if (!sheetNames.contains(sheetName)) {
+                Sheet sheet = workbook.createSheet(sheetName);
+                rows.forEach((rowNum, cells) -> writeUpdates(sheet.createRow(rowNum), cells));
+            }
+        });
+        return workbook;
+    }
+
+    private static void copyCell(ExcelCell source, Row row, int column, CellStyle dateStyle) {
+        if (source.isBlank() && !source.isFormula()) {
+            return;
+        }
+        Cell cell = row.createCell(column);
+        if (source.isFormula()) {
+            cell.setCellFormula(source.getFormula());
+            return;
+        }
+        switch (source.getType()) {
+            case NUMERIC:
+                cell.setCellValue(source.getNumber());
+                break;
+            case DATE:
+                cell.setCellValue(source.getNumber());
+                cell.setCellStyle(dateStyle);
+                break;
+            case BOOLEAN:
+                cell.setCellValue(source.getBoolean());
+                break;
+            default:
+                cell.setCellValue(source.getRawText());
+                break;
+        }
+    }
+
+    private static void writeUpdates(Row row, TreeMap<Integer, String> cells) {
+        for (Map.Entry<Integer, String> update : cells.entrySet()) {
+            Cell cell = row.getCell(update.getKey());
+            if (cell == null) {
+                cell = row.createCell(update.getKey());
+            }
+            cell.setCellValue(update.getValue());
+        }
+    }
+
+    /**
+     * Put back updates of a failed commit without overwriting newer ones
+     */
+    private synchronized void restore(Map<String, TreeMap<Integer, TreeMap<Integer, String>>> updates) {
+        updates.forEach((sheetName, rows) -> rows.forEach((rowNum, cells) -> cells.forEach((colNum, value) ->
+                pending.computeIfAbsent(sheetName, name -> new TreeMap<>())
+                        .computeIfAbsent(rowNum, row -> new TreeMap<>())
+                        .putIfAbsent(colNum, value))));
+    }
+
+    private static long getStreamingThresholdBytes() {
+        return EnvironmentConfig.getExcelStreamingWriteMb() * 1024L * 1024L;
+    }
+}
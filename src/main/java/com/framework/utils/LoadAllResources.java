@@ -0,0 +1,15 @@
+package com.framework.utils;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a test method or class that needs every resource to load, e.g. one that checks images,
+ * so {@link ResourceBlocker} lets its requests through even with BLOCK_RESOURCES=true
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface LoadAllResources {
+}
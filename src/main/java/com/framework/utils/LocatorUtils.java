@@ -0,0 +1,77 @@
+package com.framework.utils;
+
+import org.openqa.selenium.By;
+
+/**
+ * Translates Selenium locators into selectors that can be evaluated inside the page.
+ */
+public class LocatorUtils {
+
+    /**
+     * Locator in a form page scripts can evaluate: kind is "css" or "xpath"
+     */
+    public static class PageSelector {
+        private final String kind;
+        private final String value;
+
+        public PageSelector(String kind, String value) {
+            this.kind = kind;
+            this.value = value;
+        }
+
+        public String getKind() {
+            return kind;
+        }
+
+        public String getValue() {
+            return value;
+        }
+    }
+
+    /**
+     * Convert a standard By locator, or return null for custom locator types
+     */
+    public static PageSelector toPageSelector(By locator) {
+        String description = locator.toString();
+        int separator = description.indexOf(": ");
+        if (!description.startsWith("By.") || separator < 0) {
+            return null;
+        }
+        String type = description.substring(3, separator);
+        String value = description.substring(separator + 2);
+
+        switch (type) {
+            case "id":
+                return new PageSelector("css", "[id=" + quote(value) + "]");
+            case "name":
+                return new PageSelector("css", "[name=" + quote(value) + "]");
+            case "className":
+                return new PageSelector("css", "." + value.trim().replaceAll("\\s+", "."));
+            case "cssSelector":
+            case "tagName":
+                return new PageSelector("css", value);
+            case "xpath":
+                return new PageSelector("xpath", value);
+            case "linkText":
+                return new PageSelector("xpath", "//a[normalize-space(.)=" + xpathLiteral(value) + "]");
+            case "partialLinkText":
+                return new PageSelector("xpath", "//a[contains(., " + xpathLiteral(value) + ")]");
+            default:
+                return null;
+        }
+    }
+
+    private static String quote(String value) {
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+
+    private static String xpathLiteral(String value) {
+        if (!value.contains("'")) {
+            return "'" + value + "'";
+        }
+        if (!value.contains("\"")) {
+            return "\"" + value + "\"";
+        }
+        return "concat('" + value.replace("'", "', \"'\", '") + "')";
+    }
+}
@@ -0,0 +1,126 @@
+package com.framework.utils;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.DevTools;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * One DevTools Fetch interception per browser session, shared by the features that need to
+ * answer requests themselves. Each {@link Handler} declares the requests it wants to see; only
+ * the union of those patterns is paused, so everything else loads without a round trip through
+ * the test JVM. A paused request goes to the handlers in registration order until one answers
+ * it, and otherwise continues unchanged.
+ */
+public class NetworkInterceptor {
+    private static final Map<WebDriver, NetworkInterceptor> interceptors = new ConcurrentHashMap<>();
+
+    private final DevTools devTools;
+    private final List<Handler> handlers = new CopyOnWriteArrayList<>();
+
+    /**
+     * A feature that answers some of the session's requests
+     */
+    public interface Handler {
+        /**
+         * Fetch RequestPattern maps (urlPattern, resourceType, requestStage) of the requests to pause
+         */
+        List<Map<String, Object>> getPatterns();
+
+        /**
+         * Answer a paused request with Fetch.failRequest, fulfillRequest or continueRequest and
+         * return true, or return false to pass it on
+         */
+        boolean onRequestPaused(NetworkInterceptor interceptor, Map<String, Object> event);
+    }
+
+    private NetworkInterceptor(DevTools devTools) {
+        this.devTools = devTools;
+    }
+
+    /**
+     * The session's interceptor, created on first use; null if the browser does not support DevTools
+     */
+    public static NetworkInterceptor forDriver(WebDriver driver) {
+        NetworkInterceptor existing = interceptors.get(driver);
+        if (existing != null) {
+            return existing;
+        }
+        DevTools devTools = DevToolsUtils.getDevTools(driver);
+        if (devTools == null) {
+            return null;
+        }
+        return interceptors.computeIfAbsent(driver, key -> {
+            NetworkInterceptor interceptor = new NetworkInterceptor(devTools);
+            DevToolsUtils.addListener(devTools, "Fetch.requestPaused", interceptor::onRequestPaused);
+            return interceptor;
+        });
+    }
+
+    /**
+     * Forget a session that is about to quit
+     */
+    public static void stop(WebDriver driver) {
+        interceptors.remove(driver);
+    }
+
+    public synchronized void addHandler(Handler handler) {
+        handlers.add(handler);
+        updatePatterns();
+    }
+
+    public synchronized void removeHandler(Handler handler) {
+        if (handlers.remove(handler)) {
+            updatePatterns();
+        }
+    }
+
+    /**
+     * Re-read the handlers' patterns, after one of them changed what it wants to see
+     */
+    public synchronized void updatePatterns() {
+        List<Map<String, Object>> patterns = new ArrayList<>();
+        for (Handler handler : handlers) {
+            patterns.addAll(handler.getPatterns());
+        }
+        if (patterns.isEmpty()) {
+            send("Fetch.disable", new HashMap<>());
+        } else {
+            Map<String, Object> params = new HashMap<>();
+            params.put("patterns", patterns);
+            send("Fetch.enable", params);
+        }
+    }
+
+    public Map<String, Object> send(String method, Map<String, Object> params) {
+        return DevToolsUtils.send(devTools, method, params);
+    }
+
+    /**
+     * Register a handler for a CDP event on the same session, e.g. Network events
+     */
+    public void addListener(String event, Consumer<Map<String, Object>> handler) {
+        DevToolsUtils.addListener(devTools, event, handler);
+    }
+
+    private void onRequestPaused(Map<String, Object> event) {
+        try {
+            for (Handler handler : handlers) {
+                if (handler.onRequestPaused(this, event)) {
+                    return;
+                }
+            }
+            Map<String, Object> params = new HashMap<>();
+            params.put("requestId", event.get("requestId"));
+            send("Fetch.continueRequest", params);
+        } catch (Exception e) {
+            // The session is closing; the request goes with it
+        }
+    }
+}
@@ -0,0 +1,458 @@
+package com.framework.utils;
+
+import com.framework.config.EnvironmentConfig;
+import com.framework.reports.ExtentReportManager;
+import org.openqa.selenium.WebDriver;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Blocks requests functional tests do not need, by default images, fonts, media and analytics,
+ * so pages load with less traffic. Matching requests are failed with BlockedByClient through the
+ * session's {@link NetworkInterceptor}; nothing else is paused. Tests annotated with
+ * {@link LoadAllResources} load everything. Each test's report entry shows how many requests
+ * were blocked, their size the last time they loaded unblocked, and how much sooner its pages
+ * fired their load event than the last time they loaded unblocked. Sessions that do not block,
+ * including all sessions with BLOCK_RESOURCES=false, only watch Network and Page events to
+ * learn those costs, which are remembered across runs in test-output/history/resource-costs.tsv.
+ * Blocking is enabled with BLOCK_RESOURCES=true; see BLOCKED_RESOURCE_TYPES and BLOCKED_URL_PATTERNS.
+ */
+public class ResourceBlocker implements NetworkInterceptor.Handler {
+    private static final String COSTS_FILE = "test-output/history/resource-costs.tsv";
+    private static final int MAX_COSTS = 10000;
+    private static final int MAX_PENDING = 256;
+    // Type column of the page load lines in the costs file
+    private static final String PAGE_LOAD = "PageLoad";
+    // DevTools resource type names, used to accept any capitalisation in the configuration
+    private static final List<String> RESOURCE_TYPES = Arrays.asList("Document", "Stylesheet", "Image", "Media", "Font",
+            "Script", "TextTrack", "XHR", "Fetch", "Prefetch", "EventSource", "WebSocket", "Manifest", "Ping", "Other");
+
+    private static final Map<WebDriver, ResourceBlocker> blockers = new ConcurrentHashMap<>();
+    private static final ThreadLocal<ResourceBlocker> currentBlocker = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> loadAllResources = ThreadLocal.withInitial(() -> false);
+    // URL -> what it cost when it last loaded unblocked
+    private static final Map<String, Cost> costs = new ConcurrentHashMap<>();
+    // Page URL -> milliseconds to its load event when it last loaded unblocked
+    private static final Map<String, Long> pageLoads = new ConcurrentHashMap<>();
+    private static final AtomicInteger totalBlockedRequests = new AtomicInteger();
+    private static final AtomicLong totalBlockedBytes = new AtomicLong();
+    private static final AtomicLong totalSavedMillis = new AtomicLong();
+    private static final AtomicInteger totalComparedPages = new AtomicInteger();
+
+    private final NetworkInterceptor interceptor;
+    private final Set<String> resourceTypes;
+    private final List<String> urlPatterns;
+    private final List<Pattern> urlRegexes = new ArrayList<>();
+    private volatile boolean active;
+    // Requests matching the rules that were let through: requestId -> url, type, start time in seconds
+    private final Map<String, Object[]> pending = new LinkedHashMap<>(16, 0.75f, false) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Object[]> eldest) {
+            return size() > MAX_PENDING;
+        }
+    };
+    private final AtomicInteger blockedRequests = new AtomicInteger();
+    private final AtomicInteger unmeasuredRequests = new AtomicInteger();
+    private final AtomicLong blockedBytes = new AtomicLong();
+    private final AtomicLong savedMillis = new AtomicLong();
+    private final AtomicInteger comparedPages = new AtomicInteger();
+    // Main frame and the start of its current navigation, guarded by this
+    private String mainFrameId;
+    private String navigationUrl;
+    private double navigationStart = -1;
+
+    private static class Cost {
+        private final String resourceType;
+        private final long bytes;
+
+        private Cost(String resourceType, long bytes) {
+            this.resourceType = resourceType;
+            this.bytes = bytes;
+        }
+    }
+
+    static {
+        loadCosts();
+    }
+
+    private ResourceBlocker(NetworkInterceptor interceptor, Set<String> resourceTypes, List<String> urlPatterns) {
+        this.interceptor = interceptor;
+        this.resourceTypes = resourceTypes;
+        this.urlPatterns = urlPatterns;
+        for (String urlPattern : urlPatterns) {
+            urlRegexes.add(globToRegex(urlPattern));
+        }
+    }
+
+    /**
+     * Start blocking on a new session if BLOCK_RESOURCES is set, else only learn what the blocked
+     * requests would save; does nothing if the browser does not support DevTools
+     */
+    public static void start(WebDriver driver) {
+        NetworkInterceptor interceptor = NetworkInterceptor.forDriver(driver);
+        if (interceptor == null) {
+            return;
+        }
+        ResourceBlocker blocker = new ResourceBlocker(interceptor,
+                parseResourceTypes(EnvironmentConfig.getBlockedResourceTypes()),
+                parseList(EnvironmentConfig.getBlockedUrlPatterns()));
+        blocker.active = EnvironmentConfig.isResourceBlockingEnabled() && !loadAllResources.get();
+        try {
+            interceptor.addListener("Network.requestWillBeSent", blocker::onRequestWillBeSent);
+            interceptor.addListener("Network.loadingFinished", blocker::onLoadingFinished);
+            interceptor.addListener("Network.loadingFailed", blocker::onLoadingFailed);
+            interceptor.addListener("Page.loadEventFired", blocker::onLoadEventFired);
+            interceptor.send("Network.enable", new HashMap<>());
+            interceptor.send("Page.enable", new HashMap<>());
+            blocker.mainFrameId = getMainFrameId(interceptor.send("Page.getFrameTree", new HashMap<>()));
+            if (EnvironmentConfig.isResourceBlockingEnabled()) {
+                interceptor.addHandler(blocker);
+            }
+            blockers.put(driver, blocker);
+            currentBlocker.set(blocker);
+        } catch (Exception e) {
+            System.err.println("Warning: " + (blocker.active ? "Resource blocking" : "Measuring resource costs")
+                    + " not available: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Log what was blocked to the current report entry and forget a session that is about to quit
+     */
+    public static void stop(WebDriver driver) {
+        ResourceBlocker blocker = blockers.remove(driver);
+        if (blocker == null) {
+            return;
+        }
+        if (currentBlocker.get() == blocker) {
+            currentBlocker.remove();
+        }
+        int requests = blocker.blockedRequests.get();
+        if (requests > 0) {
+            totalBlockedRequests.addAndGet(requests);
+            totalBlockedBytes.addAndGet(blocker.blockedBytes.get());
+            totalSavedMillis.addAndGet(blocker.savedMillis.get());
+            totalComparedPages.addAndGet(blocker.comparedPages.get());
+            ExtentReportManager.logInfo(describe(requests, blocker.blockedBytes.get(), blocker.comparedPages.get(), blocker.savedMillis.get())
+                    + (blocker.unmeasuredRequests.get() > 0 ? " (" + blocker.unmeasuredRequests.get() + " request(s) never seen unblocked)" : ""));
+        }
+    }
+
+    /**
+     * Load everything for the current thread's test (true) or apply the blocking rules again (false).
+     * Takes effect on the thread's open session right away and on sessions it starts later.
+     */
+    public static void setLoadAllResources(boolean loadAll) {
+        loadAllResources.set(loadAll);
+        ResourceBlocker blocker = currentBlocker.get();
+        if (blocker != null && EnvironmentConfig.isResourceBlockingEnabled() && blocker.active == loadAll) {
+            blocker.active = !loadAll;
+            try {
+                blocker.interceptor.updatePatterns();
+            } catch (Exception e) {
+                System.err.println("Warning: Failed to update resource blocking: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Print this run's totals and remember the measured costs for the next run
+     */
+    public static void finish() {
+        if (totalBlockedRequests.get() > 0) {
+            System.out.println(describe(totalBlockedRequests.get(), totalBlockedBytes.get(), totalComparedPages.get(),
+                    totalSavedMillis.get()) + " in this run");
+        }
+        saveCosts();
+    }
+
+    @Override
+    public List<Map<String, Object>> getPatterns() {
+        List<Map<String, Object>> patterns = new ArrayList<>();
+        if (!active) {
+            return patterns;
+        }
+        for (String resourceType : resourceTypes) {
+            patterns.add(pattern("*", resourceType));
+        }
+        for (String urlPattern : urlPatterns) {
+            patterns.add(pattern(urlPattern, null));
+        }
+        return patterns;
+    }
+
+    @Override
+    public boolean onRequestPaused(NetworkInterceptor interceptor, Map<String, Object> event) {
+        String url = requestUrl(event);
+        String resourceType = (String) event.get("resourceType");
+        // Other handlers may pause the same requests again at the response stage
+        boolean responseStage = event.containsKey("responseStatusCode") || event.containsKey("responseErrorReason");
+        if (!active || responseStage || !matches(url, resourceType)) {
+            return false;
+        }
+        Map<String, Object> params = new HashMap<>();
+        params.put("requestId", event.get("requestId"));
+        params.put("errorReason", "BlockedByClient");
+        interceptor.send("Fetch.failRequest", params);
+
+        blockedRequests.incrementAndGet();
+        Cost cost = estimateCost(url, resourceType);
+        if (cost == null) {
+            unmeasuredRequests.incrementAndGet();
+        } else {
+            blockedBytes.addAndGet(cost.bytes);
+        }
+        return true;
+    }
+
+    private boolean matches(String url, String resourceType) {
+        if (resourceType != null && resourceTypes.contains(resourceType)) {
+            return true;
+        }
+        if (url != null) {
+            for (Pattern regex : urlRegexes) {
+                if (regex.matcher(url).matches()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    // Learn the cost of matching requests and of whole pages whenever they load unblocked
+
+    private void onRequestWillBeSent(Map<String, Object> event) {
+        String url = requestUrl(event);
+        String resourceType = (String) event.get("type");
+        // A navigation's document request has the loader's id
+        if ("Document".equals(resourceType) && event.get("requestId") != null && event.get("requestId").equals(event.get("loaderId"))) {
+            synchronized (this) {
+                if (mainFrameId == null || mainFrameId.equals(event.get("frameId"))) {
+                    navigationUrl = url == null ? null : url.replaceFirst("#.*$", "");
+                    navigationStart = number(event.get("timestamp"));
+                }
+            }
+        }
+        if (!active && matches(url, resourceType)) {
+            synchronized (pending) {
+                pending.put((String) event.get("requestId"), new Object[]{url, resourceType, number(event.get("timestamp"))});
+            }
+        }
+    }
+
+    private void onLoadingFinished(Map<String, Object> event) {
+        Object[] request;
+        synchronized (pending) {
+            request = pending.remove((String) event.get("requestId"));
+        }
+        if (request == null) {
+            return;
+        }
+        String url = (String) request[0];
+        if (costs.size() < MAX_COSTS || costs.containsKey(url)) {
+            costs.put(url, new Cost((String) request[1], (long) number(event.get("encodedDataLength"))));
+        }
+    }
+
+    /**
+     * Time from the navigation to the main frame's load event: remembered for pages loaded
+     * unblocked, and compared with that for pages loaded with blocking
+     */
+    private void onLoadEventFired(Map<String, Object> event) {
+        String url;
+        long millis;
+        synchronized (this) {
+            if (navigationUrl == null || navigationStart < 0) {
+                return;
+            }
+            url = navigationUrl;
+            millis = Math.max(0, Math.round((number(event.get("timestamp")) - navigationStart) * 1000));
+            navigationStart = -1;
+        }
+        if (!active) {
+            if (pageLoads.size() < MAX_COSTS || pageLoads.containsKey(url)) {
+                pageLoads.put(url, millis);
+            }
+            return;
+        }
+        Long unblocked = pageLoads.get(url);
+        if (unblocked != null) {
+            comparedPages.incrementAndGet();
+            savedMillis.addAndGet(unblocked - millis);
+        }
+    }
+
+    private void onLoadingFailed(Map<String, Object> event) {
+        synchronized (pending) {
+            pending.remove((String) event.get("requestId"));
+        }
+    }
+
+    /**
+     * Cost of the URL when last seen, else the average of known requests of the same type
+     */
+    private static Cost estimateCost(String url, String resourceType) {
+        Cost known = url == null ? null : costs.get(url);
+        if (known != null) {
+            return known;
+        }
+        long bytes = 0;
+        int count = 0;
+        for (Cost cost : costs.values()) {
+            if (cost.resourceType != null && cost.resourceType.equals(resourceType)) {
+                bytes += cost.bytes;
+                count++;
+            }
+        }
+        return count == 0 ? null : new Cost(resourceType, bytes / count);
+    }
+
+    private static String describe(int requests, long bytes, int pages, long millis) {
+        String text = String.format("Blocked %d request(s), about %.1f MB of downloads saved", requests, bytes / (1024.0 * 1024.0));
+        if (pages == 0) {
+            return text + "; no page seen unblocked to compare load times with";
+        }
+        return text + String.format("; %d page load(s) %.1f s %s in total than unblocked", pages,
+                Math.abs(millis) / 1000.0, millis >= 0 ? "faster" : "slower");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String getMainFrameId(Map<String, Object> frameTree) {
+        Object tree = frameTree == null ? null : frameTree.get("frameTree");
+        Object frame = tree instanceof Map ? ((Map<String, Object>) tree).get("frame") : null;
+        return frame instanceof Map ? (String) ((Map<String, Object>) frame).get("id") : null;
+    }
+
+    private static Map<String, Object> pattern(String urlPattern, String resourceType) {
+        Map<String, Object> pattern = new HashMap<>();
+        pattern.put("urlPattern", urlPattern);
+        if (resourceType != null) {
+            pattern.put("resourceType", resourceType);
+        }
+        pattern.put("requestStage", "Request");
+        return pattern;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String requestUrl(Map<String, Object> event) {
+        Object request = event.get("request");
+        return request instanceof Map ? (String) ((Map<String, Object>) request).get("url") : null;
+    }
+
+    private static double number(Object value) {
+        return value instanceof Number ? ((Number) value).doubleValue() : 0;
+    }
+
+    /**
+     * Comma-separated DevTools resource types in their protocol spelling, e.g. "image, font" -> Image, Font
+     */
+    static Set<String> parseResourceTypes(String value) {
+        Set<String> types = new LinkedHashSet<>();
+        for (String name : parseList(value)) {
+            types.add(RESOURCE_TYPES.stream().filter(name::equalsIgnoreCase).findFirst().orElse(name));
+        }
+        return types;
+    }
+
+    private static List<String> parseList(String value) {
+        List<String> items = new ArrayList<>();
+        if (value != null) {
+            for (String item : value.split(",")) {
+                if (!item.trim().isEmpty()) {
+                    items.add(item.trim());
+                }
+            }
+        }
+        return items;
+    }
+
+    /**
+     * DevTools URL patterns: * matches any run of characters, ? a single one
+     */
+    private static Pattern globToRegex(String glob) {
+        StringBuilder regex = new StringBuilder();
+        for (char c : glob.toCharArray()) {
+            if (c == '*') {
+                regex.append(".*");
+            } else if (c == '?') {
+                regex.append('.');
+            } else {
+                regex.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+        return Pattern.compile(regex.toString());
+    }
+
+    /**
+     * Lines of type, bytes or milliseconds, and URL; lines in any other shape are skipped
+     */
+    private static void loadCosts() {
+        Path costsFile = Paths.get(COSTS_FILE);
+        if (!Files.isRegularFile(costsFile)) {
+            return;
+        }
+        try {
+            for (String line : Files.readAllLines(costsFile, StandardCharsets.UTF_8)) {
+                String[] fields = line.split("\t");
+                if (fields.length == 3) {
+                    try {
+                        long value = Long.parseLong(fields[1]);
+                        if (fields[0].equals(PAGE_LOAD)) {
+                            pageLoads.put(fields[2], value);
+                        } else {
+                            costs.put(fields[2], new Cost(fields[0], value));
+                        }
+                    } catch (NumberFormatException e) {
+                        // Skip damaged lines, the next save rewrites the file
+                    }
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Warning: Failed to read resource costs: " + e.getMessage());
+        }
+    }
+
+    private static synchronized void saveCosts() {
+        if (costs.isEmpty() && pageLoads.isEmpty()) {
+            return;
+        }
+        List<String> lines = new ArrayList<>();
+        costs.forEach((url, cost) -> lines.add(cost.resourceType + "\t" + cost.bytes + "\t" + url));
+        pageLoads.forEach((url, millis) -> lines.add(PAGE_LOAD + "\t" + millis + "\t" + url));
+        Path costsFile = Paths.get(COSTS_FILE);
+        try {
+            Files.createDirectories(costsFile.getParent());
+            Path tempFile = Files.createTempFile(costsFile.getParent(), "resource-costs-", ".tmp");
+            try {
+                Files.write(tempFile, lines, StandardCharsets.UTF_8);
+                try {
+                    Files.move(tempFile, costsFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(tempFile, costsFile, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+        } catch (IOException e) {
+            System.err.println("Warning: Failed to save resource costs: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.framework.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fixed-capacity FIFO buffer that overwrites its oldest element when full.
+ * Storage is allocated once, so recording into it never grows the heap.
+ */
+public class RingBuffer<T> {
+    private final Object[] elements;
+    private int head;
+    private int size;
+
+    public RingBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Ring buffer capacity must be positive: " + capacity);
+        }
+        this.elements = new Object[capacity];
+    }
+
+    /**
+     * Append an element and return the one it overwrote, or null if there was room
+     */
+    public synchronized T add(T element) {
+        int tail = (head + size) % elements.length;
+        T evicted = null;
+        if (size == elements.length) {
+            evicted = elementAt(tail);
+            head = (head + 1) % elements.length;
+        } else {
+            size++;
+        }
+        elements[tail] = element;
+        return evicted;
+    }
+
+    /**
+     * Remove and return the oldest element, or null if empty
+     */
+    public synchronized T removeOldest() {
+        if (size == 0) {
+            return null;
+        }
+        T oldest = elementAt(head);
+        elements[head] = null;
+        head = (head + 1) % elements.length;
+        size--;
+        return oldest;
+    }
+
+    /**
+     * Copy of the contents, oldest first
+     */
+    public synchronized List<T> snapshot() {
+        List<T> copy = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            copy.add(elementAt((head + i) % elements.length));
+        }
+        return copy;
+    }
+
+    /**
+     * Copy of the contents, oldest first, leaving the buffer empty
+     */
+    public synchronized List<T> drain() {
+        List<T> copy = snapshot();
+        clear();
+        return copy;
+    }
+
+    public synchronized void clear() {
+        java.util.Arrays.fill(elements, null);
+        head = 0;
+        size = 0;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return elements.length;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T elementAt(int index) {
+        return (T) elements[index];
+    }
+}
@@ -0,0 +1,201 @@
+package com.framework.utils;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.framework.config.EnvironmentConfig;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lazy @DataProvider iterator fed by a background reader.
+ * A producer thread streams rows from the source into a bounded prefetch queue
+ * (DATA_PROVIDER_PREFETCH rows), so the first invocation starts as soon as the
+ * first row is read and at most a queue's worth of rows is held in memory.
+ * Reader errors are rethrown from {@link #next()}. The producer only holds the
+ * provider weakly, so a provider dropped without being drained or closed stops
+ * its reader once it is garbage collected.
+ * <p>
+ * Note: TestNG 7.8 drains the whole iterator up front when the provider is
+ * declared with {@code parallel = true}, so the lazy start and flat memory only
+ * apply to sequential providers; parallel providers still get reading off the
+ * calling thread but hold every row before the first invocation.
+ */
+public class StreamingDataProvider implements Iterator<Object[]>, AutoCloseable {
+    private static final Object END = new Object();
+    private static final AtomicInteger threadCount = new AtomicInteger();
+
+    private final BlockingQueue<Object> queue;
+    // Shared with the producer, which must not reference the provider itself
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private Object next;
+
+    /**
+     * Reads rows and hands them to the sink in order
+     */
+    public interface Source {
+        void produce(Sink sink) throws Exception;
+    }
+
+    public interface Sink {
+        /**
+         * @return false once the consumer has gone away and reading should stop
+         */
+        boolean accept(Object[] row);
+    }
+
+    private StreamingDataProvider(Source source, int prefetch) {
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, prefetch));
+        BlockingQueue<Object> rows = queue;
+        AtomicBoolean stopped = closed;
+        WeakReference<StreamingDataProvider> owner = new WeakReference<>(this);
+        Thread producer = new Thread(() -> produce(source, rows, stopped, owner),
+                "data-provider-" + threadCount.incrementAndGet());
+        producer.setDaemon(true);
+        producer.start();
+    }
+
+    public static StreamingDataProvider of(Source source) {
+        return new StreamingDataProvider(source, EnvironmentConfig.getDataProviderPrefetch());
+    }
+
+    /**
+     * One invocation per data row of an Excel sheet, passed as a header-to-value map
+     */
+    public static StreamingDataProvider fromExcel(String fileName, String sheetName) {
+        return of(sink -> ExcelUtils.streamExcelData(fileName, sheetName,
+                row -> sink.accept(new Object[]{row.toMap()})));
+    }
+
+    /**
+     * One invocation per object of a top-level JSON array field, passed as a field-to-value map.
+     * Nested objects and arrays inside an element are skipped.
+     */
+    public static StreamingDataProvider fromJsonArray(String filePath, String fieldName) {
+        return of(sink -> {
+            try (JsonParser parser = new JsonFactory().createParser(new File(filePath))) {
+                if (parser.nextToken() != JsonToken.START_OBJECT) {
+                    throw new RuntimeException("Expected a JSON object in '" + filePath + "'");
+                }
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String name = parser.getCurrentName();
+                    JsonToken value = parser.nextToken();
+                    if (!name.equals(fieldName)) {
+                        parser.skipChildren();
+                        continue;
+                    }
+                    if (value != JsonToken.START_ARRAY) {
+                        throw new RuntimeException("Field '" + fieldName + "' in '" + filePath + "' is not an array");
+                    }
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        if (!sink.accept(new Object[]{readObject(parser)})) {
+                            return;
+                        }
+                    }
+                    return;
+                }
+                throw new RuntimeException("Field '" + fieldName + "' not found in '" + filePath + "'");
+            }
+        });
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null && closed.get()) {
+            next = END;
+        }
+        if (next == null) {
+            try {
+                next = queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while waiting for test data", e);
+            }
+        }
+        if (next instanceof Failure) {
+            Throwable cause = ((Failure) next).cause;
+            next = END;
+            throw new RuntimeException("Error reading test data: " + cause.getMessage(), cause);
+        }
+        return next != END;
+    }
+
+    @Override
+    public Object[] next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Object[] row = (Object[]) next;
+        next = null;
+        return row;
+    }
+
+    /**
+     * Stop the reader early; rows not consumed yet are dropped
+     */
+    @Override
+    public void close() {
+        closed.set(true);
+        queue.clear();
+        // Wake a consumer blocked in hasNext() on another thread
+        queue.offer(END);
+    }
+
+    private static void produce(Source source, BlockingQueue<Object> queue, AtomicBoolean closed,
+                                WeakReference<StreamingDataProvider> owner) {
+        try {
+            source.produce(row -> offer(queue, closed, owner, row));
+            offer(queue, closed, owner, END);
+        } catch (Throwable t) {
+            offer(queue, closed, owner, new Failure(t));
+        }
+    }
+
+    private static boolean offer(BlockingQueue<Object> queue, AtomicBoolean closed,
+                                 WeakReference<StreamingDataProvider> owner, Object item) {
+        try {
+            // Re-check so close(), or the provider being collected, releases a reader blocked on a full queue
+            while (!closed.get() && owner.get() != null) {
+                if (queue.offer(item, 1, TimeUnit.SECONDS)) {
+                    return true;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return false;
+    }
+
+    private static Map<String, String> readObject(JsonParser parser) throws IOException {
+        Map<String, String> fields = new LinkedHashMap<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if (value == JsonToken.START_OBJECT || value == JsonToken.START_ARRAY) {
+                parser.skipChildren();
+            } else {
+                fields.put(name, parser.getValueAsString());
+            }
+        }
+        return fields;
+    }
+
+    private static class Failure {
+        private final Throwable cause;
+
+        private Failure(Throwable cause) {
+            this.cause = cause;
+        }
+    }
+}
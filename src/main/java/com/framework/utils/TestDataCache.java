@@ -0,0 +1,561 @@
+package com.framework.utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Precompiled, memory-mapped copies of the files in the test data folder.
+ * Each .xlsx or .json source is compiled once into a binary file under
+ * target/testdata-cache/ holding string tables with fixed-width offset arrays, so
+ * any cell is reached in O(1) straight from the mapping. Every surefire fork maps
+ * the same file and shares its page-cache pages instead of parsing the source again.
+ * <p>
+ * A cache file records the size and modification time of its source and is rebuilt
+ * on first access when they no longer match. Running {@link #main} compiles all
+ * sources up front; the build does this in process-test-classes and fails for a
+ * source whose cache would exceed the 2 GB the int offsets can address.
+ * {@link TestDataRepository}, {@link ExcelUtils} and {@link WorkbookCache} read from
+ * the cache while it is fresh and parse the source otherwise.
+ * <p>
+ * Excel sheets become tables named after the sheet, with the first row as headers;
+ * the sheet row number of every row is kept, so cells can also be looked up by
+ * their position in the sheet.
+ * JSON sections become tables named after the section: arrays of objects map one
+ * object per row, objects of objects get a leading "key" column, and objects of
+ * scalars become "key"/"value" rows. Nested arrays are stored as JSON text.
+ */
+public class TestDataCache {
+    private static final String TEST_DATA_PATH = "src/test/resources/testdata/";
+    private static final String CACHE_PATH = "target/testdata-cache/";
+    private static final int MAGIC = 0x54444331; // "TDC1"
+    private static final int VERSION = 2;
+    private static final int HEADER_BYTES = 28;
+
+    private static final Map<String, TestDataCache> openCaches = new ConcurrentHashMap<>();
+
+    private final ByteBuffer buffer;
+    private final long sourceModified;
+    private final long sourceSize;
+    private final Map<String, Table> tables = new LinkedHashMap<>();
+
+    private TestDataCache(ByteBuffer buffer) {
+        this.buffer = buffer;
+        this.sourceModified = buffer.getLong(8);
+        this.sourceSize = buffer.getLong(16);
+        int tableCount = buffer.getInt(24);
+        for (int i = 0; i < tableCount; i++) {
+            int entry = HEADER_BYTES + i * 8;
+            String name = readString(buffer.getInt(entry));
+            tables.put(name, new Table(name, buffer.getInt(entry + 4)));
+        }
+    }
+
+    /**
+     * Get a table from the cache of a test data file, compiling the cache first if it is missing or stale
+     */
+    public static Table getTable(String fileName, String tableName) {
+        Table table = open(fileName).tables.get(tableName);
+        if (table == null) {
+            throw new RuntimeException("Table '" + tableName + "' not found in test data file '" + fileName + "'");
+        }
+        return table;
+    }
+
+    /**
+     * Names of the tables compiled from a test data file
+     */
+    public static Set<String> getTableNames(String fileName) {
+        return Collections.unmodifiableSet(open(fileName).tables.keySet());
+    }
+
+    /**
+     * A table from the cache of a test data file if that cache is fresh, else null so the
+     * caller parses the source; never compiles
+     */
+    static Table getFreshTable(String filePath, String tableName) {
+        Map<String, Table> fresh = getFreshTables(filePath);
+        return fresh != null ? fresh.get(tableName) : null;
+    }
+
+    /**
+     * All tables of a test data file by name if its cache is fresh, else null
+     */
+    static Map<String, Table> getFreshTables(String filePath) {
+        Path source = Paths.get(filePath).toAbsolutePath().normalize();
+        Path folder = Paths.get(TEST_DATA_PATH).toAbsolutePath().normalize();
+        String fileName = source.getFileName().toString();
+        if (!folder.equals(source.getParent()) || !isSupported(fileName) || !Files.isRegularFile(source)) {
+            return null;
+        }
+        File sourceFile = source.toFile();
+        TestDataCache cache = openCaches.compute(fileName, (name, cached) -> {
+            if (cached != null && cached.isCurrent(sourceFile)) {
+                return cached;
+            }
+            TestDataCache mapped = map(getCacheFile(fileName));
+            return mapped != null && mapped.isCurrent(sourceFile) ? mapped : null;
+        });
+        return cache != null ? Collections.unmodifiableMap(cache.tables) : null;
+    }
+
+    /**
+     * Compile every supported file in the test data folder; run at build time
+     */
+    public static void main(String[] args) {
+        File[] sources = new File(TEST_DATA_PATH).listFiles((dir, name) -> isSupported(name));
+        if (sources == null) {
+            System.out.println("No test data folder at " + TEST_DATA_PATH);
+            return;
+        }
+        for (File source : sources) {
+            long start = System.currentTimeMillis();
+            open(source.getName());
+            System.out.println("Test data cache ready for " + source.getName()
+                    + " (" + (System.currentTimeMillis() - start) + " ms)");
+        }
+    }
+
+    private static TestDataCache open(String fileName) {
+        File source = new File(TEST_DATA_PATH + fileName);
+        if (!source.exists()) {
+            throw new RuntimeException("Test data file not found: " + source.getPath());
+        }
+        return openCaches.compute(fileName, (name, cached) -> {
+            if (cached != null && cached.isCurrent(source)) {
+                return cached;
+            }
+            Path cacheFile = getCacheFile(fileName);
+            TestDataCache mapped = map(cacheFile);
+            if (mapped != null && mapped.isCurrent(source)) {
+                return mapped;
+            }
+            compile(source, cacheFile);
+            return map(cacheFile);
+        });
+    }
+
+    private static Path getCacheFile(String fileName) {
+        return Paths.get(CACHE_PATH, fileName + ".bin");
+    }
+
+    private boolean isCurrent(File source) {
+        return source.lastModified() == sourceModified && source.length() == sourceSize;
+    }
+
+    private static TestDataCache map(Path cacheFile) {
+        if (!Files.exists(cacheFile)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(cacheFile, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+                throw new IllegalStateException("Not a test data cache file");
+            }
+            if (buffer.getInt(4) != VERSION) {
+                // Written by another framework version; rebuilt like a stale cache
+                return null;
+            }
+            return new TestDataCache(buffer);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Warning: Ignoring unreadable test data cache " + cacheFile + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private String readString(int offset) {
+        int length = buffer.getInt(offset);
+        byte[] bytes = new byte[length];
+        buffer.get(offset + 4, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static boolean isSupported(String fileName) {
+        return fileName.endsWith(".xlsx") || fileName.endsWith(".json");
+    }
+
+    /**
+     * Read-only view of one compiled table; all lookups read straight from the mapping
+     */
+    public class Table implements Iterable<Map<String, String>> {
+        private final String name;
+        private final int columnCount;
+        // Stored rows, the header row included
+        private final int storedRows;
+        private final int rowNumbers;
+        private final int cells;
+        private final List<String> headers;
+        private final Map<String, Integer> headerIndex = new HashMap<>();
+
+        private Table(String name, int offset) {
+            this.name = name;
+            this.columnCount = buffer.getInt(offset);
+            this.storedRows = buffer.getInt(offset + 4);
+            int headerCount = buffer.getInt(offset + 8);
+            this.rowNumbers = offset + 12;
+            this.cells = rowNumbers + storedRows * 4;
+            String[] names = new String[headerCount];
+            for (int i = 0; i < headerCount; i++) {
+                names[i] = readString(buffer.getInt(cells + i * 4));
+                headerIndex.putIfAbsent(names[i], i);
+            }
+            this.headers = Collections.unmodifiableList(Arrays.asList(names));
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getRowCount() {
+            return Math.max(0, storedRows - 1);
+        }
+
+        public List<String> getHeaders() {
+            return headers;
+        }
+
+        public String getValue(int row, int column) {
+            if (row < 0 || row >= getRowCount() || column < 0 || column >= columnCount) {
+                throw new IndexOutOfBoundsException("Cell (" + row + ", " + column + ") out of range in table '" + name + "'");
+            }
+            return readCell(row + 1, column);
+        }
+
+        public String getValue(int row, String header) {
+            Integer column = headerIndex.get(header);
+            if (column == null) {
+                throw new IllegalArgumentException("Column '" + header + "' not found in table '" + name + "'");
+            }
+            return getValue(row, column);
+        }
+
+        /**
+         * One row as a header-to-value map
+         */
+        public Map<String, String> getRow(int row) {
+            Map<String, String> values = new LinkedHashMap<>();
+            for (int i = 0; i < headers.size(); i++) {
+                values.putIfAbsent(headers.get(i), getValue(row, i));
+            }
+            return values;
+        }
+
+        /**
+         * Rows for a @DataProvider, decoded one at a time as TestNG asks for them
+         */
+        public Iterator<Object[]> rows() {
+            return new Iterator<Object[]>() {
+                private int next;
+
+                @Override
+                public boolean hasNext() {
+                    return next < getRowCount();
+                }
+
+                @Override
+                public Object[] next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    return new Object[]{getRow(next++)};
+                }
+            };
+        }
+
+        @Override
+        public Iterator<Map<String, String>> iterator() {
+            Iterator<Object[]> rows = rows();
+            return new Iterator<Map<String, String>>() {
+                @Override
+                public boolean hasNext() {
+                    return rows.hasNext();
+                }
+
+                @Override
+                @SuppressWarnings("unchecked")
+                public Map<String, String> next() {
+                    return (Map<String, String>) rows.next()[0];
+                }
+            };
+        }
+
+        /**
+         * Whether the first stored row is row 0 of the sheet, as the header of an Excel sheet must be
+         */
+        boolean hasHeaderRow() {
+            return storedRows > 0 && buffer.getInt(rowNumbers) == 0;
+        }
+
+        /**
+         * Cell by its zero-based position in the sheet, header row included; "" where the sheet has none
+         */
+        String getSheetValue(int rowNum, int column) {
+            if (column < 0 || column >= columnCount) {
+                return "";
+            }
+            // Row numbers are stored in ascending order
+            int low = 0;
+            int high = storedRows - 1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                int number = buffer.getInt(rowNumbers + middle * 4);
+                if (number < rowNum) {
+                    low = middle + 1;
+                } else if (number > rowNum) {
+                    high = middle - 1;
+                } else {
+                    return readCell(middle, column);
+                }
+            }
+            return "";
+        }
+
+        /**
+         * Number of sheet rows up to and including the last stored one
+         */
+        int getSheetRowCount() {
+            return storedRows > 0 ? buffer.getInt(rowNumbers + (storedRows - 1) * 4) + 1 : 0;
+        }
+
+        private String readCell(int storedRow, int column) {
+            return readString(buffer.getInt(cells + (storedRow * columnCount + column) * 4));
+        }
+    }
+
+    // Compilation
+
+    private static void compile(File source, Path cacheFile) {
+        Map<String, List<SourceRow>> tables = source.getName().endsWith(".xlsx")
+                ? readWorkbook(source.getPath())
+                : readJson(source);
+
+        // Layout: header, table directory, tables (column count, row count, header width, row numbers,
+        // cell offsets with the header row first), string pool
+        long position = HEADER_BYTES + tables.size() * 8L;
+        Map<String, Integer> tableOffsets = new LinkedHashMap<>();
+        for (Map.Entry<String, List<SourceRow>> table : tables.entrySet()) {
+            tableOffsets.put(table.getKey(), checkOffset(position, source));
+            position += 12 + (4L + 4L * getWidth(table.getValue())) * table.getValue().size();
+        }
+        StringPool pool = new StringPool(checkOffset(position, source), source);
+
+        Path tempFile = null;
+        try {
+            Files.createDirectories(cacheFile.getParent());
+            tempFile = Files.createTempFile(cacheFile.getParent(), cacheFile.getFileName().toString(), ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile.toFile())))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeLong(source.lastModified());
+                out.writeLong(source.length());
+                out.writeInt(tables.size());
+                for (String name : tables.keySet()) {
+                    out.writeInt(pool.offsetOf(name));
+                    out.writeInt(tableOffsets.get(name));
+                }
+                for (List<SourceRow> rows : tables.values()) {
+                    // First entry holds the headers
+                    int columns = getWidth(rows);
+                    out.writeInt(columns);
+                    out.writeInt(rows.size());
+                    out.writeInt(rows.isEmpty() ? 0 : rows.get(0).values.length);
+                    for (SourceRow row : rows) {
+                        out.writeInt(row.number);
+                    }
+                    for (SourceRow row : rows) {
+                        for (int i = 0; i < columns; i++) {
+                            String value = i < row.values.length ? row.values[i] : null;
+                            out.writeInt(pool.offsetOf(value != null ? value : ""));
+                        }
+                    }
+                }
+                pool.writeTo(out);
+            }
+            try {
+                Files.move(tempFile, cacheFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, cacheFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Error writing test data cache: " + e.getMessage(), e);
+        } finally {
+            if (tempFile != null) {
+                try {
+                    Files.deleteIfExists(tempFile);
+                } catch (IOException e) {
+                    System.err.println("Warning: Failed to delete temporary file " + tempFile + ": " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private static int getWidth(List<SourceRow> rows) {
+        int width = 0;
+        for (SourceRow row : rows) {
+            width = Math.max(width, row.values.length);
+        }
+        return width;
+    }
+
+    // Offsets are ints, so a cache file can address at most 2 GB
+    private static int checkOffset(long offset, File source) {
+        if (offset > Integer.MAX_VALUE) {
+            throw new RuntimeException("Test data cache for " + source.getName()
+                    + " would exceed 2 GB; split the file or read it with ExcelStreamReader");
+        }
+        return (int) offset;
+    }
+
+    /**
+     * One source row with its zero-based row number in the sheet
+     */
+    private static class SourceRow {
+        private final int number;
+        private final String[] values;
+
+        private SourceRow(int number, String[] values) {
+            this.number = number;
+            this.values = values;
+        }
+    }
+
+    /**
+     * Deduplicated UTF-8 strings addressed by absolute file offset
+     */
+    private static class StringPool {
+        private final Map<String, Integer> offsets = new LinkedHashMap<>();
+        private final List<byte[]> encoded = new ArrayList<>();
+        private final File source;
+        private long position;
+
+        private StringPool(int base, File source) {
+            this.position = base;
+            this.source = source;
+        }
+
+        private int offsetOf(String value) {
+            Integer offset = offsets.get(value);
+            if (offset == null) {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                offset = checkOffset(position, source);
+                offsets.put(value, offset);
+                encoded.add(bytes);
+                position += 4 + bytes.length;
+                checkOffset(position, source);
+            }
+            return offset;
+        }
+
+        private void writeTo(DataOutputStream out) throws IOException {
+            for (byte[] bytes : encoded) {
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+        }
+    }
+
+    private static Map<String, List<SourceRow>> readWorkbook(String filePath) {
+        Map<String, List<SourceRow>> tables = new LinkedHashMap<>();
+        for (String sheetName : ExcelStreamReader.listSheetNames(filePath)) {
+            List<SourceRow> rows = new ArrayList<>();
+            ExcelStreamReader.readAllRows(filePath, sheetName, row -> {
+                String[] values = new String[row.getCellCount()];
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = row.getCell(i).getString();
+                }
+                rows.add(new SourceRow(row.getRowNum(), values));
+                return true;
+            });
+            tables.put(sheetName, rows);
+        }
+        return tables;
+    }
+
+    private static Map<String, List<SourceRow>> readJson(File source) {
+        JsonNode root;
+        try {
+            root = new ObjectMapper().readTree(source);
+        } catch (IOException e) {
+            throw new RuntimeException("Error reading test data file: " + e.getMessage(), e);
+        }
+        Map<String, List<SourceRow>> tables = new LinkedHashMap<>();
+        root.fields().forEachRemaining(section -> {
+            JsonNode value = section.getValue();
+            if (value.isArray()) {
+                tables.put(section.getKey(), toRows(null, value.elements()));
+            } else if (value.isObject()) {
+                boolean nested = value.elements().hasNext() && value.elements().next().isObject();
+                if (nested) {
+                    List<String> keys = new ArrayList<>();
+                    value.fieldNames().forEachRemaining(keys::add);
+                    tables.put(section.getKey(), toRows(keys, value.elements()));
+                } else {
+                    List<SourceRow> rows = new ArrayList<>();
+                    rows.add(new SourceRow(0, new String[]{"key", "value"}));
+                    value.fields().forEachRemaining(field -> rows.add(
+                            new SourceRow(rows.size(), new String[]{field.getKey(), text(field.getValue())})));
+                    tables.put(section.getKey(), rows);
+                }
+            }
+        });
+        return tables;
+    }
+
+    private static List<SourceRow> toRows(List<String> keys, Iterator<JsonNode> elements) {
+        List<JsonNode> objects = new ArrayList<>();
+        elements.forEachRemaining(objects::add);
+        Set<String> columns = new LinkedHashSet<>();
+        if (keys != null) {
+            columns.add("key");
+        }
+        for (JsonNode object : objects) {
+            object.fieldNames().forEachRemaining(columns::add);
+        }
+        List<String> header = new ArrayList<>(columns);
+        List<SourceRow> rows = new ArrayList<>();
+        rows.add(new SourceRow(0, header.toArray(new String[0])));
+        for (int r = 0; r < objects.size(); r++) {
+            String[] row = new String[header.size()];
+            for (int c = 0; c < row.length; c++) {
+                row[c] = keys != null && c == 0 ? keys.get(r) : text(objects.get(r).get(header.get(c)));
+            }
+            rows.add(new SourceRow(r + 1, row));
+        }
+        return rows;
+    }
+
+    private static String text(JsonNode node) {
+        if (node == null || node.isNull()) {
+            return "";
+        }
+        return node.isValueNode() ? node.asText() : node.toString();
+    }
+}
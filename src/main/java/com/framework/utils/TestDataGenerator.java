@@ -0,0 +1,256 @@
+package com.framework.utils;
+
+import com.framework.config.EnvironmentConfig;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Deterministic synthetic test data in the shape of testdata.json.
+ * Record i of each kind is derived only from the seed and i, so output is the
+ * same however many threads generate it and in whatever order. Rows are built
+ * in parallel chunks and handed on in index order, either to a @DataProvider
+ * through {@link StreamingDataProvider} or to a sheet through
+ * {@link ExcelUtils#writeExcelRows}.
+ */
+public class TestDataGenerator {
+    private static final int CHUNK_SIZE = 4096;
+
+    private static final String[] FIRST_NAMES = {
+            "James", "Mary", "Robert", "Patricia", "John", "Jennifer", "Michael", "Linda", "David", "Elizabeth",
+            "William", "Barbara", "Richard", "Susan", "Joseph", "Jessica", "Thomas", "Sarah", "Carlos", "Aisha",
+            "Wei", "Priya", "Mohammed", "Yuki", "Olga", "Kwame", "Sofia", "Lars", "Fatima", "Mateo"
+    };
+    private static final String[] LAST_NAMES = {
+            "Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", "Davis", "Rodriguez", "Martinez",
+            "Hernandez", "Lopez", "Wilson", "Anderson", "Taylor", "Moore", "Jackson", "Martin", "Lee", "Thompson",
+            "Nguyen", "Patel", "Kim", "Okafor", "Schmidt", "Rossi", "Silva", "Kowalski", "Tanaka", "Haddad"
+    };
+    private static final String[] ADJECTIVES = {
+            "Classic", "Sleek", "Rugged", "Lightweight", "Deluxe", "Compact", "Vintage", "Ultra", "Eco", "Smart"
+    };
+    private static final String[] COLORS = {"Red", "Blue", "Black", "White", "Green", "Grey", "Orange", "Navy"};
+    private static final String[] ITEMS = {
+            "Backpack", "Bike Light", "T-Shirt", "Fleece Jacket", "Onesie", "Water Bottle", "Cap", "Hoodie",
+            "Socks", "Mug", "Sticker Pack", "Notebook"
+    };
+    private static final String[] USER_TRAITS = {
+            "Standard user with full access", "User with problems (images, sorting)",
+            "User with performance issues", "User with a long browsing history", "First-time customer"
+    };
+
+    // Distinct salts keep the streams of different record kinds independent
+    private static final long USER_SALT = 0x5573657273L;
+    private static final long PRODUCT_SALT = 0x50726f64L;
+    private static final long CHECKOUT_SALT = 0x436865636bL;
+    private static final long SCENARIO_SALT = 0x5363656eL;
+
+    private final long seed;
+
+    public TestDataGenerator(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Generator seeded from TEST_DATA_SEED
+     */
+    public static TestDataGenerator fromConfig() {
+        return new TestDataGenerator(EnvironmentConfig.getTestDataSeed());
+    }
+
+    // Single records
+
+    public TestDataRepository.User user(long index) {
+        SplittableRandom random = random(USER_SALT, index);
+        String first = pick(random, FIRST_NAMES).toLowerCase();
+        String last = pick(random, LAST_NAMES).toLowerCase();
+        return new TestDataRepository.User("user" + index, first + "_" + last + "_" + index,
+                "pw_" + Long.toHexString(random.nextLong()), pick(random, USER_TRAITS));
+    }
+
+    public TestDataRepository.Product product(long index) {
+        SplittableRandom random = random(PRODUCT_SALT, index);
+        String name = pick(random, ADJECTIVES) + " " + pick(random, ITEMS) + " (" + pick(random, COLORS) + ") #" + index;
+        int cents = 499 + random.nextInt(9500);
+        String price = String.format("$%d.%02d", cents / 100, cents % 100);
+        return new TestDataRepository.Product(name, price, "Generated product " + index + " for data-driven runs");
+    }
+
+    public TestDataRepository.CheckoutInfo checkoutInfo(long index) {
+        SplittableRandom random = random(CHECKOUT_SALT, index);
+        return new TestDataRepository.CheckoutInfo("customer" + index, pick(random, FIRST_NAMES),
+                pick(random, LAST_NAMES), String.format("%05d", random.nextInt(100000)));
+    }
+
+    /**
+     * Scenario buying 1-4 distinct products out of the first productCount generated products,
+     * for one of the first customerCount generated customers; both counts must be positive
+     */
+    public TestDataRepository.Scenario scenario(long index, long productCount, long customerCount) {
+        checkScenarioCounts(productCount, customerCount);
+        SplittableRandom random = random(SCENARIO_SALT, index);
+        int size = (int) Math.min(productCount, 1 + random.nextInt(4));
+        long[] picked = random.longs(0, productCount).distinct().limit(size).toArray();
+        List<String> products = new ArrayList<>(size);
+        for (long product : picked) {
+            products.add(product(product).getName());
+        }
+        TestDataRepository.CheckoutInfo customer = checkoutInfo(random.nextLong(customerCount));
+        return new TestDataRepository.Scenario("scenario" + index, Collections.unmodifiableList(products), customer);
+    }
+
+    // Ordered parallel streams
+
+    public Stream<TestDataRepository.User> users(long count) {
+        return LongStream.range(0, count).parallel().mapToObj(this::user);
+    }
+
+    public Stream<TestDataRepository.Product> products(long count) {
+        return LongStream.range(0, count).parallel().mapToObj(this::product);
+    }
+
+    public Stream<TestDataRepository.CheckoutInfo> checkoutInfos(long count) {
+        return LongStream.range(0, count).parallel().mapToObj(this::checkoutInfo);
+    }
+
+    public Stream<TestDataRepository.Scenario> scenarios(long count, long productCount, long customerCount) {
+        checkScenarioCounts(productCount, customerCount);
+        return LongStream.range(0, count).parallel().mapToObj(i -> scenario(i, productCount, customerCount));
+    }
+
+    // @DataProvider sources, one record per invocation
+
+    public StreamingDataProvider userData(long count) {
+        return provider(count, this::user);
+    }
+
+    public StreamingDataProvider productData(long count) {
+        return provider(count, this::product);
+    }
+
+    public StreamingDataProvider checkoutInfoData(long count) {
+        return provider(count, this::checkoutInfo);
+    }
+
+    public StreamingDataProvider scenarioData(long count, long productCount, long customerCount) {
+        // Checked here, so the error is not only reported once the first row is read
+        checkScenarioCounts(productCount, customerCount);
+        return provider(count, i -> scenario(i, productCount, customerCount));
+    }
+
+    // Excel output
+
+    public void writeUsers(String fileName, String sheetName, long count) {
+        ExcelUtils.writeExcelRows(fileName, sheetName, Arrays.asList("username", "password", "description"),
+                rows(count, this::user, user -> new String[]{user.getUsername(), user.getPassword(), user.getDescription()}));
+    }
+
+    public void writeProducts(String fileName, String sheetName, long count) {
+        ExcelUtils.writeExcelRows(fileName, sheetName, Arrays.asList("name", "price", "description"),
+                rows(count, this::product, product -> new String[]{product.getName(), product.getPrice(), product.getDescription()}));
+    }
+
+    public void writeCheckoutInfo(String fileName, String sheetName, long count) {
+        ExcelUtils.writeExcelRows(fileName, sheetName, Arrays.asList("firstName", "lastName", "postalCode"),
+                rows(count, this::checkoutInfo, info -> new String[]{info.getFirstName(), info.getLastName(), info.getPostalCode()}));
+    }
+
+    public void writeScenarios(String fileName, String sheetName, long count, long productCount, long customerCount) {
+        checkScenarioCounts(productCount, customerCount);
+        ExcelUtils.writeExcelRows(fileName, sheetName, Arrays.asList("scenario", "products", "customer"),
+                rows(count, i -> scenario(i, productCount, customerCount), scenario -> new String[]{
+                        scenario.getName(), String.join("|", scenario.getProductNames()), scenario.getCustomer().getKey()}));
+    }
+
+    private static void checkScenarioCounts(long productCount, long customerCount) {
+        if (productCount <= 0 || customerCount <= 0) {
+            throw new IllegalArgumentException("Scenarios need at least one product and one customer to pick from, got productCount="
+                    + productCount + ", customerCount=" + customerCount);
+        }
+    }
+
+    private <T> StreamingDataProvider provider(long count, LongFunction<T> generator) {
+        return StreamingDataProvider.of(sink -> {
+            Iterator<T> records = chunked(count, generator);
+            while (records.hasNext()) {
+                if (!sink.accept(new Object[]{records.next()})) {
+                    return;
+                }
+            }
+        });
+    }
+
+    private <T> Iterator<String[]> rows(long count, LongFunction<T> generator, Function<T, String[]> toRow) {
+        Iterator<T> records = chunked(count, generator);
+        return new Iterator<String[]>() {
+            @Override
+            public boolean hasNext() {
+                return records.hasNext();
+            }
+
+            @Override
+            public String[] next() {
+                return toRow.apply(records.next());
+            }
+        };
+    }
+
+    /**
+     * Generates CHUNK_SIZE records at a time across all cores and yields them in index order,
+     * so at most one chunk is held in memory
+     */
+    private static <T> Iterator<T> chunked(long count, LongFunction<T> generator) {
+        return new Iterator<T>() {
+            private List<T> chunk = List.of();
+            private int position;
+            private long nextIndex;
+
+            @Override
+            public boolean hasNext() {
+                if (position < chunk.size()) {
+                    return true;
+                }
+                if (nextIndex >= count) {
+                    return false;
+                }
+                long end = Math.min(count, nextIndex + CHUNK_SIZE);
+                chunk = LongStream.range(nextIndex, end).parallel().mapToObj(generator).toList();
+                position = 0;
+                nextIndex = end;
+                return true;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return chunk.get(position++);
+            }
+        };
+    }
+
+    private SplittableRandom random(long salt, long index) {
+        return new SplittableRandom(mix(seed ^ salt) + mix(index));
+    }
+
+    // MurmurHash3 finalizer: spreads neighbouring seeds and indexes over the whole 64-bit range
+    private static long mix(long value) {
+        value = (value ^ (value >>> 33)) * 0xff51afd7ed558ccdL;
+        value = (value ^ (value >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return value ^ (value >>> 33);
+    }
+
+    private static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
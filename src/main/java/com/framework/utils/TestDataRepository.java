@@ -0,0 +1,433 @@
+package com.framework.utils;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Typed, read-only view of testdata.json.
+ * The file is read once, on first use, from its {@link TestDataCache} mapping when that
+ * is fresh and otherwise with Jackson's streaming parser, into immutable objects that
+ * are safe to share between test threads. The provider
+ * methods return iterators that can be handed straight to a @DataProvider.
+ */
+public class TestDataRepository {
+    private static final String TEST_DATA_FILE = "src/test/resources/testdata/testdata.json";
+
+    private final Map<String, User> users = new LinkedHashMap<>();
+    private final List<Product> products = new ArrayList<>();
+    private final Map<String, CheckoutInfo> checkoutInfo = new LinkedHashMap<>();
+    private final Map<String, Scenario> scenarios = new LinkedHashMap<>();
+    private final Map<String, String> sortOptions = new LinkedHashMap<>();
+    private final Map<String, Map<String, Object>> scenarioFields = new LinkedHashMap<>();
+
+    private TestDataRepository() {
+    }
+
+    private static class Holder {
+        private static final TestDataRepository INSTANCE = load(TEST_DATA_FILE);
+    }
+
+    public static TestDataRepository getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Read a test data file; use {@link #getInstance()} for the shared default file
+     */
+    public static TestDataRepository load(String filePath) {
+        TestDataRepository repository = new TestDataRepository();
+        try {
+            Map<String, TestDataCache.Table> cached = TestDataCache.getFreshTables(filePath);
+            if (cached != null) {
+                cached.forEach(repository::readTable);
+            } else {
+                try (JsonParser parser = new JsonFactory().createParser(new File(filePath))) {
+                    expect(parser, parser.nextToken(), JsonToken.START_OBJECT);
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String section = parser.getCurrentName();
+                        parser.nextToken();
+                        repository.readSection(section, parser);
+                    }
+                }
+            }
+        } catch (IOException | UncheckedIOException e) {
+            throw new RuntimeException("Error reading test data file: " + e.getMessage(), e);
+        }
+        repository.resolveScenarios();
+        return repository;
+    }
+
+    public User getUser(String key) {
+        return lookup(users, key, "User");
+    }
+
+    public Collection<User> getUsers() {
+        return Collections.unmodifiableCollection(users.values());
+    }
+
+    public List<Product> getProducts() {
+        return Collections.unmodifiableList(products);
+    }
+
+    public Product getProduct(String name) {
+        for (Product product : products) {
+            if (product.getName().equals(name)) {
+                return product;
+            }
+        }
+        throw new RuntimeException("Product '" + name + "' not found in test data");
+    }
+
+    public CheckoutInfo getCheckoutInfo(String key) {
+        return lookup(checkoutInfo, key, "Checkout info");
+    }
+
+    public Scenario getScenario(String key) {
+        return lookup(scenarios, key, "Scenario");
+    }
+
+    public Collection<Scenario> getScenarios() {
+        return Collections.unmodifiableCollection(scenarios.values());
+    }
+
+    /**
+     * Value of the product sort dropdown for a named sort order, e.g. "nameAscending" -> "az"
+     */
+    public String getSortOption(String key) {
+        return lookup(sortOptions, key, "Sort option");
+    }
+
+    public Map<String, String> getSortOptions() {
+        return Collections.unmodifiableMap(sortOptions);
+    }
+
+    // Data providers: one Object[] per invocation
+
+    public Iterator<Object[]> userData() {
+        return rows(users.values());
+    }
+
+    public Iterator<Object[]> productData() {
+        return rows(products);
+    }
+
+    public Iterator<Object[]> checkoutInfoData() {
+        return rows(checkoutInfo.values());
+    }
+
+    public Iterator<Object[]> scenarioData() {
+        return rows(scenarios.values());
+    }
+
+    private static Iterator<Object[]> rows(Collection<?> items) {
+        List<Object[]> rows = new ArrayList<>(items.size());
+        for (Object item : items) {
+            rows.add(new Object[]{item});
+        }
+        return rows.iterator();
+    }
+
+    private void readSection(String section, JsonParser parser) throws IOException {
+        switch (section) {
+            case "users":
+                readObjectOfObjects(parser, (key, fields) -> users.put(key, new User(key,
+                        string(fields, "username"), string(fields, "password"), string(fields, "description"))));
+                break;
+            case "products":
+                expect(parser, parser.currentToken(), JsonToken.START_ARRAY);
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    Map<String, Object> fields = readFields(parser);
+                    products.add(new Product(string(fields, "name"), string(fields, "price"), string(fields, "description")));
+                }
+                break;
+            case "checkoutInfo":
+                readObjectOfObjects(parser, (key, fields) -> checkoutInfo.put(key, new CheckoutInfo(key,
+                        string(fields, "firstName"), string(fields, "lastName"), string(fields, "postalCode"))));
+                break;
+            case "testScenarios":
+                // Built after parsing, once the customers they refer to are known
+                readObjectOfObjects(parser, scenarioFields::put);
+                break;
+            case "sortOptions":
+                expect(parser, parser.currentToken(), JsonToken.START_OBJECT);
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String key = parser.getCurrentName();
+                    parser.nextToken();
+                    sortOptions.put(key, parser.getValueAsString());
+                }
+                break;
+            default:
+                // Sections without a typed model are skipped
+                parser.skipChildren();
+                break;
+        }
+    }
+
+    /**
+     * Same as {@link #readSection} for a section compiled into a cache table, where objects of
+     * objects carry their key in a "key" column and arrays are stored as JSON text
+     */
+    private void readTable(String section, TestDataCache.Table table) {
+        for (int row = 0; row < table.getRowCount(); row++) {
+            Map<String, Object> fields = new LinkedHashMap<>(table.getRow(row));
+            String key = string(fields, "key");
+            switch (section) {
+                case "users":
+                    users.put(key, new User(key,
+                            string(fields, "username"), string(fields, "password"), string(fields, "description")));
+                    break;
+                case "products":
+                    products.add(new Product(string(fields, "name"), string(fields, "price"), string(fields, "description")));
+                    break;
+                case "checkoutInfo":
+                    checkoutInfo.put(key, new CheckoutInfo(key,
+                            string(fields, "firstName"), string(fields, "lastName"), string(fields, "postalCode")));
+                    break;
+                case "testScenarios":
+                    fields.put("products", parseList(string(fields, "products")));
+                    scenarioFields.put(key, fields);
+                    break;
+                case "sortOptions":
+                    sortOptions.put(key, string(fields, "value"));
+                    break;
+                default:
+                    // Sections without a typed model are skipped
+                    return;
+            }
+        }
+    }
+
+    private static List<String> parseList(String json) {
+        List<String> items = new ArrayList<>();
+        if (json == null || json.isEmpty()) {
+            return items;
+        }
+        try (JsonParser parser = new JsonFactory().createParser(json)) {
+            expect(parser, parser.nextToken(), JsonToken.START_ARRAY);
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                items.add(parser.getValueAsString());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return items;
+    }
+
+    private interface EntryHandler {
+        void accept(String key, Map<String, Object> fields);
+    }
+
+    private static void readObjectOfObjects(JsonParser parser, EntryHandler handler) throws IOException {
+        expect(parser, parser.currentToken(), JsonToken.START_OBJECT);
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String key = parser.getCurrentName();
+            expect(parser, parser.nextToken(), JsonToken.START_OBJECT);
+            handler.accept(key, readFields(parser));
+        }
+    }
+
+    /**
+     * Read one flat object whose values are scalars or arrays of scalars
+     */
+    private static Map<String, Object> readFields(JsonParser parser) throws IOException {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if (value == JsonToken.START_ARRAY) {
+                List<String> items = new ArrayList<>();
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    items.add(parser.getValueAsString());
+                }
+                fields.put(name, items);
+            } else if (value == JsonToken.START_OBJECT) {
+                parser.skipChildren();
+            } else {
+                fields.put(name, parser.getValueAsString());
+            }
+        }
+        return fields;
+    }
+
+    private void resolveScenarios() {
+        scenarioFields.forEach((key, fields) -> {
+            String customerKey = string(fields, "customer");
+            if (customerKey != null && customerKey.isEmpty()) {
+                // Cached tables store a missing customer as an empty cell
+                customerKey = null;
+            }
+            if (customerKey != null && !checkoutInfo.containsKey(customerKey)) {
+                throw new RuntimeException("Scenario '" + key + "' refers to unknown customer '" + customerKey + "'");
+            }
+            scenarios.put(key, new Scenario(key, strings(fields.get("products")), checkoutInfo.get(customerKey)));
+        });
+        scenarioFields.clear();
+    }
+
+    private static void expect(JsonParser parser, JsonToken actual, JsonToken expected) throws IOException {
+        if (actual != expected) {
+            throw new IOException("Expected " + expected + " but found " + actual + " at " + parser.getCurrentLocation());
+        }
+    }
+
+    private static String string(Map<String, Object> fields, String name) {
+        Object value = fields.get(name);
+        return value instanceof String ? (String) value : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String> strings(Object value) {
+        return value instanceof List ? Collections.unmodifiableList((List<String>) value) : Collections.emptyList();
+    }
+
+    private static <T> T lookup(Map<String, T> map, String key, String kind) {
+        T value = map.get(key);
+        if (value == null) {
+            throw new RuntimeException(kind + " '" + key + "' not found in test data");
+        }
+        return value;
+    }
+
+    public static final class User {
+        private final String key;
+        private final String username;
+        private final String password;
+        private final String description;
+
+        User(String key, String username, String password, String description) {
+            this.key = key;
+            this.username = username;
+            this.password = password;
+            this.description = description;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        @Override
+        public String toString() {
+            return username;
+        }
+    }
+
+    public static final class Product {
+        private final String name;
+        private final String price;
+        private final String description;
+
+        Product(String name, String price, String description) {
+            this.name = name;
+            this.price = price;
+            this.description = description;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Price as displayed, e.g. "$29.99"
+         */
+        public String getPrice() {
+            return price;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    public static final class CheckoutInfo {
+        private final String key;
+        private final String firstName;
+        private final String lastName;
+        private final String postalCode;
+
+        CheckoutInfo(String key, String firstName, String lastName, String postalCode) {
+            this.key = key;
+            this.firstName = firstName;
+            this.lastName = lastName;
+            this.postalCode = postalCode;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public String getFirstName() {
+            return firstName;
+        }
+
+        public String getLastName() {
+            return lastName;
+        }
+
+        public String getPostalCode() {
+            return postalCode;
+        }
+
+        @Override
+        public String toString() {
+            return key;
+        }
+    }
+
+    public static final class Scenario {
+        private final String name;
+        private final List<String> productNames;
+        private final CheckoutInfo customer;
+
+        Scenario(String name, List<String> productNames, CheckoutInfo customer) {
+            this.name = name;
+            this.productNames = productNames;
+            this.customer = customer;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public List<String> getProductNames() {
+            return productNames;
+        }
+
+        public CheckoutInfo getCustomer() {
+            return customer;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+}
@@ -0,0 +1,299 @@
+package com.framework.utils;
+
+import com.framework.config.ConfigSnapshot;
+import com.framework.config.ConfigWatcher;
+import com.framework.config.EnvironmentConfig;
+import org.openqa.selenium.By;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Timeouts for every explicit wait of the framework, learned from how long each wait took before.
+ * Waits are identified by what they wait for, e.g. "visible By.id: login-button", and their
+ * durations go into a histogram per key that is kept across runs, one file per ENVIRONMENT under
+ * test-output/history/. Once a key has enough samples its timeout is the 99th percentile plus
+ * WAIT_MARGIN_PERCENT, within WAIT_MIN_SECONDS and WAIT_MAX_SECONDS; until then, or with
+ * WAIT_ADAPTIVE=false, it is WAIT_TIMEOUT_SECONDS or the caller's own default. Timed-out waits are
+ * counted but not recorded, as their duration is only the limit they were given; while a key's
+ * last wait timed out its learned timeout is capped at the default. Every setting
+ * can be overridden per environment with an _&lt;ENVIRONMENT&gt; suffix, e.g. WAIT_MAX_SECONDS_STAGING.
+ * When a configuration reload changes ENVIRONMENT, the history so far is saved and the new
+ * environment's is loaded.
+ */
+public class WaitPolicy {
+    private static final String HISTORY_DIRECTORY = "test-output/history";
+    // Samples a key needs before its timeout is derived from them
+    private static final int MIN_SAMPLES = 20;
+    // Older samples are halved beyond this, so the distribution follows the application
+    private static final int MAX_SAMPLES = 2000;
+    // Bucket upper bounds grow by a quarter from 10 ms, covering up to about 5 minutes
+    private static final double FIRST_BUCKET_MILLIS = 10;
+    private static final double BUCKET_GROWTH = 1.25;
+    private static final int BUCKETS = 48;
+
+    private static volatile String environment = EnvironmentConfig.getEnvironment();
+    private static final Map<String, Histogram> histograms = new ConcurrentHashMap<>(load());
+    private static final AtomicInteger waits = new AtomicInteger();
+    private static final AtomicInteger timeouts = new AtomicInteger();
+
+    static {
+        ConfigWatcher.addListener(WaitPolicy::onReload);
+    }
+
+    private static class Histogram {
+        private final long[] counts = new long[BUCKETS];
+        private long total;
+        // Timeouts since the last wait that succeeded, in this run
+        private int recentTimeouts;
+
+        private synchronized void timedOut() {
+            recentTimeouts++;
+        }
+
+        private synchronized boolean isTimingOut() {
+            return recentTimeouts > 0;
+        }
+
+        private synchronized void add(long millis) {
+            recentTimeouts = 0;
+            counts[bucket(millis)]++;
+            total++;
+            if (total > MAX_SAMPLES) {
+                total = 0;
+                for (int i = 0; i < BUCKETS; i++) {
+                    counts[i] /= 2;
+                    total += counts[i];
+                }
+            }
+        }
+
+        /**
+         * Upper bound of the bucket holding the 99th percentile, or -1 with too few samples
+         */
+        private synchronized long getP99Millis() {
+            if (total < MIN_SAMPLES) {
+                return -1;
+            }
+            long threshold = (long) Math.ceil(total * 0.99);
+            long cumulative = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                cumulative += counts[i];
+                if (cumulative >= threshold) {
+                    return upperBound(i);
+                }
+            }
+            return upperBound(BUCKETS - 1);
+        }
+
+        private synchronized String format() {
+            StringBuilder text = new StringBuilder();
+            for (int i = 0; i < BUCKETS; i++) {
+                if (counts[i] > 0) {
+                    text.append(text.length() > 0 ? "," : "").append(i).append(':').append(counts[i]);
+                }
+            }
+            return text.toString();
+        }
+
+        private static int bucket(long millis) {
+            int i = 0;
+            while (i < BUCKETS - 1 && upperBound(i) < millis) {
+                i++;
+            }
+            return i;
+        }
+
+        private static long upperBound(int bucket) {
+            return Math.round(FIRST_BUCKET_MILLIS * Math.pow(BUCKET_GROWTH, bucket));
+        }
+    }
+
+    /**
+     * Wait for the condition with the timeout learned for the key, or WAIT_TIMEOUT_SECONDS
+     */
+    public static <T> T until(WebDriver driver, String key, ExpectedCondition<T> condition) {
+        return until(driver, key, condition, Duration.ofSeconds(EnvironmentConfig.getWaitTimeoutSeconds()));
+    }
+
+    /**
+     * Wait for the condition with the timeout learned for the key, or the given default
+     */
+    public static <T> T until(WebDriver driver, String key, ExpectedCondition<T> condition, Duration defaultTimeout) {
+        Timeout timeout = resolveTimeout(key, defaultTimeout);
+        long start = System.nanoTime();
+        waits.incrementAndGet();
+        try {
+            T result = EventDrivenWait.create(driver, timeout.duration).until(condition);
+            histograms.computeIfAbsent(key, k -> new Histogram()).add((System.nanoTime() - start) / 1_000_000);
+            return result;
+        } catch (TimeoutException e) {
+            timeouts.incrementAndGet();
+            histograms.computeIfAbsent(key, k -> new Histogram()).timedOut();
+            throw new TimeoutException(String.format("%s [waited for '%s' with a %.1f s timeout, %s]", e.getMessage(), key,
+                    timeout.duration.toMillis() / 1000.0, timeout.source), e);
+        }
+    }
+
+    /**
+     * Timeout for a wait: learned from its history when there is enough, else the given default
+     */
+    public static Duration getTimeout(String key, Duration defaultTimeout) {
+        return resolveTimeout(key, defaultTimeout).duration;
+    }
+
+    private static final class Timeout {
+        private final Duration duration;
+        // How the duration was chosen, for timeout messages
+        private final String source;
+
+        private Timeout(Duration duration, String source) {
+            this.duration = duration;
+            this.source = source;
+        }
+    }
+
+    private static Timeout resolveTimeout(String key, Duration defaultTimeout) {
+        Histogram histogram = histograms.get(key);
+        long p99 = histogram == null ? -1 : histogram.getP99Millis();
+        if (!EnvironmentConfig.isWaitAdaptive() || p99 < 0) {
+            return new Timeout(defaultTimeout, "default");
+        }
+        long millis = p99 * (100 + EnvironmentConfig.getWaitMarginPercent()) / 100;
+        millis = Math.max(millis, EnvironmentConfig.getWaitMinSeconds() * 1000L);
+        millis = Math.min(millis, EnvironmentConfig.getWaitMaxSeconds() * 1000L);
+        // A wait that keeps timing out is not given longer than the default
+        if (histogram.isTimingOut() && millis > defaultTimeout.toMillis()) {
+            return new Timeout(defaultTimeout, "the default as its last wait timed out");
+        }
+        return new Timeout(Duration.ofMillis(millis), "learned");
+    }
+
+    public static String key(String condition, By locator) {
+        return condition + " " + locator;
+    }
+
+    /**
+     * Key for a wait on an element, named by its locator rather than the session it was found in
+     */
+    public static String key(String condition, WebElement element) {
+        String description = element.toString();
+        // PageFactory field: Proxy element for: DefaultElementLocator 'By.id: user-name'
+        int quote = description.indexOf('\'');
+        if (description.startsWith("Proxy element for:") && quote >= 0 && description.endsWith("'")) {
+            return condition + " " + description.substring(quote + 1, description.length() - 1);
+        }
+        // Found element: [[ChromeDriver: chrome on linux (session)] -> class name: item]] -> tag name: button]
+        int arrow = description.indexOf("] -> ");
+        if (arrow >= 0) {
+            String path = description.substring(arrow + "] -> ".length()).replaceAll("]+ -> ", " -> ").replaceAll("]+$", "");
+            return condition + " " + path;
+        }
+        return condition + " " + description;
+    }
+
+    /**
+     * Print this run's wait totals and write the histograms for the next run
+     */
+    public static synchronized void save() {
+        if (waits.get() == 0) {
+            return;
+        }
+        System.out.printf("Waits: %d, %d timed out; %d wait(s) with learned timeouts%n", waits.get(), timeouts.get(),
+                histograms.values().stream().filter(histogram -> histogram.getP99Millis() >= 0).count());
+        List<String> lines = new ArrayList<>();
+        new TreeMap<>(histograms).forEach((key, histogram) -> {
+            String format = histogram.format();
+            // Keys that have only ever timed out have no samples yet
+            if (!format.isEmpty()) {
+                lines.add(key + "\t" + format);
+            }
+        });
+        Path historyFile = getHistoryFile();
+        try {
+            Files.createDirectories(historyFile.getParent());
+            Path tempFile = Files.createTempFile(historyFile.getParent(), "wait-times-", ".tmp");
+            try {
+                Files.write(tempFile, lines, StandardCharsets.UTF_8);
+                try {
+                    Files.move(tempFile, historyFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(tempFile, historyFile, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+        } catch (IOException e) {
+            System.err.println("Warning: Failed to save wait history: " + e.getMessage());
+        }
+    }
+
+    private static synchronized void onReload(ConfigSnapshot previous, ConfigSnapshot current) {
+        String next = EnvironmentConfig.getEnvironment();
+        if (next.equals(environment)) {
+            return;
+        }
+        save();
+        environment = next;
+        histograms.clear();
+        histograms.putAll(load());
+        waits.set(0);
+        timeouts.set(0);
+        System.out.println("Wait history switched to ENVIRONMENT " + next);
+    }
+
+    private static Map<String, Histogram> load() {
+        Map<String, Histogram> loaded = new ConcurrentHashMap<>();
+        Path historyFile = getHistoryFile();
+        if (!Files.isRegularFile(historyFile)) {
+            return loaded;
+        }
+        try {
+            for (String line : Files.readAllLines(historyFile, StandardCharsets.UTF_8)) {
+                int tab = line.lastIndexOf('\t');
+                if (tab <= 0) {
+                    continue;
+                }
+                Histogram histogram = new Histogram();
+                try {
+                    for (String entry : line.substring(tab + 1).split(",")) {
+                        String[] parts = entry.split(":");
+                        int bucket = Integer.parseInt(parts[0]);
+                        long count = Long.parseLong(parts[1]);
+                        if (bucket >= 0 && bucket < BUCKETS) {
+                            histogram.counts[bucket] += count;
+                            histogram.total += count;
+                        }
+                    }
+                } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                    // Skip damaged lines, the next save rewrites the file
+                    continue;
+                }
+                loaded.put(line.substring(0, tab), histogram);
+            }
+        } catch (IOException e) {
+            System.err.println("Warning: Failed to read wait history: " + e.getMessage());
+        }
+        return loaded;
+    }
+
+    private static Path getHistoryFile() {
+        return Paths.get(HISTORY_DIRECTORY, "wait-times-" + environment.replaceAll("[^A-Za-z0-9_-]", "_") + ".tsv");
+    }
+}
@@ -4,53 +4,54 @@ import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 
 import java.time.Duration;
 import java.util.List;
 
+/**
+ * Waits take their timeouts from {@link WaitPolicy}; an explicit timeout applies only until
+ * the policy has learned one for the locator.
+ */
 public class WebDriverUtils {
-    private static final int DEFAULT_TIMEOUT = 10;
 
     public static WebElement waitForElementToBeVisible(WebDriver driver, By locator) {
-        return waitForElementToBeVisible(driver, locator, DEFAULT_TIMEOUT);
+        return WaitPolicy.until(driver, WaitPolicy.key("visible", locator), ExpectedConditions.visibilityOfElementLocated(locator));
     }
 
     public static WebElement waitForElementToBeVisible(WebDriver driver, By locator, int timeoutInSeconds) {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutInSeconds));
-        return wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
+        return WaitPolicy.until(driver, WaitPolicy.key("visible", locator), ExpectedConditions.visibilityOfElementLocated(locator),
+                Duration.ofSeconds(timeoutInSeconds));
     }
 
     public static WebElement waitForElementToBeClickable(WebDriver driver, By locator) {
-        return waitForElementToBeClickable(driver, locator, DEFAULT_TIMEOUT);
+        return WaitPolicy.until(driver, WaitPolicy.key("clickable", locator), ExpectedConditions.elementToBeClickable(locator));
     }
 
     public static WebElement waitForElementToBeClickable(WebDriver driver, By locator, int timeoutInSeconds) {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutInSeconds));
-        return wait.until(ExpectedConditions.elementToBeClickable(locator));
+        return WaitPolicy.until(driver, WaitPolicy.key("clickable", locator), ExpectedConditions.elementToBeClickable(locator),
+                Duration.ofSeconds(timeoutInSeconds));
     }
 
     public static List<WebElement> waitForElementsToBeVisible(WebDriver driver, By locator) {
-        return waitForElementsToBeVisible(driver, locator, DEFAULT_TIMEOUT);
+        return WaitPolicy.until(driver, WaitPolicy.key("all visible", locator), ExpectedConditions.visibilityOfAllElementsLocatedBy(locator));
     }
 
     public static List<WebElement> waitForElementsToBeVisible(WebDriver driver, By locator, int timeoutInSeconds) {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutInSeconds));
-        return wait.until(ExpectedConditions.visibilityOfAllElementsLocatedBy(locator));
+        return WaitPolicy.until(driver, WaitPolicy.key("all visible", locator), ExpectedConditions.visibilityOfAllElementsLocatedBy(locator),
+                Duration.ofSeconds(timeoutInSeconds));
     }
 
     public static boolean waitForElementToDisappear(WebDriver driver, By locator) {
-        return waitForElementToDisappear(driver, locator, DEFAULT_TIMEOUT);
+        return WaitPolicy.until(driver, WaitPolicy.key("invisible", locator), ExpectedConditions.invisibilityOfElementLocated(locator));
     }
 
     public static boolean waitForElementToDisappear(WebDriver driver, By locator, int timeoutInSeconds) {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutInSeconds));
-        return wait.until(ExpectedConditions.invisibilityOfElementLocated(locator));
+        return WaitPolicy.until(driver, WaitPolicy.key("invisible", locator), ExpectedConditions.invisibilityOfElementLocated(locator),
+                Duration.ofSeconds(timeoutInSeconds));
     }
 
     public static void waitForPageToLoad(WebDriver driver) {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(DEFAULT_TIMEOUT));
-        wait.until(ExpectedConditions.jsReturnsValue("return document.readyState === 'complete'"));
+        WaitPolicy.until(driver, "document complete", ExpectedConditions.jsReturnsValue("return document.readyState === 'complete'"));
     }
 
     public static void scrollToElement(WebDriver driver, WebElement element) {
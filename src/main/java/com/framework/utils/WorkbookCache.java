@@ -0,0 +1,193 @@
+package com.framework.utils;
+
+import com.framework.config.EnvironmentConfig;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide cache of parsed Excel sheets, keyed by file path and validated
+ * against the file's modification time and size on every lookup.
+ * Sheets are read from the {@link TestDataCache} mapping while it is fresh, else parsed
+ * once with the streaming reader into immutable cell tables; both (unlike POI workbooks)
+ * are safe to share between concurrent readers.
+ * Total footprint is bounded by an LRU over estimated memory (EXCEL_CACHE_MAX_MB).
+ */
+public class WorkbookCache {
+    private static final LinkedHashMap<String, CachedWorkbook> workbooks = new LinkedHashMap<>(16, 0.75f, true);
+    private static long cachedBytes;
+
+    /**
+     * Immutable cell values of one sheet, indexed by zero-based row and column
+     */
+    public static class SheetData {
+        private final String[][] rows;
+        // Set instead of rows when the sheet is served from the memory-mapped cache
+        private final TestDataCache.Table table;
+        private final long estimatedBytes;
+
+        private SheetData(String[][] rows, long estimatedBytes) {
+            this.rows = rows;
+            this.table = null;
+            this.estimatedBytes = estimatedBytes;
+        }
+
+        private SheetData(TestDataCache.Table table) {
+            this.rows = null;
+            this.table = table;
+            // The cells live in the mapping, outside the heap
+            this.estimatedBytes = 64;
+        }
+
+        /**
+         * Cell value in ExcelUtils string form, or "" if the row or cell does not exist
+         */
+        public String getCellValue(int rowNum, int colNum) {
+            if (table != null) {
+                return table.getSheetValue(rowNum, colNum);
+            }
+            if (rowNum < 0 || rowNum >= rows.length || rows[rowNum] == null || colNum < 0 || colNum >= rows[rowNum].length) {
+                return "";
+            }
+            String value = rows[rowNum][colNum];
+            return value != null ? value : "";
+        }
+
+        public int getRowCount() {
+            return table != null ? table.getSheetRowCount() : rows.length;
+        }
+    }
+
+    private static class CachedWorkbook {
+        private final long modifiedMillis;
+        private final long size;
+        private final Map<String, SheetData> sheets = new ConcurrentHashMap<>();
+        private long countedBytes;
+
+        private CachedWorkbook(long modifiedMillis, long size) {
+            this.modifiedMillis = modifiedMillis;
+            this.size = size;
+        }
+    }
+
+    /**
+     * Get a sheet, parsing it on first use or after the file changed
+     */
+    public static SheetData getSheet(String filePath, String sheetName) {
+        Path path = Paths.get(filePath).toAbsolutePath().normalize();
+        String key = path.toString();
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (IOException e) {
+            throw new RuntimeException("Error reading Excel file: " + e.getMessage(), e);
+        }
+        long modified = attributes.lastModifiedTime().toMillis();
+
+        CachedWorkbook workbook;
+        synchronized (WorkbookCache.class) {
+            workbook = workbooks.get(key);
+            if (workbook == null || workbook.modifiedMillis != modified || workbook.size != attributes.size()) {
+                if (workbook != null) {
+                    release(workbook);
+                }
+                workbook = new CachedWorkbook(modified, attributes.size());
+                workbooks.put(key, workbook);
+            }
+        }
+
+        SheetData sheet = workbook.sheets.get(sheetName);
+        if (sheet != null) {
+            return sheet;
+        }
+
+        // Parse outside the cache lock; concurrent loads of the same sheet collapse into one
+        CachedWorkbook owner = workbook;
+        boolean[] loaded = new boolean[1];
+        sheet = workbook.sheets.computeIfAbsent(sheetName, name -> {
+            loaded[0] = true;
+            return load(key, name);
+        });
+        if (loaded[0]) {
+            synchronized (WorkbookCache.class) {
+                if (workbooks.get(key) == owner) {
+                    owner.countedBytes += sheet.estimatedBytes;
+                    cachedBytes += sheet.estimatedBytes;
+                    evictOver(getMaxBytes(), owner);
+                }
+            }
+        }
+        return sheet;
+    }
+
+    /**
+     * Drop a file from the cache (after writing to it)
+     */
+    public static synchronized void invalidate(String filePath) {
+        CachedWorkbook workbook = workbooks.remove(Paths.get(filePath).toAbsolutePath().normalize().toString());
+        if (workbook != null) {
+            release(workbook);
+        }
+    }
+
+    public static synchronized void clear() {
+        workbooks.clear();
+        cachedBytes = 0;
+    }
+
+    private static SheetData load(String filePath, String sheetName) {
+        TestDataCache.Table cached = TestDataCache.getFreshTable(filePath, sheetName);
+        if (cached != null) {
+            return new SheetData(cached);
+        }
+        List<String[]> rows = new ArrayList<>();
+        long[] bytes = {0};
+        ExcelStreamReader.readAllRows(filePath, sheetName, row -> {
+            String[] values = new String[row.getCellCount()];
+            for (int i = 0; i < values.length; i++) {
+                ExcelCell cell = row.getCell(i);
+                if (!cell.isBlank() || cell.isFormula()) {
+                    values[i] = cell.getString();
+                    bytes[0] += 40 + 2L * values[i].length();
+                }
+            }
+            while (rows.size() < row.getRowNum()) {
+                rows.add(null);
+            }
+            rows.add(values);
+            bytes[0] += 16 + 4L * values.length;
+            return true;
+        });
+        return new SheetData(rows.toArray(new String[0][]), bytes[0] + 16 + 4L * rows.size());
+    }
+
+    private static void evictOver(long maxBytes, CachedWorkbook keep) {
+        Iterator<CachedWorkbook> iterator = workbooks.values().iterator();
+        while (cachedBytes > maxBytes && iterator.hasNext()) {
+            CachedWorkbook eldest = iterator.next();
+            if (eldest == keep) {
+                continue;
+            }
+            iterator.remove();
+            release(eldest);
+        }
+    }
+
+    private static void release(CachedWorkbook workbook) {
+        cachedBytes -= workbook.countedBytes;
+        workbook.countedBytes = 0;
+    }
+
+    private static long getMaxBytes() {
+        return EnvironmentConfig.getExcelCacheMaxMb() * 1024L * 1024L;
+    }
+}
@@ -6,7 +6,7 @@ import com.framework.pages.CartPage;
 import com.framework.pages.LoginPage;
 import com.framework.pages.ProductsPage;
 import com.framework.reports.ExtentReportManager;
-import com.framework.reports.ScreenshotUtils;
+import com.framework.utils.TestDataRepository;
 import org.openqa.selenium.WebDriver;
 import org.testng.Assert;
 import org.testng.annotations.*;
@@ -19,29 +19,32 @@ import java.util.List;
  */
 public class CartTest {
 
-    private WebDriver driver;
-    private LoginPage loginPage;
-    private ProductsPage productsPage;
-    private CartPage cartPage;
+    // Test methods may run in parallel on one instance, so page objects are kept per thread
+    private final ThreadLocal<LoginPage> loginPage = new ThreadLocal<>();
+    private final ThreadLocal<ProductsPage> productsPage = new ThreadLocal<>();
+    private final ThreadLocal<CartPage> cartPage = new ThreadLocal<>();
     private String baseUrl;
+    private TestDataRepository testData;
 
     @BeforeClass
     public void setupClass() {
         ExtentReportManager.initReport();
         baseUrl = ConfigReader.getProperty("app.url");
+        testData = TestDataRepository.getInstance();
     }
 
     @BeforeMethod
     public void setup() {
-        driver = WebDriverConfig.getDriver();
-        driver.get(baseUrl);
-        loginPage = new LoginPage(driver);
-        productsPage = new ProductsPage(driver);
-        cartPage = new CartPage(driver);
+        WebDriver driver = WebDriverConfig.getDriver();
+        loginPage.set(new LoginPage(driver));
+        productsPage.set(new ProductsPage(driver));
+        cartPage.set(new CartPage(driver));
+        loginPage.get().navigateTo(baseUrl);
         
         // Login before each test
-        loginPage.login("standard_user", "secret_sauce");
-        loginPage.waitForPageLoad();
+        TestDataRepository.User user = testData.getUser("standard");
+        loginPage.get().login(user.getUsername(), user.getPassword());
+        productsPage.get().waitUntilReady();
     }
 
     @Test(description = "Verify cart page can be accessed", priority = 1)
@@ -50,17 +53,17 @@ public class CartTest {
         
         try {
             ExtentReportManager.logInfo("Clicking on shopping cart icon");
-            productsPage.clickShoppingCart();
-            productsPage.waitForPageLoad();
+            productsPage.get().clickShoppingCart();
+            cartPage.get().waitUntilReady();
             
             ExtentReportManager.logInfo("Verifying cart page is loaded");
-            Assert.assertTrue(cartPage.isPageLoaded(), "Cart page should be loaded");
-            Assert.assertEquals(cartPage.getPageTitle(), "Your Cart", "Page title should be 'Your Cart'");
+            Assert.assertTrue(cartPage.get().isPageLoaded(), "Cart page should be loaded");
+            Assert.assertEquals(cartPage.get().getPageTitle(), "Your Cart", "Page title should be 'Your Cart'");
             
             ExtentReportManager.logPass("Access cart test passed");
         } catch (Exception e) {
             ExtentReportManager.logFail("Access cart test failed: " + e.getMessage());
-            ScreenshotUtils.captureScreenshot(driver, "testAccessCartPage");
+            ExtentReportManager.addFailureScreenshot(WebDriverConfig.getCurrentDriver(), "testAccessCartPage");
             throw e;
         }
     }
@@ -71,17 +74,17 @@ public class CartTest {
         
         try {
             ExtentReportManager.logInfo("Navigating to cart page");
-            productsPage.clickShoppingCart();
-            productsPage.waitForPageLoad();
+            productsPage.get().clickShoppingCart();
+            cartPage.get().waitUntilReady();
             
             ExtentReportManager.logInfo("Verifying cart is empty");
-            Assert.assertTrue(cartPage.isCartEmpty(), "Cart should be empty");
-            Assert.assertEquals(cartPage.getCartItemCount(), 0, "Cart item count should be 0");
+            Assert.assertTrue(cartPage.get().isCartEmpty(), "Cart should be empty");
+            Assert.assertEquals(cartPage.get().getCartItemCount(), 0, "Cart item count should be 0");
             
             ExtentReportManager.logPass("Empty cart test passed");
         } catch (Exception e) {
             ExtentReportManager.logFail("Empty cart test failed: " + e.getMessage());
-            ScreenshotUtils.captureScreenshot(driver, "testEmptyCart");
+            ExtentReportManager.addFailureScreenshot(WebDriverConfig.getCurrentDriver(), "testEmptyCart");
             throw e;
         }
     }
@@ -91,23 +94,23 @@ public class CartTest {
         ExtentReportManager.createTest("Item in Cart Test", "Verify added item appears in cart");
         
         try {
-            String productName = "Sauce Labs Backpack";
+            String productName = testData.getScenario("singleProductCheckout").getProductNames().get(0);
             ExtentReportManager.logInfo("Adding product to cart: " + productName);
-            productsPage.addProductToCart(productName);
+            productsPage.get().addProductToCart(productName);
             
             ExtentReportManager.logInfo("Navigating to cart");
-            productsPage.clickShoppingCart();
-            productsPage.waitForPageLoad();
+            productsPage.get().clickShoppingCart();
+            cartPage.get().waitUntilReady();
             
             ExtentReportManager.logInfo("Verifying item is in cart");
-            Assert.assertFalse(cartPage.isCartEmpty(), "Cart should not be empty");
-            Assert.assertEquals(cartPage.getCartItemCount(), 1, "Cart should have 1 item");
-            Assert.assertTrue(cartPage.isItemInCart(productName), "Product should be in cart");
+            Assert.assertFalse(cartPage.get().isCartEmpty(), "Cart should not be empty");
+            Assert.assertEquals(cartPage.get().getCartItemCount(), 1, "Cart should have 1 item");
+            Assert.assertTrue(cartPage.get().isItemInCart(productName), "Product should be in cart");
             
             ExtentReportManager.logPass("Item in cart test passed");
         } catch (Exception e) {
             ExtentReportManager.logFail("Item in cart test failed: " + e.getMessage());
-            ScreenshotUtils.captureScreenshot(driver, "testItemInCart");
+            ExtentReportManager.addFailureScreenshot(WebDriverConfig.getCurrentDriver(), "testItemInCart");
             throw e;
         }
     }
@@ -117,28 +120,29 @@ public class CartTest {
         ExtentReportManager.createTest("Multiple Items Test", "Verify multiple items appear in cart");
         
         try {
+            List<String> products = testData.getScenario("multipleProductsCheckout").getProductNames();
             ExtentReportManager.logInfo("Adding multiple products to cart");
-            productsPage.addProductToCart("Sauce Labs Backpack");
-            productsPage.addProductToCart("Sauce Labs Bike Light");
-            productsPage.addProductToCart("Sauce Labs Bolt T-Shirt");
+            for (String product : products) {
+                productsPage.get().addProductToCart(product);
+            }
             
             ExtentReportManager.logInfo("Navigating to cart");
-            productsPage.clickShoppingCart();
-            productsPage.waitForPageLoad();
+            productsPage.get().clickShoppingCart();
+            cartPage.get().waitUntilReady();
             
             ExtentReportManager.logInfo("Verifying all items are in cart");
-            Assert.assertEquals(cartPage.getCartItemCount(), 3, "Cart should have 3 items");
+            Assert.assertEquals(cartPage.get().getCartItemCount(), products.size(), "Cart should have " + products.size() + " items");
             
-            List<String> itemNames = cartPage.getItemNames();
+            List<String> itemNames = cartPage.get().getItemNames();
             ExtentReportManager.logInfo("Items in cart: " + itemNames);
-            Assert.assertTrue(itemNames.contains("Sauce Labs Backpack"), "Backpack should be in cart");
-            Assert.assertTrue(itemNames.contains("Sauce Labs Bike Light"), "Bike Light should be in cart");
-            Assert.assertTrue(itemNames.contains("Sauce Labs Bolt T-Shirt"), "T-Shirt should be in cart");
+            for (String product : products) {
+                Assert.assertTrue(itemNames.contains(product), product + " should be in cart");
+            }
             
             ExtentReportManager.logPass("Multiple items test passed");
         } catch (Exception e) {
             ExtentReportManager.logFail("Multiple items test failed: " + e.getMessage());
-            ScreenshotUtils.captureScreenshot(driver, "testMultipleItemsInCart");
+            ExtentReportManager.addFailureScreenshot(WebDriverConfig.getCurrentDriver(), "testMultipleItemsInCart");
             throw e;
         }
     }
@@ -148,24 +152,24 @@ public class CartTest {
         ExtentReportManager.createTest("Remove Item Test", "Verify item can be removed from cart");
         
         try {
-            String productName = "Sauce Labs Backpack";
+            String productName = testData.getScenario("singleProductCheckout").getProductNames().get(0);
             ExtentReportManager.logInfo("Adding product to cart");
-            productsPage.addProductToCart(productName);
-            productsPage.clickShoppingCart();
-            productsPage.waitForPageLoad();
+            productsPage.get().addProductToCart(productName);
+            productsPage.get().clickShoppingCart();
+            cartPage.get().waitUntilReady();
             
             ExtentReportManager.logInfo("Removing item from cart: " + productName);
-            cartPage.removeItemFromCart(productName);
-            cartPage.waitForPageLoad();
+            cartPage.get().removeItemFromCart(productName);
+            cartPage.get().waitUntilReady();
             
             ExtentReportManager.logInfo("Verifying item is removed");
-            Assert.assertTrue(cartPage.isCartEmpty(), "Cart should be empty after removing item");
-            Assert.assertFalse(cartPage.isItemInCart(productName), "Product should not be in cart");
+            Assert.assertTrue(cartPage.get().isCartEmpty(), "Cart should be empty after removing item");
+            Assert.assertFalse(cartPage.get().isItemInCart(productName), "Product should not be in cart");
             
             ExtentReportManager.logPass("Remove item test passed");
         } catch (Exception e) {
             ExtentReportManager.logFail("Remove item test failed: " + e.getMessage());
-            ScreenshotUtils.captureScreenshot(driver, "testRemoveItemFromCart");
+            ExtentReportManager.addFailureScreenshot(WebDriverConfig.getCurrentDriver(), "testRemoveItemFromCart");
             throw e;
         }
     }
@@ -176,20 +180,20 @@ public class CartTest {
         
         try {
             ExtentReportManager.logInfo("Navigating to cart");
-            productsPage.clickShoppingCart();
-            productsPage.waitForPageLoad();
+            productsPage.get().clickShoppingCart();
+            cartPage.get().waitUntilReady();
             
             ExtentReportManager.logInfo("Clicking continue shopping");
-            cartPage.clickContinueShopping();
-            cartPage.waitForPageLoad();
+            cartPage.get().clickContinueShopping();
+            productsPage.get().waitUntilReady();
             
             ExtentReportManager.logInfo("Verifying returned to products page");
-            Assert.assertTrue(productsPage.isPageLoaded(), "Should return to products page");
+            Assert.assertTrue(productsPage.get().isPageLoaded(), "Should return to products page");
             
             ExtentReportManager.logPass("Continue shopping test passed");
         } catch (Exception e) {
             ExtentReportManager.logFail("Continue shopping test failed: " + e.getMessage());
-            ScreenshotUtils.captureScreenshot(driver, "testContinueShopping");
+            ExtentReportManager.addFailureScreenshot(WebDriverConfig.getCurrentDriver(), "testContinueShopping");
             throw e;
         }
     }
@@ -199,21 +203,21 @@ public class CartTest {
         ExtentReportManager.createTest("Item Quantities Test", "Verify item quantities are displayed correctly");
         
         try {
-            String productName = "Sauce Labs Backpack";
+            String productName = testData.getScenario("singleProductCheckout").getProductNames().get(0);
             ExtentReportManager.logInfo("Adding product to cart");
-            productsPage.addProductToCart(productName);
-            productsPage.clickShoppingCart();
-            productsPage.waitForPageLoad();
+            productsPage.get().addProductToCart(productName);
+            productsPage.get().clickShoppingCart();
+            cartPage.get().waitUntilReady();
             
             ExtentReportManager.logInfo("Checking item quantity");
-            String quantity = cartPage.getItemQuantity(productName);
+            String quantity = cartPage.get().getItemQuantity(productName);
             ExtentReportManager.logInfo("Quantity displayed: " + quantity);
             Assert.assertEquals(quantity, "1", "Item quantity should be 1");
             
             ExtentReportManager.logPass("Item quantities test passed");
         } catch (Exception e) {
             ExtentReportManager.logFail("Item quantities test failed: " + e.getMessage());
-            ScreenshotUtils.captureScreenshot(driver, "testItemQuantities");
+            ExtentReportManager.addFailureScreenshot(WebDriverConfig.getCurrentDriver(), "testItemQuantities");
             throw e;
         }
     }
@@ -223,16 +227,16 @@ public class CartTest {
         ExtentReportManager.createTest("Item Prices Test", "Verify item prices are displayed correctly in cart");
         
         try {
-            String productName = "Sauce Labs Backpack";
+            String productName = testData.getScenario("singleProductCheckout").getProductNames().get(0);
             ExtentReportManager.logInfo("Getting price from products page");
-            String productPagePrice = productsPage.getProductPrice(productName);
+            String productPagePrice = productsPage.get().getProductPrice(productName);
             
-            productsPage.addProductToCart(productName);
-            productsPage.clickShoppingCart();
-            productsPage.waitForPageLoad();
+            productsPage.get().addProductToCart(productName);
+            productsPage.get().clickShoppingCart();
+            cartPage.get().waitUntilReady();
             
             ExtentReportManager.logInfo("Getting price from cart");
-            String cartPrice = cartPage.getItemPrice(productName);
+            String cartPrice = cartPage.get().getItemPrice(productName);
             
             ExtentReportManager.logInfo("Product page price: " + productPagePrice);
             ExtentReportManager.logInfo("Cart price: " + cartPrice);
@@ -241,7 +245,7 @@ public class CartTest {
             ExtentReportManager.logPass("Item prices test passed");
         } catch (Exception e) {
             ExtentReportManager.logFail("Item prices test failed: " + e.getMessage());
-            ScreenshotUtils.captureScreenshot(driver, "testItemPrices");
+            ExtentReportManager.addFailureScreenshot(WebDriverConfig.getCurrentDriver(), "testItemPrices");
             throw e;
         }
     }
@@ -5,7 +5,7 @@ import com.framework.config.WebDriverConfig;
 import com.framework.pages.LoginPage;
 import com.framework.pages.ProductsPage;
 import com.framework.reports.ExtentReportManager;
-import com.framework.reports.ScreenshotUtils;
+import com.framework.utils.TestDataRepository;
 import org.openqa.selenium.WebDriver;
 import org.testng.Assert;
 import org.testng.annotations.*;
@@ -16,23 +16,25 @@ import org.testng.annotations.*;
  */
 public class LoginTest {
 
-    private WebDriver driver;
-    private LoginPage loginPage;
-    private ProductsPage productsPage;
+    // Test methods may run in parallel on one instance, so page objects are kept per thread
+    private final ThreadLocal<LoginPage> loginPage = new ThreadLocal<>();
+    private final ThreadLocal<ProductsPage> productsPage = new ThreadLocal<>();
     private String baseUrl;
+    private TestDataRepository testData;
 
     @BeforeClass
     public void setupClass() {
         ExtentReportManager.initReport();
         baseUrl = ConfigReader.getProperty("app.url");
+        testData = TestDataRepository.getInstance();
     }
 
     @BeforeMethod
     public void setup() {
-        driver = WebDriverConfig.getDriver();
-        driver.get(baseUrl);
-        loginPage = new LoginPage(driver);
-        productsPage = new ProductsPage(driver);
+        WebDriver driver = WebDriverConfig.getDriver();
+        loginPage.set(new LoginPage(driver));
+        productsPage.set(new ProductsPage(driver));
+        loginPage.get().navigateTo(baseUrl);
     }
 
     @Test(description = "Verify successful login with valid credentials", priority = 1)
@@ -41,28 +43,29 @@ public class LoginTest {
         
         try {
             ExtentReportManager.logInfo("Navigating to login page: " + baseUrl);
-            Assert.assertTrue(loginPage.isPageLoaded(), "Login page should be loaded");
+            Assert.assertTrue(loginPage.get().isPageLoaded(), "Login page should be loaded");
             
-            ExtentReportManager.logInfo("Entering username: standard_user");
-            loginPage.enterUsername("standard_user");
+            TestDataRepository.User user = testData.getUser("standard");
+            ExtentReportManager.logInfo("Entering username: " + user.getUsername());
+            loginPage.get().enterUsername(user.getUsername());
             
             ExtentReportManager.logInfo("Entering password");
-            loginPage.enterPassword("secret_sauce");
+            loginPage.get().enterPassword(user.getPassword());
             
             ExtentReportManager.logInfo("Clicking login button");
-            loginPage.clickLoginButton();
+            loginPage.get().clickLoginButton();
             
             ExtentReportManager.logInfo("Waiting for products page to load");
-            loginPage.waitForPageLoad();
+            productsPage.get().waitUntilReady();
             
             ExtentReportManager.logInfo("Verifying products page is displayed");
-            Assert.assertTrue(productsPage.isPageLoaded(), "Products page should be displayed after successful login");
-            Assert.assertEquals(productsPage.getPageTitle(), "Products", "Page title should be 'Products'");
+            Assert.assertTrue(productsPage.get().isPageLoaded(), "Products page should be displayed after successful login");
+            Assert.assertEquals(productsPage.get().getPageTitle(), "Products", "Page title should be 'Products'");
             
             ExtentReportManager.logPass("Login test passed successfully");
         } catch (Exception e) {
             ExtentReportManager.logFail("Login test failed: " + e.getMessage());
-            ScreenshotUtils.captureScreenshot(driver, "testSuccessfulLogin");
+            ExtentReportManager.addFailureScreenshot(WebDriverConfig.getCurrentDriver(), "testSuccessfulLogin");
             throw e;
         }
     }
@@ -73,12 +76,12 @@ public class LoginTest {
         
         try {
             ExtentReportManager.logInfo("Attempting login with invalid username");
-            loginPage.login("invalid_user", "secret_sauce");
+            loginPage.get().login("invalid_user", testData.getUser("standard").getPassword());
             
             ExtentReportManager.logInfo("Verifying error message is displayed");
-            Assert.assertTrue(loginPage.isErrorMessageDisplayed(), "Error message should be displayed");
+            Assert.assertTrue(loginPage.get().isErrorMessageDisplayed(), "Error message should be displayed");
             
-            String errorMessage = loginPage.getErrorMessage();
+            String errorMessage = loginPage.get().getErrorMessage();
             ExtentReportManager.logInfo("Error message: " + errorMessage);
             Assert.assertTrue(errorMessage.contains("Username and password do not match"), 
                 "Error message should indicate invalid credentials");
@@ -86,7 +89,7 @@ public class LoginTest {
             ExtentReportManager.logPass("Invalid username test passed");
         } catch (Exception e) {
             ExtentReportManager.logFail("Invalid username test failed: " + e.getMessage());
-            ScreenshotUtils.captureScreenshot(driver, "testLoginWithInvalidUsername");
+            ExtentReportManager.addFailureScreenshot(WebDriverConfig.getCurrentDriver(), "testLoginWithInvalidUsername");
             throw e;
         }
     }
@@ -97,12 +100,12 @@ public class LoginTest {
         
         try {
             ExtentReportManager.logInfo("Attempting login with invalid password");
-            loginPage.login("standard_user", "wrong_password");
+            loginPage.get().login(testData.getUser("standard").getUsername(), "wrong_password");
             
             ExtentReportManager.logInfo("Verifying error message is displayed");
-            Assert.assertTrue(loginPage.isErrorMessageDisplayed(), "Error message should be displayed");
+            Assert.assertTrue(loginPage.get().isErrorMessageDisplayed(), "Error message should be displayed");
             
-            String errorMessage = loginPage.getErrorMessage();
+            String errorMessage = loginPage.get().getErrorMessage();
             ExtentReportManager.logInfo("Error message: " + errorMessage);
             Assert.assertTrue(errorMessage.contains("Username and password do not match"), 
                 "Error message should indicate invalid credentials");
@@ -110,7 +113,7 @@ public class LoginTest {
             ExtentReportManager.logPass("Invalid password test passed");
         } catch (Exception e) {
             ExtentReportManager.logFail("Invalid password test failed: " + e.getMessage());
-            ScreenshotUtils.captureScreenshot(driver, "testLoginWithInvalidPassword");
+            ExtentReportManager.addFailureScreenshot(WebDriverConfig.getCurrentDriver(), "testLoginWithInvalidPassword");
             throw e;
         }
     }
@@ -121,12 +124,12 @@ public class LoginTest {
         
         try {
             ExtentReportManager.logInfo("Attempting login with empty credentials");
-            loginPage.clickLoginButton();
+            loginPage.get().clickLoginButton();
             
             ExtentReportManager.logInfo("Verifying error message is displayed");
-            Assert.assertTrue(loginPage.isErrorMessageDisplayed(), "Error message should be displayed");
+            Assert.assertTrue(loginPage.get().isErrorMessageDisplayed(), "Error message should be displayed");
             
-            String errorMessage = loginPage.getErrorMessage();
+            String errorMessage = loginPage.get().getErrorMessage();
             ExtentReportManager.logInfo("Error message: " + errorMessage);
             Assert.assertTrue(errorMessage.contains("Username is required"), 
                 "Error message should indicate username is required");
@@ -134,7 +137,7 @@ public class LoginTest {
             ExtentReportManager.logPass("Empty credentials test passed");
         } catch (Exception e) {
             ExtentReportManager.logFail("Empty credentials test failed: " + e.getMessage());
-            ScreenshotUtils.captureScreenshot(driver, "testLoginWithEmptyCredentials");
+            ExtentReportManager.addFailureScreenshot(WebDriverConfig.getCurrentDriver(), "testLoginWithEmptyCredentials");
             throw e;
         }
     }
@@ -145,13 +148,13 @@ public class LoginTest {
         
         try {
             ExtentReportManager.logInfo("Entering username only");
-            loginPage.enterUsername("standard_user");
-            loginPage.clickLoginButton();
+            loginPage.get().enterUsername(testData.getUser("standard").getUsername());
+            loginPage.get().clickLoginButton();
             
             ExtentReportManager.logInfo("Verifying error message is displayed");
-            Assert.assertTrue(loginPage.isErrorMessageDisplayed(), "Error message should be displayed");
+            Assert.assertTrue(loginPage.get().isErrorMessageDisplayed(), "Error message should be displayed");
             
-            String errorMessage = loginPage.getErrorMessage();
+            String errorMessage = loginPage.get().getErrorMessage();
             ExtentReportManager.logInfo("Error message: " + errorMessage);
             Assert.assertTrue(errorMessage.contains("Password is required"), 
                 "Error message should indicate password is required");
@@ -159,7 +162,7 @@ public class LoginTest {
             ExtentReportManager.logPass("Empty password test passed");
         } catch (Exception e) {
             ExtentReportManager.logFail("Empty password test failed: " + e.getMessage());
-            ScreenshotUtils.captureScreenshot(driver, "testLoginWithEmptyPassword");
+            ExtentReportManager.addFailureScreenshot(WebDriverConfig.getCurrentDriver(), "testLoginWithEmptyPassword");
             throw e;
         }
     }
@@ -170,12 +173,13 @@ public class LoginTest {
         
         try {
             ExtentReportManager.logInfo("Attempting login with locked out user");
-            loginPage.login("locked_out_user", "secret_sauce");
+            TestDataRepository.User user = testData.getUser("locked");
+            loginPage.get().login(user.getUsername(), user.getPassword());
             
             ExtentReportManager.logInfo("Verifying error message is displayed");
-            Assert.assertTrue(loginPage.isErrorMessageDisplayed(), "Error message should be displayed");
+            Assert.assertTrue(loginPage.get().isErrorMessageDisplayed(), "Error message should be displayed");
             
-            String errorMessage = loginPage.getErrorMessage();
+            String errorMessage = loginPage.get().getErrorMessage();
             ExtentReportManager.logInfo("Error message: " + errorMessage);
             Assert.assertTrue(errorMessage.contains("Sorry, this user has been locked out"), 
                 "Error message should indicate user is locked out");
@@ -183,7 +187,7 @@ public class LoginTest {
             ExtentReportManager.logPass("Locked out user test passed");
         } catch (Exception e) {
             ExtentReportManager.logFail("Locked out user test failed: " + e.getMessage());
-            ScreenshotUtils.captureScreenshot(driver, "testLoginWithLockedOutUser");
+            ExtentReportManager.addFailureScreenshot(WebDriverConfig.getCurrentDriver(), "testLoginWithLockedOutUser");
             throw e;
         }
     }
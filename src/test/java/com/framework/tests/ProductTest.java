@@ -5,11 +5,12 @@ import com.framework.config.WebDriverConfig;
 import com.framework.pages.LoginPage;
 import com.framework.pages.ProductsPage;
 import com.framework.reports.ExtentReportManager;
-import com.framework.reports.ScreenshotUtils;
+import com.framework.utils.TestDataRepository;
 import org.openqa.selenium.WebDriver;
 import org.testng.Assert;
 import org.testng.annotations.*;
 
+import java.util.Comparator;
 import java.util.List;
 
 /**
@@ -18,27 +19,30 @@ import java.util.List;
  */
 public class ProductTest {
 
-    private WebDriver driver;
-    private LoginPage loginPage;
-    private ProductsPage productsPage;
+    // Test methods may run in parallel on one instance, so page objects are kept per thread
+    private final ThreadLocal<LoginPage> loginPage = new ThreadLocal<>();
+    private final ThreadLocal<ProductsPage> productsPage = new ThreadLocal<>();
     private String baseUrl;
+    private TestDataRepository testData;
 
     @BeforeClass
     public void setupClass() {
         ExtentReportManager.initReport();
         baseUrl = ConfigReader.getProperty("app.url");
+        testData = TestDataRepository.getInstance();
     }
 
     @BeforeMethod
     public void setup() {
-        driver = WebDriverConfig.getDriver();
-        driver.get(baseUrl);
-        loginPage = new LoginPage(driver);
-        productsPage = new ProductsPage(driver);
+        WebDriver driver = WebDriverConfig.getDriver();
+        loginPage.set(new LoginPage(driver));
+        productsPage.set(new ProductsPage(driver));
+        loginPage.get().navigateTo(baseUrl);
         
         // Login before each test
-        loginPage.login("standard_user", "secret_sauce");
-        loginPage.waitForPageLoad();
+        TestDataRepository.User user = testData.getUser("standard");
+        loginPage.get().login(user.getUsername(), user.getPassword());
+        productsPage.get().waitUntilReady();
     }
 
     @Test(description = "Verify products page displays all products", priority = 1)
@@ -47,9 +51,9 @@ public class ProductTest {
         
         try {
             ExtentReportManager.logInfo("Verifying products page is loaded");
-            Assert.assertTrue(productsPage.isPageLoaded(), "Products page should be loaded");
+            Assert.assertTrue(productsPage.get().isPageLoaded(), "Products page should be loaded");
             
-            int productCount = productsPage.getProductCount();
+            int productCount = productsPage.get().getProductCount();
             ExtentReportManager.logInfo("Number of products displayed: " + productCount);
             Assert.assertTrue(productCount > 0, "At least one product should be displayed");
             Assert.assertEquals(productCount, 6, "Should display 6 products");
@@ -57,7 +61,7 @@ public class ProductTest {
             ExtentReportManager.logPass("Products display test passed");
         } catch (Exception e) {
             ExtentReportManager.logFail("Products display test failed: " + e.getMessage());
-            ScreenshotUtils.captureScreenshot(driver, "testProductsDisplayed");
+            ExtentReportManager.addFailureScreenshot(WebDriverConfig.getCurrentDriver(), "testProductsDisplayed");
             throw e;
         }
     }
@@ -68,19 +72,23 @@ public class ProductTest {
         
         try {
             ExtentReportManager.logInfo("Sorting products A to Z");
-            productsPage.sortProducts("az");
+            productsPage.get().sortProducts(testData.getSortOption("nameAscending"));
             
-            List<String> productNames = productsPage.getAllProductNames();
+            List<String> productNames = productsPage.get().getAllProductNames();
             ExtentReportManager.logInfo("Products in order: " + productNames);
             
-            // Verify first product
-            Assert.assertEquals(productNames.get(0), "Sauce Labs Backpack", 
-                "First product should be 'Sauce Labs Backpack'");
+            // Verify first product is the alphabetically first of the catalog, whatever the fixture order
+            String expectedFirst = testData.getProducts().stream()
+                    .map(TestDataRepository.Product::getName)
+                    .min(Comparator.naturalOrder())
+                    .orElseThrow();
+            Assert.assertEquals(productNames.get(0), expectedFirst, 
+                "First product should be '" + expectedFirst + "'");
             
             ExtentReportManager.logPass("Sort A-Z test passed");
         } catch (Exception e) {
             ExtentReportManager.logFail("Sort A-Z test failed: " + e.getMessage());
-            ScreenshotUtils.captureScreenshot(driver, "testSortProductsAtoZ");
+            ExtentReportManager.addFailureScreenshot(WebDriverConfig.getCurrentDriver(), "testSortProductsAtoZ");
             throw e;
         }
     }
@@ -91,9 +99,9 @@ public class ProductTest {
         
         try {
             ExtentReportManager.logInfo("Sorting products Z to A");
-            productsPage.sortProducts("za");
+            productsPage.get().sortProducts(testData.getSortOption("nameDescending"));
             
-            List<String> productNames = productsPage.getAllProductNames();
+            List<String> productNames = productsPage.get().getAllProductNames();
             ExtentReportManager.logInfo("Products in order: " + productNames);
             
             // Verify first product (should start with T)
@@ -103,7 +111,7 @@ public class ProductTest {
             ExtentReportManager.logPass("Sort Z-A test passed");
         } catch (Exception e) {
             ExtentReportManager.logFail("Sort Z-A test failed: " + e.getMessage());
-            ScreenshotUtils.captureScreenshot(driver, "testSortProductsZtoA");
+            ExtentReportManager.addFailureScreenshot(WebDriverConfig.getCurrentDriver(), "testSortProductsZtoA");
             throw e;
         }
     }
@@ -114,9 +122,9 @@ public class ProductTest {
         
         try {
             ExtentReportManager.logInfo("Sorting products low to high");
-            productsPage.sortProducts("lohi");
+            productsPage.get().sortProducts(testData.getSortOption("priceLowToHigh"));
             
-            List<String> productPrices = productsPage.getAllProductPrices();
+            List<String> productPrices = productsPage.get().getAllProductPrices();
             ExtentReportManager.logInfo("Product prices in order: " + productPrices);
             
             // Verify first price is lowest
@@ -126,7 +134,7 @@ public class ProductTest {
             ExtentReportManager.logPass("Sort low-high test passed");
         } catch (Exception e) {
             ExtentReportManager.logFail("Sort low-high test failed: " + e.getMessage());
-            ScreenshotUtils.captureScreenshot(driver, "testSortProductsLowToHigh");
+            ExtentReportManager.addFailureScreenshot(WebDriverConfig.getCurrentDriver(), "testSortProductsLowToHigh");
             throw e;
         }
     }
@@ -137,9 +145,9 @@ public class ProductTest {
         
         try {
             ExtentReportManager.logInfo("Sorting products high to low");
-            productsPage.sortProducts("hilo");
+            productsPage.get().sortProducts(testData.getSortOption("priceHighToLow"));
             
-            List<String> productPrices = productsPage.getAllProductPrices();
+            List<String> productPrices = productsPage.get().getAllProductPrices();
             ExtentReportManager.logInfo("Product prices in order: " + productPrices);
             
             // Verify first price is highest
@@ -149,7 +157,7 @@ public class ProductTest {
             ExtentReportManager.logPass("Sort high-low test passed");
         } catch (Exception e) {
             ExtentReportManager.logFail("Sort high-low test failed: " + e.getMessage());
-            ScreenshotUtils.captureScreenshot(driver, "testSortProductsHighToLow");
+            ExtentReportManager.addFailureScreenshot(WebDriverConfig.getCurrentDriver(), "testSortProductsHighToLow");
             throw e;
         }
     }
@@ -159,20 +167,20 @@ public class ProductTest {
         ExtentReportManager.createTest("Specific Product Test", "Verify specific product is displayed");
         
         try {
-            String productName = "Sauce Labs Backpack";
+            String productName = testData.getScenario("singleProductCheckout").getProductNames().get(0);
             ExtentReportManager.logInfo("Checking if product exists: " + productName);
             
-            Assert.assertTrue(productsPage.isProductDisplayed(productName), 
+            Assert.assertTrue(productsPage.get().isProductDisplayed(productName), 
                 "Product '" + productName + "' should be displayed");
             
-            String price = productsPage.getProductPrice(productName);
+            String price = productsPage.get().getProductPrice(productName);
             ExtentReportManager.logInfo("Product price: " + price);
             Assert.assertFalse(price.isEmpty(), "Product should have a price");
             
             ExtentReportManager.logPass("Specific product test passed");
         } catch (Exception e) {
             ExtentReportManager.logFail("Specific product test failed: " + e.getMessage());
-            ScreenshotUtils.captureScreenshot(driver, "testSpecificProductDisplayed");
+            ExtentReportManager.addFailureScreenshot(WebDriverConfig.getCurrentDriver(), "testSpecificProductDisplayed");
             throw e;
         }
     }
@@ -182,22 +190,22 @@ public class ProductTest {
         ExtentReportManager.createTest("Add to Cart Test", "Verify product can be added to cart");
         
         try {
-            String productName = "Sauce Labs Backpack";
+            String productName = testData.getScenario("singleProductCheckout").getProductNames().get(0);
             ExtentReportManager.logInfo("Adding product to cart: " + productName);
             
-            Assert.assertFalse(productsPage.isCartBadgeDisplayed(), "Cart should be empty initially");
+            Assert.assertFalse(productsPage.get().isCartBadgeDisplayed(), "Cart should be empty initially");
             
-            productsPage.addProductToCart(productName);
-            productsPage.waitForPageLoad();
+            productsPage.get().addProductToCart(productName);
+            productsPage.get().waitForCartBadgeCount(1);
             
             ExtentReportManager.logInfo("Verifying cart badge is displayed");
-            Assert.assertTrue(productsPage.isCartBadgeDisplayed(), "Cart badge should be displayed");
-            Assert.assertEquals(productsPage.getCartBadgeCount(), "1", "Cart should show 1 item");
+            Assert.assertTrue(productsPage.get().isCartBadgeDisplayed(), "Cart badge should be displayed");
+            Assert.assertEquals(productsPage.get().getCartBadgeCount(), "1", "Cart should show 1 item");
             
             ExtentReportManager.logPass("Add to cart test passed");
         } catch (Exception e) {
             ExtentReportManager.logFail("Add to cart test failed: " + e.getMessage());
-            ScreenshotUtils.captureScreenshot(driver, "testAddToCart");
+            ExtentReportManager.addFailureScreenshot(WebDriverConfig.getCurrentDriver(), "testAddToCart");
             throw e;
         }
     }
@@ -209,18 +217,20 @@ public class ProductTest {
         try {
             ExtentReportManager.logInfo("Adding multiple products to cart");
             
-            productsPage.addProductToCart("Sauce Labs Backpack");
-            productsPage.addProductToCart("Sauce Labs Bike Light");
-            productsPage.addProductToCart("Sauce Labs Bolt T-Shirt");
-            productsPage.waitForPageLoad();
+            List<String> products = testData.getScenario("multipleProductsCheckout").getProductNames();
+            for (String product : products) {
+                productsPage.get().addProductToCart(product);
+            }
+            productsPage.get().waitForCartBadgeCount(products.size());
             
             ExtentReportManager.logInfo("Verifying cart badge count");
-            Assert.assertEquals(productsPage.getCartBadgeCount(), "3", "Cart should show 3 items");
+            Assert.assertEquals(productsPage.get().getCartBadgeCount(), String.valueOf(products.size()),
+                "Cart should show " + products.size() + " items");
             
             ExtentReportManager.logPass("Add multiple products test passed");
         } catch (Exception e) {
             ExtentReportManager.logFail("Add multiple products test failed: " + e.getMessage());
-            ScreenshotUtils.captureScreenshot(driver, "testAddMultipleProductsToCart");
+            ExtentReportManager.addFailureScreenshot(WebDriverConfig.getCurrentDriver(), "testAddMultipleProductsToCart");
             throw e;
         }
     }